@@ -248,29 +248,58 @@ const CodingTestDetail = () => {
 
     try {
       const userId = user?.userId || user?.id;
-      const res = await axios.post(`/api/problems/${selectedTask.problemId}/submit`, {
+      const problemId = selectedTask.problemId;
+      // 제출 후 바로 submissionId 를 받고, 채점 결과는 SSE(실패 시 폴링)로 수신
+      const res = await axios.post(`/api/problems/${problemId}/submit`, {
         userId,
         code
       });
-      const data = res.data;
+      const data = await waitForGrading(problemId, res.data.submissionId);
 
       setResult(data);
       if (data.status === "PASS") {
         toast.success("정답입니다!", { description: `Time: ${data.executionTime}ms` });
         // 목록 상태 업데이트 (성공 표시 등)
-        setTasks(prev => prev.map(t => t.problemId === selectedTask.problemId ? { ...t, status: 'PASS' } : t));
+        setTasks(prev => prev.map(t => t.problemId === problemId ? { ...t, status: 'PASS' } : t));
       } else {
         // toast.error 제거 -> 오답이어도 제출은 되었음을 알림
-        setTasks(prev => prev.map(t => t.problemId === selectedTask.problemId ? { ...t, status: 'FAIL' } : t));
+        setTasks(prev => prev.map(t => t.problemId === problemId ? { ...t, status: 'FAIL' } : t));
         toast.success("제출되었습니다.", { description: "오답입니다." });
       }
     } catch (e) {
-      toast.error("제출 처리 오류");
+      toast.error(e.response?.data?.message || "제출 처리 오류");
     } finally {
       setIsRunning(false);
     }
   };
 
+  // 채점 결과 대기 (SSE 구독, 연결이 끊기면 상태 조회 API 폴링)
+  const waitForGrading = (problemId, submissionId) => new Promise((resolve, reject) => {
+    const source = new EventSource(`/api/problems/${problemId}/submissions/${submissionId}/stream`, { withCredentials: true });
+    let settled = false;
+
+    source.addEventListener('result', (event) => {
+      settled = true;
+      source.close();
+      resolve(JSON.parse(event.data));
+    });
+
+    source.onerror = () => {
+      source.close();
+      if (settled) return;
+      pollGrading(problemId, submissionId).then(resolve, reject);
+    };
+  });
+
+  const pollGrading = async (problemId, submissionId) => {
+    for (let i = 0; i < 60; i++) {
+      const res = await axios.get(`/api/problems/${problemId}/submissions/${submissionId}`);
+      if (res.data.result) return res.data.result;
+      await new Promise(r => setTimeout(r, 1000));
+    }
+    throw new Error("채점 결과 대기 시간 초과");
+  };
+
   // [ADMIN] 문제 수정 저장
   const handleUpdate = async () => {
     try {
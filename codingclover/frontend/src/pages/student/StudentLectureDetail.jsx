@@ -5,17 +5,44 @@ import { Button } from "@/components/ui/button";
 import Nav from "@/components/Nav";
 import Tail from "@/components/Tail";
 
+// 재생 중 시청 하트비트 전송 주기 (ms)
+const HEARTBEAT_INTERVAL_MS = 15000;
+
 // YouTube Player 컴포넌트 분리
-const YouTubePlayer = React.memo(({ videoId, onEnded }) => {
+const YouTubePlayer = React.memo(({ videoId, onEnded, onProgress }) => {
     const playerRef = useRef(null);
     const containerRef = useRef(null);
     const onEndedRef = useRef(onEnded);
+    const onProgressRef = useRef(onProgress);
 
-    // onEnded 콜백 최신화 (Effect 의존성 제거용)
+    // onEnded / onProgress 콜백 최신화 (Effect 의존성 제거용)
     useEffect(() => {
         onEndedRef.current = onEnded;
     }, [onEnded]);
 
+    useEffect(() => {
+        onProgressRef.current = onProgress;
+    }, [onProgress]);
+
+    // 현재 재생 위치(초) 전달
+    const reportProgress = useCallback(() => {
+        const player = playerRef.current;
+        if (!player || typeof player.getCurrentTime !== 'function' || !onProgressRef.current) return;
+        onProgressRef.current(Math.floor(player.getCurrentTime()));
+    }, []);
+
+    // 재생 중에는 일정 주기로 재생 위치 전송 (서버는 실제로 재생한 구간만 시청 시간으로 인정)
+    useEffect(() => {
+        const interval = setInterval(() => {
+            const player = playerRef.current;
+            // YT.PlayerState.PLAYING === 1
+            if (player && typeof player.getPlayerState === 'function' && player.getPlayerState() === 1) {
+                reportProgress();
+            }
+        }, HEARTBEAT_INTERVAL_MS);
+        return () => clearInterval(interval);
+    }, [reportProgress]);
+
     useEffect(() => {
         if (!containerRef.current) return;
 
@@ -56,8 +83,13 @@ const YouTubePlayer = React.memo(({ videoId, onEnded }) => {
                 },
                 events: {
                     onStateChange: (event) => {
+                        // YT.PlayerState.PLAYING === 1 / PAUSED === 2 - 재생 시작 / 일시정지 위치도 전송
+                        if (event.data === 1 || event.data === 2) {
+                            reportProgress();
+                        }
                         // YT.PlayerState.ENDED === 0
                         if (event.data === 0) {
+                            reportProgress();
                             if (onEndedRef.current) onEndedRef.current();
                         }
                     }
@@ -79,7 +111,7 @@ const YouTubePlayer = React.memo(({ videoId, onEnded }) => {
             setTimeout(() => clearInterval(checkInterval), 10000); // 10초 타임아웃
         }
 
-    }, [videoId]); // 의존성 배열에서 onEnded 제거
+    }, [videoId, reportProgress]); // 의존성 배열에서 onEnded 제거
 
     // 언마운트 시 정리
     useEffect(() => {
@@ -179,6 +211,17 @@ function StudentLectureDetail() {
         }).catch(() => { });
     };
 
+    // 시청 하트비트 (재생 위치 전송 - 서버에서 합쳐서 주기적으로 기록)
+    const handleProgress = useCallback((positionSeconds) => {
+        if (!selectedLecture) return;
+        fetch(`/api/student/lecture/${selectedLecture.lectureId}/heartbeat`, {
+            method: 'POST',
+            credentials: 'include',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ positionSeconds })
+        }).catch(() => { });
+    }, [selectedLecture]);
+
     // 강의 완료 처리
     const handleComplete = async (lectureId) => {
         setCompletingId(lectureId);
@@ -323,6 +366,7 @@ function StudentLectureDetail() {
                                         <YouTubePlayer
                                             videoId={extractVideoId(selectedLecture.videoUrl)}
                                             onEnded={() => setVideoEnded(true)}
+                                            onProgress={handleProgress}
                                         />
                                     </div>
                                 ) : (
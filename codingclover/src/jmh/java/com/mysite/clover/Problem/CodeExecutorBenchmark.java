@@ -0,0 +1,140 @@
+package com.mysite.clover.Problem;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 실행기별 컴파일 + 실행 전체 소요 시간 (스프링 컨텍스트 없이 실행기를 직접 생성)
+// ./gradlew jmh -> build/results/jmh/results.json
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CodeExecutorBenchmark {
+
+  private static final ExecutionLimits LIMITS = new ExecutionLimits(10_000, 512);
+
+  // 대표 제출 코드
+  private static final Map<String, String> PROGRAMS = Map.of(
+      "hello-world", """
+          public class main {
+            public static void main(String[] args) {
+              System.out.println("Hello, World!");
+            }
+          }
+          """,
+      "cpu-bound", """
+          public class main {
+            public static void main(String[] args) {
+              int count = 0;
+              for (int n = 2; n < 2_000_000; n++) {
+                boolean prime = true;
+                for (int d = 2; (long) d * d <= n; d++) {
+                  if (n % d == 0) { prime = false; break; }
+                }
+                if (prime) count++;
+              }
+              System.out.println(count);
+            }
+          }
+          """,
+      "io-heavy", """
+          public class main {
+            public static void main(String[] args) {
+              for (int i = 0; i < 50_000; i++) {
+                System.out.println("line " + i);
+              }
+            }
+          }
+          """,
+      "large-stdin", """
+          import java.io.*;
+          public class main {
+            public static void main(String[] args) throws IOException {
+              BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+              long sum = 0;
+              String line;
+              while ((line = br.readLine()) != null) {
+                sum += Long.parseLong(line.trim());
+              }
+              System.out.println(sum);
+            }
+          }
+          """);
+
+  @Param({ "native", "in-process", "pooled" })
+  public String executor;
+
+  @Param({ "hello-world", "cpu-bound", "io-heavy", "large-stdin" })
+  public String program;
+
+  private CodeExecutor codeExecutor;
+  private InMemoryJavaCompiler inMemoryJavaCompiler;
+  private WarmJvmPool warmJvmPool;
+  private String code;
+  private String input;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    JavaProcessRunner javaProcessRunner = new JavaProcessRunner(new SandboxLauncher());
+    inMemoryJavaCompiler = new InMemoryJavaCompiler();
+    inMemoryJavaCompiler.init();
+
+    codeExecutor = switch (executor) {
+      case "native" -> new JavaNativeExecutor(javaProcessRunner);
+      case "in-process" -> new InProcessJavaExecutor(inMemoryJavaCompiler, javaProcessRunner);
+      case "pooled" -> {
+        warmJvmPool = new WarmJvmPool(new SandboxLauncher());
+        warmJvmPool.start();
+        yield new PooledJavaExecutor(inMemoryJavaCompiler, warmJvmPool);
+      }
+      default -> throw new IllegalArgumentException(executor);
+    };
+
+    code = PROGRAMS.get(program);
+    input = "large-stdin".equals(program) ? largeInput() : "";
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    inMemoryJavaCompiler.shutdown();
+    if (warmJvmPool != null) {
+      warmJvmPool.shutdown();
+    }
+  }
+
+  // 컴파일 캐시 없이 매번 컴파일 + 실행 (제출 1건 처리 비용)
+  @Benchmark
+  public ExecutionResponse compileAndRun() {
+    CompiledProgram compiled = codeExecutor.compile(code);
+    if (!compiled.isSuccess()) {
+      throw new IllegalStateException(compiled.getCompileError());
+    }
+    return codeExecutor.execute(compiled, input, LIMITS);
+  }
+
+  // 약 1MB 입력 (숫자 한 줄씩)
+  private static String largeInput() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 150_000; i++) {
+      sb.append(i).append('\n');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,72 @@
+package com.mysite.clover.Problem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 채점 시 출력 비교 비용 (실행 시간과 분리해서 측정)
+// 실행기 파이프에서 읽는 것처럼 8KB 단위로 나눠서 전달
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputCheckerBenchmark {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  // 출력 줄 수 (작은 출력 / 큰 출력)
+  @Param({ "10", "100000" })
+  public int lines;
+
+  @Param({ "EXACT", "LINE_TRIMMED", "TOKEN", "FLOAT_EPSILON" })
+  public CheckerMode mode;
+
+  private String expected;
+  private byte[] actualMatch;
+  private byte[] actualMismatch;
+
+  @Setup
+  public void setUp() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      sb.append("answer ").append(i).append(' ').append(i / 3.0).append('\n');
+    }
+    expected = sb.toString();
+    actualMatch = expected.getBytes(StandardCharsets.UTF_8);
+    // 첫 줄부터 틀린 출력 - 스트리밍 비교는 첫 조각에서 끝나야 함
+    actualMismatch = ("answer -1 0\n" + expected).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public boolean match() {
+    return feed(actualMatch);
+  }
+
+  @Benchmark
+  public boolean mismatchAtStart() {
+    return feed(actualMismatch);
+  }
+
+  private boolean feed(byte[] output) {
+    StreamingOutputChecker checker = StreamingOutputChecker.of(mode, StreamingOutputChecker.DEFAULT_EPSILON, expected);
+    for (int offset = 0; offset < output.length; offset += CHUNK_SIZE) {
+      if (!checker.feed(output, offset, Math.min(CHUNK_SIZE, output.length - offset))) {
+        return false;
+      }
+    }
+    return checker.finish();
+  }
+}
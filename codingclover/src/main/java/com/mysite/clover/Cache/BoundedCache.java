@@ -0,0 +1,174 @@
+package com.mysite.clover.Cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 크기 제한 + TTL 이 있는 메모리 캐시 (CacheRegistry 로 생성)
+ * - 항목 수가 maxEntries 를 넘으면 가장 오래 안 쓴 항목부터 제거 (LRU)
+ * - TTL 이 지난 항목은 조회 시 만료 처리
+ * - 전체/키 단위/조건부 무효화 지원, 적중/미스/제거 횟수 집계
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final Duration ttl;
+
+    // accessOrder = true 로 조회할 때마다 맨 뒤로 이동 (맨 앞이 가장 오래 안 쓴 항목)
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // 무효화 세대 - 로딩 도중 무효화되면 로딩 결과를 저장하지 않음 (무효화 전 데이터로 덮어쓰기 방지)
+    private long generation;
+
+    // 지표
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    BoundedCache(String name, int maxEntries, Duration ttl) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 캐시에 있으면 그대로 반환, 없거나 만료됐으면 loader 로 조회 후 저장
+     * (loader 는 락 밖에서 실행 - 같은 키를 동시에 조회하면 중복 로딩될 수 있음)
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                hits.incrementAndGet();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        V value = loader.get();
+
+        synchronized (this) {
+            if (value != null && loadGeneration == generation) {
+                store(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 직접 저장 (방금 만든 값을 다음 조회에서 바로 쓰도록)
+     */
+    public synchronized void put(K key, V value) {
+        generation++;
+        store(key, value);
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+
+        // 제한을 넘으면 가장 오래 안 쓴 항목부터 제거
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * 키 하나 무효화
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * 조건에 맞는 항목만 무효화 (예: 특정 결제가 포함된 페이지만)
+     */
+    public synchronized void invalidateIf(BiPredicate<K, V> condition) {
+        generation++;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (condition.test(entry.getKey(), entry.getValue().value())) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 전체 무효화
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에, 밖이면 바로 실행
+     * (커밋 전에 무효화하면 다른 요청이 커밋 전 데이터로 캐시를 다시 채울 수 있음)
+     */
+    public static void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 캐시 상태 지표 (관리자 모니터링용 - 적중률 보고 크기/TTL 조정)
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", entries.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("ttlSeconds", ttl.toSeconds());
+        metrics.put("hits", hitCount);
+        metrics.put("misses", misses.get());
+        metrics.put("evictions", evictions.get());
+        metrics.put("expirations", expirations.get());
+        metrics.put("invalidations", invalidations.get());
+        metrics.put("hitRate", total > 0 ? (double) hitCount / total : 0.0);
+        return metrics;
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mysite.clover.Cache;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 메모리 캐시 상태 지표 조회 (관리자용)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/cache")
+public class CacheMetricsController {
+
+    private final CacheRegistry cacheRegistry;
+
+    // 캐시별 적중/미스/제거 횟수, 항목 수
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        return ResponseEntity.ok(cacheRegistry.getMetrics());
+    }
+}
@@ -0,0 +1,48 @@
+package com.mysite.clover.Cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 서비스별 메모리 캐시 생성 / 지표 모음
+ * - 크기와 TTL 은 cache.{이름}.max-entries / cache.{이름}.ttl-seconds 로 덮어쓸 수 있음
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRegistry {
+
+    private final Environment environment;
+
+    private final Map<String, BoundedCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 이름별 캐시 생성 (설정값이 없으면 기본값 사용)
+     */
+    public <K, V> BoundedCache<K, V> create(String name, int defaultMaxEntries, Duration defaultTtl) {
+        int maxEntries = environment.getProperty("cache." + name + ".max-entries", Integer.class, defaultMaxEntries);
+        long ttlSeconds = environment.getProperty("cache." + name + ".ttl-seconds", Long.class,
+                defaultTtl.toSeconds());
+
+        BoundedCache<K, V> cache = new BoundedCache<>(name, maxEntries, Duration.ofSeconds(ttlSeconds));
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("이미 등록된 캐시입니다: " + name);
+        }
+        return cache;
+    }
+
+    /**
+     * 전체 캐시 상태 지표 (캐시 이름 -> 지표)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        caches.keySet().stream().sorted().forEach(name -> metrics.put(name, caches.get(name).getMetrics()));
+        return metrics;
+    }
+}
@@ -0,0 +1,133 @@
+package com.mysite.clover.Course;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mysite.clover.Cache.BoundedCache;
+import com.mysite.clover.Lecture.LectureRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 공개 강좌 카탈로그 (메모리에 유지하는 공개 강좌 목록 스냅샷)
+// - 공개 조건: 강좌 승인 + 승인된 1강이 공개됨 (순차 공개 규칙상 1강이 보여야 목록에 노출)
+// - 조회는 불변 스냅샷의 목록/레벨별 목록을 그대로 반환 (DB 조회 없음)
+// - 강좌/강의 승인·반려·삭제 시 해당 강좌만 다시 읽어서 새 스냅샷으로 교체 (커밋 후, CourseService / LectureService 에서 호출)
+// - 예약 공개된 1강은 공개 시점에 LecturePublisher 가 해당 강좌만 갱신
+// - 다른 서버에서 바뀐 내용은 주기적인 전체 재생성으로 반영
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCatalog {
+
+    private final CourseRepository courseRepository;
+    private final LectureRepository lectureRepository;
+
+    // 읽기 전용 스냅샷 (교체만 하고 수정하지 않음)
+    private volatile Snapshot snapshot;
+
+    // 전체 공개 강좌 (강좌 ID 순)
+    public List<Course> getAll() {
+        return current().all();
+    }
+
+    // 레벨별 공개 강좌 (강좌 ID 순)
+    public List<Course> getByLevel(int level) {
+        return current().byLevel().getOrDefault(level, List.of());
+    }
+
+    // 강좌 하나가 바뀐 경우 - 커밋 후 해당 강좌만 다시 읽어서 반영
+    public void refreshAfterCommit(Long courseId) {
+        BoundedCache.afterCommit(() -> refresh(courseId));
+    }
+
+    // 여러 강좌가 바뀐 경우 - 커밋 후 해당 강좌들만 다시 읽어서 반영
+    public void refreshAfterCommit(Iterable<Long> courseIds) {
+        BoundedCache.afterCommit(() -> courseIds.forEach(this::refresh));
+    }
+
+    // 강좌 하나 다시 읽어서 스냅샷 교체
+    public synchronized void refresh(Long courseId) {
+        if (snapshot == null) {
+            rebuild();
+            return;
+        }
+
+        Course course = courseRepository.findApprovedWithUsersById(courseId).orElse(null);
+        boolean visible = course != null && lectureRepository.countPublishedFirstLecture(courseId) > 0;
+
+        TreeMap<Long, Course> courses = new TreeMap<>(snapshot.courses());
+        if (visible) {
+            courses.put(courseId, course);
+        } else {
+            courses.remove(courseId);
+        }
+        snapshot = Snapshot.of(courses);
+    }
+
+    // 전체 다시 생성 (쿼리 2번 - 승인 강좌 + 1강이 공개된 강좌 ID)
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        Set<Long> visibleCourseIds = new HashSet<>(lectureRepository.findCourseIdsWithPublishedFirstLecture());
+        TreeMap<Long, Course> courses = new TreeMap<>();
+        for (Course course : courseRepository.findApprovedWithUsers()) {
+            if (visibleCourseIds.contains(course.getCourseId())) {
+                courses.put(course.getCourseId(), course);
+            }
+        }
+        snapshot = Snapshot.of(courses);
+
+        log.info("공개 강좌 카탈로그 생성 (공개: {}개, 소요: {}ms)", courses.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    // 주기적 전체 재생성 (다른 서버에서 바뀐 내용 / 누락된 갱신 보정)
+    @Scheduled(fixedDelayString = "${course.catalog.rebuild-ms:600000}",
+            initialDelayString = "${course.catalog.rebuild-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                rebuild();
+            }
+            return snapshot;
+        }
+    }
+
+    private record Snapshot(Map<Long, Course> courses, List<Course> all, Map<Integer, List<Course>> byLevel) {
+
+        static Snapshot of(TreeMap<Long, Course> courses) {
+            Map<Integer, List<Course>> byLevel = new HashMap<>();
+            for (Course course : courses.values()) {
+                byLevel.computeIfAbsent(course.getLevel(), level -> new ArrayList<>()).add(course);
+            }
+            byLevel.replaceAll((level, list) -> List.copyOf(list));
+            return new Snapshot(Collections.unmodifiableMap(courses), List.copyOf(courses.values()),
+                    Map.copyOf(byLevel));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mysite.clover.Course;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,13 +27,13 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     // 승인 상태 및 레벨 필터링
     List<Course> findByProposalStatusAndLevel(CourseProposalStatus proposalStatus, int level);
 
-    // 강좌 승인(APPROVED) + 강의 승인(APPROVED) + 강의 1개 이상인 강좌만 조회
-    @Query("SELECT DISTINCT c FROM Course c JOIN Lecture l ON c.courseId = l.course.courseId WHERE c.proposalStatus = 'APPROVED' AND l.approvalStatus = 'APPROVED'")
-    List<Course> findApprovedCoursesWithLectures();
+    // 승인된 강좌 전체 (강사/승인자를 같이 조회 - 공개 강좌 카탈로그 생성용)
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.createdBy LEFT JOIN FETCH c.approvedBy WHERE c.proposalStatus = 'APPROVED'")
+    List<Course> findApprovedWithUsers();
 
-    // 강좌 승인(APPROVED) + 강의 승인(APPROVED) + 강의 1개 이상인 강좌만 레벨별 조회
-    @Query("SELECT DISTINCT c FROM Course c JOIN Lecture l ON c.courseId = l.course.courseId WHERE c.proposalStatus = 'APPROVED' AND l.approvalStatus = 'APPROVED' AND c.level = :level")
-    List<Course> findApprovedCoursesWithLecturesByLevel(@Param("level") int level);
+    // 승인된 강좌 하나 (카탈로그 부분 갱신용)
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.createdBy LEFT JOIN FETCH c.approvedBy WHERE c.courseId = :courseId AND c.proposalStatus = 'APPROVED'")
+    Optional<Course> findApprovedWithUsersById(@Param("courseId") Long courseId);
 
     // 로그인 ID 기준 강사 강좌
     List<Course> findByCreatedBy_LoginId(String loginId);
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.mysite.clover.Course.dto.CourseCreateRequest;
 import com.mysite.clover.Enrollment.Enrollment;
+import com.mysite.clover.Enrollment.EnrollmentProgressCounter;
 import com.mysite.clover.Enrollment.EnrollmentRepository;
 import com.mysite.clover.Enrollment.EnrollmentStatus;
 import com.mysite.clover.Users.Users;
@@ -25,11 +26,12 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final com.mysite.clover.Lecture.LectureRepository lectureRepository;
-    private final com.mysite.clover.Lecture.LectureService lectureService;
     private final com.mysite.clover.Exam.ExamRepository examRepository;
     private final UsersRepository usersRepository;
     private final com.mysite.clover.Notification.NotificationService notificationService;
     private final com.mysite.clover.Payment.PaymentService paymentService;
+    private final CourseCatalog courseCatalog;
+    private final EnrollmentProgressCounter enrollmentProgressCounter;
 
     // [조회]
 
@@ -43,18 +45,14 @@ public class CourseService {
         return courseRepository.findByProposalStatus(CourseProposalStatus.PENDING);
     }
 
-    // 공개 강좌 목록 (강의 1개 이상 + 순차 검증 통과한 경우만)
+    // 공개 강좌 목록 (1강 공개 + 순차 검증 통과한 경우만, 메모리 카탈로그에서 조회)
     public List<Course> getPublicList() {
-        return courseRepository.findApprovedCoursesWithLectures().stream()
-                .filter(course -> !lectureService.getLecturesForStudent(course).isEmpty())
-                .collect(Collectors.toList());
+        return courseCatalog.getAll();
     }
 
-    // 레벨별 공개 강좌 목록 (순차 검증 통과한 경우만)
+    // 레벨별 공개 강좌 목록 (메모리 카탈로그에서 조회)
     public List<Course> getPublicListByLevel(int level) {
-        return courseRepository.findApprovedCoursesWithLecturesByLevel(level).stream()
-                .filter(course -> !lectureService.getLecturesForStudent(course).isEmpty())
-                .collect(Collectors.toList());
+        return courseCatalog.getByLevel(level);
     }
 
     // 강사별 강좌 목록
@@ -109,6 +107,7 @@ public class CourseService {
         course.setPrice(price);
         course.setThumbnailUrl(thumbnailUrl);
         course.setUpdatedAt(LocalDateTime.now());
+        courseCatalog.refreshAfterCommit(course.getCourseId()); // 공개 강좌 카탈로그 갱신
     }
 
     // 강좌 삭제
@@ -118,6 +117,7 @@ public class CourseService {
         lectureRepository.deleteByCourse(course);
         examRepository.deleteByCourse(course);
         courseRepository.delete(course);
+        courseCatalog.refreshAfterCommit(course.getCourseId());
     }
 
     // [수강 관련]
@@ -168,6 +168,7 @@ public class CourseService {
         } else {
             // 신규 수강 등록
             Enrollment enrollment = new Enrollment(user, course);
+            enrollment.setTotalLectureCount(enrollmentProgressCounter.countTotalLectures(course.getCourseId()));
             enrollmentRepository.save(enrollment);
         }
     }
@@ -190,6 +191,7 @@ public class CourseService {
         course.setProposalStatus(CourseProposalStatus.APPROVED);
         course.setApprovedBy(admin);
         course.setApprovedAt(LocalDateTime.now());
+        courseCatalog.refreshAfterCommit(course.getCourseId());
 
         // 알림 전송
         notificationService.createNotification(
@@ -204,6 +206,7 @@ public class CourseService {
     public void reject(Course course, String reason) {
         course.setProposalStatus(CourseProposalStatus.REJECTED);
         course.setProposalRejectReason(reason);
+        courseCatalog.refreshAfterCommit(course.getCourseId());
 
         // 알림 전송
         notificationService.createNotification(
@@ -236,6 +239,7 @@ public class CourseService {
         course.setThumbnailUrl(request.getThumbnailUrl());
         course.setProposalStatus(CourseProposalStatus.PENDING);
         course.setProposalRejectReason(null);
+        courseCatalog.refreshAfterCommit(course.getCourseId());
 
         // 관리자 알림
         List<Users> admins = usersRepository.findByRole(com.mysite.clover.Users.UsersRole.ADMIN);
@@ -58,6 +58,14 @@ public class Enrollment {
   @Column(name = "cancelled_at")
   private LocalDateTime cancelledAt;
 
+  // 완료한 강의 수 (진도 카운터 - EnrollmentProgressCounter 가 갱신)
+  @Column(name = "completed_lecture_count")
+  private Integer completedLectureCount;
+
+  // 학생에게 공개된 강의 수 (진도 카운터 - 강의 공개/비공개 시 강좌 단위로 갱신)
+  @Column(name = "total_lecture_count")
+  private Integer totalLectureCount;
+
   // JPA 기본 생성자
   public Enrollment() {
   }
@@ -68,6 +76,7 @@ public class Enrollment {
     this.course = course;
     this.enrolledAt = LocalDateTime.now();
     this.status = EnrollmentStatus.ENROLLED;
+    this.completedLectureCount = 0;
   }
 
   // 수강 취소 행위자
@@ -98,4 +107,20 @@ public class Enrollment {
   public void complete() {
     this.status = EnrollmentStatus.COMPLETED;
   }
+
+  // 완료한 강의 수 (카운터가 아직 채워지지 않았으면 0)
+  public int completedLectures() {
+    return completedLectureCount != null ? completedLectureCount : 0;
+  }
+
+  // 공개된 전체 강의 수 (카운터가 아직 채워지지 않았으면 0)
+  public int totalLectures() {
+    return totalLectureCount != null ? totalLectureCount : 0;
+  }
+
+  // 진도율 (%, 반올림)
+  public double progressRate() {
+    int total = totalLectures();
+    return total > 0 ? Math.round((double) completedLectures() * 100.0 / total) : 0.0;
+  }
 }
\ No newline at end of file
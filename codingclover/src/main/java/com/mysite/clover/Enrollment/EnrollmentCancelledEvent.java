@@ -0,0 +1,16 @@
+package com.mysite.clover.Enrollment;
+
+import java.util.List;
+
+// 수강 취소 이벤트 (수강 상태를 직접 바꾸는 곳에서 발행 - 환불 승인, 강좌 일괄 환불)
+// 발행한 트랜잭션 안에서 동기로 전달되므로 리스너는 커밋 후 정리가 필요하면 직접 미뤄야 함
+public record EnrollmentCancelledEvent(List<Long> enrollmentIds) {
+
+  public EnrollmentCancelledEvent {
+    enrollmentIds = List.copyOf(enrollmentIds);
+  }
+
+  public static EnrollmentCancelledEvent of(Long enrollmentId) {
+    return new EnrollmentCancelledEvent(List.of(enrollmentId));
+  }
+}
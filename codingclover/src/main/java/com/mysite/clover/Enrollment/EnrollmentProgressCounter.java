@@ -0,0 +1,117 @@
+package com.mysite.clover.Enrollment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mysite.clover.Lecture.Lecture;
+import com.mysite.clover.Lecture.LectureRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 수강별 진도 카운터 (enrollment.completed_lecture_count / total_lecture_count)
+// - 진도율 조회 시 수강마다 진도/강의 목록을 다시 세지 않도록 Enrollment 에 미리 계산해 둠
+// - 완료 강의 수: 강의 완료 처리 시 DB 에서 1 증가 (동시 요청에도 누락 없음), 강의 삭제 시 감소
+// - 전체 강의 수: 강의 공개/비공개/순서 변경 시 강좌 단위로 한 번에 갱신 (학생 화면과 같은 순차 공개 기준)
+// - 새 컬럼 초기값(null)은 시작 시 채우고, 누락/오차는 주기적 재계산으로 보정
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentProgressCounter {
+
+  private static final String BACKFILL_COMPLETED_SQL = "UPDATE enrollment e SET e.completed_lecture_count = "
+      + "(SELECT COUNT(*) FROM lecture_progress p WHERE p.enrollment_id = e.enrollment_id AND p.completed_yn = TRUE)";
+
+  private static final String VISIBLE_ORDER_NOS_SQL = "SELECT course_id, order_no FROM lecture "
+      + "WHERE approval_status = 'APPROVED' AND published_at IS NOT NULL ORDER BY course_id, order_no";
+
+  private static final String ENROLLED_COURSE_IDS_SQL = "SELECT DISTINCT course_id FROM enrollment";
+
+  private static final String UPDATE_TOTAL_SQL = "UPDATE enrollment SET total_lecture_count = ? WHERE course_id = ?";
+
+  private final EnrollmentRepository enrollmentRepository;
+  private final LectureRepository lectureRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  // 강의 완료 처리 시 (완료되지 않았던 강의가 처음 완료된 경우에만 호출)
+  @Transactional
+  public void lectureCompleted(Long enrollmentId) {
+    enrollmentRepository.incrementCompletedLectureCount(enrollmentId);
+  }
+
+  // 강의 삭제 시 (진도 기록 삭제 전에 호출 - 그 강의를 완료한 수강의 완료 강의 수 감소)
+  @Transactional
+  public void lectureRemoved(Lecture lecture) {
+    enrollmentRepository.decrementCompletedLectureCountByLecture(lecture);
+  }
+
+  // 강좌의 현재 공개 강의 수 (신규 수강 등록 시 초기값)
+  @Transactional(readOnly = true)
+  public int countTotalLectures(Long courseId) {
+    return countSequential(lectureRepository.findVisibleOrderNosByCourseId(courseId));
+  }
+
+  // 강좌의 공개 강의 수가 바뀐 경우 (공개 / 반려 / 비활성 / 삭제 / 순서 변경) 해당 강좌 수강 전체 갱신
+  @Transactional
+  public void refreshTotalLectures(Long courseId) {
+    enrollmentRepository.updateTotalLectureCountByCourseId(courseId, countTotalLectures(courseId));
+  }
+
+  // 1강부터 끊기지 않고 이어지는 강의 수 (LectureService.getLecturesForStudent 와 같은 순차 공개 기준)
+  static int countSequential(List<Integer> sortedOrderNos) {
+    int expectedOrder = 1;
+    for (int orderNo : sortedOrderNos) {
+      if (orderNo == expectedOrder) {
+        expectedOrder++;
+      } else if (orderNo > expectedOrder) {
+        break;
+      }
+    }
+    return expectedOrder - 1;
+  }
+
+  // 전체 재계산 (원본: lecture_progress / lecture)
+  @Transactional
+  public void rebuild() {
+    long startTime = System.currentTimeMillis();
+
+    int completedRows = jdbcTemplate.update(BACKFILL_COMPLETED_SQL);
+
+    Map<Long, List<Integer>> orderNosByCourse = new HashMap<>();
+    jdbcTemplate.query(VISIBLE_ORDER_NOS_SQL, rs -> {
+      orderNosByCourse.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getInt(2));
+    });
+
+    List<Object[]> totals = new ArrayList<>();
+    for (Long courseId : jdbcTemplate.queryForList(ENROLLED_COURSE_IDS_SQL, Long.class)) {
+      totals.add(new Object[] { countSequential(orderNosByCourse.getOrDefault(courseId, List.of())), courseId });
+    }
+    jdbcTemplate.batchUpdate(UPDATE_TOTAL_SQL, totals);
+
+    log.info("수강 진도 카운터 재계산 (수강: {}건, 강좌: {}개, 소요: {}ms)", completedRows, totals.size(),
+        System.currentTimeMillis() - startTime);
+  }
+
+  // 카운터가 아직 없는 수강(컬럼 추가 직후)이 있으면 시작 시 채움
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    if (enrollmentRepository.existsByCompletedLectureCountIsNullOrTotalLectureCountIsNull()) {
+      rebuild();
+    }
+  }
+
+  // 주기적 재계산 (중복 완료 요청 / 다른 경로로 바뀐 진도 기록 보정)
+  @Scheduled(cron = "${enrollment.progress.rebuild-cron:0 45 3 * * *}")
+  public void scheduledRebuild() {
+    rebuild();
+  }
+}
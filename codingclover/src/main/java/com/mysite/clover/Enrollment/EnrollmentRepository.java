@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.mysite.clover.Course.Course;
+import com.mysite.clover.Lecture.Lecture;
 import com.mysite.clover.Users.Users;
 
 /*수강 관련 비즈니스 로직 처리 */
@@ -34,6 +35,27 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
                                  @Param("newStatus") EnrollmentStatus newStatus,
                                  @Param("enrolledAt") LocalDateTime enrolledAt);
 
+        // 진도 카운터 - 완료 강의 수 1 증가 (DB 에서 증가하므로 동시 요청에도 누락 없음)
+        @Modifying
+        @Query("UPDATE Enrollment e SET e.completedLectureCount = COALESCE(e.completedLectureCount, 0) + 1 " +
+               "WHERE e.enrollmentId = :enrollmentId")
+        int incrementCompletedLectureCount(@Param("enrollmentId") Long enrollmentId);
+
+        // 진도 카운터 - 삭제되는 강의를 완료한 수강의 완료 강의 수 1 감소 (수강당 강의별 진도는 1건)
+        @Modifying
+        @Query("UPDATE Enrollment e SET e.completedLectureCount = e.completedLectureCount - 1 " +
+               "WHERE e.completedLectureCount > 0 AND e.enrollmentId IN (" +
+               "SELECT p.enrollment.enrollmentId FROM LectureProgress p WHERE p.lecture = :lecture AND p.completedYn = true)")
+        int decrementCompletedLectureCountByLecture(@Param("lecture") Lecture lecture);
+
+        // 진도 카운터 - 강좌의 모든 수강 전체 강의 수 갱신
+        @Modifying
+        @Query("UPDATE Enrollment e SET e.totalLectureCount = :count WHERE e.course.courseId = :courseId")
+        int updateTotalLectureCountByCourseId(@Param("courseId") Long courseId, @Param("count") int count);
+
+        // 진도 카운터가 아직 채워지지 않은 수강 존재 여부
+        boolean existsByCompletedLectureCountIsNullOrTotalLectureCountIsNull();
+
         // 사용자 수강 목록 조회
         List<Enrollment> findByUser(Users user);
 
@@ -93,6 +115,11 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
                         """)
         List<Enrollment> findAdminByCourse(@Param("course") Course course);
 
+        // 강좌의 특정 상태 수강생 ID 목록 (엔티티 로딩 없이 알림 일괄 발송용)
+        @Query("SELECT e.user.userId FROM Enrollment e WHERE e.course.courseId = :courseId AND e.status = :status")
+        List<Long> findUserIdsByCourseIdAndStatus(@Param("courseId") Long courseId,
+                        @Param("status") EnrollmentStatus status);
+
         // Course 객체 없이 ID로 조회
         Optional<Enrollment> findByUserAndCourse_CourseId(Users user, Long courseId);
 
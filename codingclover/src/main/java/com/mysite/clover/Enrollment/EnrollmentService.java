@@ -7,28 +7,31 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 import com.mysite.clover.Course.Course;
-import com.mysite.clover.Lecture.LectureService;
-import com.mysite.clover.LectureProgress.LectureProgressRepository;
+import com.mysite.clover.LectureProgress.WatchProgressBuffer;
 import com.mysite.clover.Notification.NotificationService;
 import com.mysite.clover.Users.Users;
 import com.mysite.clover.Users.UsersRole;
 import com.mysite.clover.Users.UsersRepository;
 import com.mysite.clover.Payment.PaymentService;
+import com.mysite.clover.Tracing.LogContext;
+import com.mysite.clover.Tracing.SpanRecorder;
 
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /*수강 관련 비즈니스 로직 처리 */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
   private final EnrollmentRepository enrollmentRepository;
   private final PaymentService paymentService;
-  private final LectureProgressRepository lectureProgressRepository;
-  private final LectureService lectureService;
   private final NotificationService notificationService;
   private final UsersRepository usersRepository;
+  private final SpanRecorder spanRecorder;
+  private final WatchProgressBuffer watchProgressBuffer;
 
   // 수강 취소(actor가 수강 취소 행위자)
   @Transactional
@@ -39,6 +42,7 @@ public class EnrollmentService {
         .orElseThrow(() -> new IllegalStateException("수강 중인 정보가 없습니다."));
 
     enrollment.cancel(actor);
+    watchProgressBuffer.evictEnrollment(enrollment.getEnrollmentId()); // 커밋 후 시청 대상 캐시 제거
   }
 
   // === 학생용 메소드 ===
@@ -62,36 +66,28 @@ public class EnrollmentService {
   // 학생 - 내 수강 취소 (즉시 포인트 환불)
   @Transactional
   public void cancelMyEnrollment(Users student, Course course) {
-    System.out.println("=== 수강취소 시작 ===");
-    System.out
-        .println("학생 ID: " + student.getUserId() + ", 강좌 ID: " + course.getCourseId() + ", 가격: " + course.getPrice());
-
-    // 1. 수강 상태를 취소로 변경
-    cancel(student, student, course);
-    System.out.println("수강 상태 취소 완료");
-
-    // 2. 해당 수강 신청 시 사용한 결제내역을 찾아서 자동 환불 처리
-    try {
-      System.out.println("환불 처리 시작...");
-
-      // 강좌 가격만큼 즉시 포인트 환불 (강좌에서 가격 가져오기)
-      paymentService.processDirectRefund(
-          student.getUserId(),
-          course.getPrice(),
-          "수강취소 - " + course.getTitle());
-
-      System.out.println("환불 처리 성공: " + course.getPrice() + "P");
-
-    } catch (Exception e) {
-      // 환불 처리 실패 시에도 수강 취소는 유지 (로그만 남김)
-      System.err.println("수강취소 환불 처리 실패: " + e.getMessage());
-      e.printStackTrace(); // 전체 에러 스택 출력
+    try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, student.getUserId())) {
+      log.info("수강취소 시작 (강좌 ID: {}, 가격: {}P)", course.getCourseId(), course.getPrice());
+
+      // 1. 수강 상태를 취소로 변경
+      cancel(student, student, course);
+
+      // 2. 해당 수강 신청 시 사용한 결제내역을 찾아서 자동 환불 처리
+      try {
+        // 강좌 가격만큼 즉시 포인트 환불 (강좌에서 가격 가져오기)
+        spanRecorder.run("enrollment.refund", () -> paymentService.processDirectRefund(
+            student.getUserId(),
+            course.getPrice(),
+            "수강취소 - " + course.getTitle()));
+
+      } catch (Exception e) {
+        // 환불 실패 시 예외를 다시 던져서 전체 트랜잭션 롤백 (수강 취소도 되돌림)
+        log.error("수강취소 환불 처리 실패 (강좌 ID: {})", course.getCourseId(), e);
+        throw new RuntimeException("환불 처리 실패: " + e.getMessage(), e);
+      }
 
-      // 환불 실패 시 예외를 다시 던져서 전체 트랜잭션 롤백
-      throw new RuntimeException("환불 처리 실패: " + e.getMessage(), e);
+      log.info("수강취소 완료 (강좌 ID: {})", course.getCourseId());
     }
-
-    System.out.println("=== 수강취소 완료 ===");
   }
 
   // 학생 - 수강 취소 요청
@@ -101,52 +97,50 @@ public class EnrollmentService {
       throw new IllegalStateException("요청 권한이 없습니다.");
     }
 
-    // 요청 전 상태 로깅
-    System.out.println("=== 취소 요청 전 상태 ===");
-    System.out.println("Enrollment ID: " + enrollment.getEnrollmentId());
-    System.out.println("Before request - cancelledAt: " + enrollment.getCancelledAt());
-    System.out.println("Before request - isCancelRequested: " + enrollment.isCancelRequested());
-    System.out.println("Before request - status: " + enrollment.getStatus());
+    try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, student.getUserId())) {
+      log.debug("취소 요청 전 상태 (enrollmentId: {}, status: {}, cancelRequested: {}, cancelledAt: {})",
+          enrollment.getEnrollmentId(), enrollment.getStatus(), enrollment.isCancelRequested(),
+          enrollment.getCancelledAt());
 
-    if (enrollment.isCancelRequested()) {
-      System.out.println("ERROR: 이미 처리 대기중인 취소 요청이 있습니다.");
-      throw new IllegalStateException("이미 처리 대기중인 취소 요청이 있습니다.");
-    }
-
-    if (enrollment.getStatus() != EnrollmentStatus.ENROLLED) {
-      System.out.println("ERROR: 수강 중인 강좌만 취소 요청이 가능합니다. 현재 상태: " + enrollment.getStatus());
-      throw new IllegalStateException("수강 중인 강좌만 취소 요청이 가능합니다.");
-    }
-
-    enrollment.requestCancel();
-
-    // 요청 후 상태 로깅
-    System.out.println("After request - cancelledAt: " + enrollment.getCancelledAt());
-    System.out.println("After request - isCancelRequested: " + enrollment.isCancelRequested());
+      if (enrollment.isCancelRequested()) {
+        log.info("이미 처리 대기중인 취소 요청 (enrollmentId: {})", enrollment.getEnrollmentId());
+        throw new IllegalStateException("이미 처리 대기중인 취소 요청이 있습니다.");
+      }
 
-    enrollmentRepository.save(enrollment);
+      if (enrollment.getStatus() != EnrollmentStatus.ENROLLED) {
+        log.info("수강 중이 아닌 강좌의 취소 요청 (enrollmentId: {}, status: {})", enrollment.getEnrollmentId(),
+            enrollment.getStatus());
+        throw new IllegalStateException("수강 중인 강좌만 취소 요청이 가능합니다.");
+      }
 
-    // 관리자에게 알림 전송
-    try {
-      List<Users> admins = usersRepository.findByRole(UsersRole.ADMIN);
-      String notificationMessage = String.format("%s 님이 %s 강좌의 수강 취소를 요청했습니다.",
-          student.getName(), enrollment.getCourse().getTitle());
-
-      for (Users admin : admins) {
-        notificationService.createNotification(
-            admin,
-            "CANCEL_REQUEST",
-            notificationMessage,
-            "/admin/users/students/" + student.getUserId() // 관리자 학생 상세 페이지로 이동
-        );
+      enrollment.requestCancel();
+      spanRecorder.run("enrollment.save", () -> enrollmentRepository.save(enrollment));
+
+      // 관리자에게 알림 전송
+      try {
+        spanRecorder.run("notification.admins", () -> {
+          List<Users> admins = usersRepository.findByRole(UsersRole.ADMIN);
+          String notificationMessage = String.format("%s 님이 %s 강좌의 수강 취소를 요청했습니다.",
+              student.getName(), enrollment.getCourse().getTitle());
+
+          for (Users admin : admins) {
+            notificationService.createNotification(
+                admin,
+                "CANCEL_REQUEST",
+                notificationMessage,
+                "/admin/users/students/" + student.getUserId() // 관리자 학생 상세 페이지로 이동
+            );
+          }
+        });
+      } catch (Exception e) {
+        // 알림 전송 실패가 로직 실패로 이어지지는 않도록 함
+        log.warn("관리자 알림 전송 실패 (enrollmentId: {})", enrollment.getEnrollmentId(), e);
       }
-    } catch (Exception e) {
-      System.err.println("관리자 알림 전송 실패: " + e.getMessage());
-      // 알림 전송 실패가 로직 실패로 이어지지는 않도록 함
-    }
 
-    System.out.println("=== 취소 요청 완료 ===");
-    return toCancelRequestDto(enrollment);
+      log.info("취소 요청 완료 (enrollmentId: {}, cancelledAt: {})", enrollment.getEnrollmentId(),
+          enrollment.getCancelledAt());
+      return toCancelRequestDto(enrollment);
+    }
   }
 
   // 학생 - 내 취소 요청 목록 조회
@@ -177,47 +171,32 @@ public class EnrollmentService {
 
   // 관리자 - 전체 수강 내역 조회
   @Transactional(readOnly = true)
-  // Enrollment + User + Course를 한 번에 조회하고 진도율 계산 (취소된 수강 제외)
+  // Enrollment + User + Course를 한 번에 조회하고 진도 카운터로 진도율 계산 (취소된 수강 제외)
   public List<AdminEnrollmentDto> getAllEnrollments() {
     List<Enrollment> enrollments = enrollmentRepository.findAllWithUserAndCourse();
     // Enrollment 리스트 → AdminEnrollmentDto 리스트로 변환 (CANCELLED 제외, 진도율 계산 포함)
     return enrollments.stream()
         .filter(e -> e.getStatus() != EnrollmentStatus.CANCELLED) // 취소된 수강 제외
-        .map(e -> {
-          // 진도율 계산
-          int completedLectures = 0;
-          int totalLectures = 0;
-          double progressRate = 0.0;
-
-          try {
-            completedLectures = lectureProgressRepository
-                .findByEnrollmentAndCompletedYnTrue(e)
-                .size();
-            totalLectures = lectureService.getLecturesForStudent(e.getCourse()).size();
-            progressRate = totalLectures > 0
-                ? Math.round((double) completedLectures * 100.0 / totalLectures)
-                : 0.0;
-          } catch (Exception ex) {
-            // 진도율 계산 실패 시 기본값 사용
-            System.err.println("진도율 계산 실패 (enrollmentId: " + e.getEnrollmentId() + "): " + ex.getMessage());
-          }
-
-          return new AdminEnrollmentDto(
-              e.getEnrollmentId(),
-              e.getUser().getUserId(),
-              e.getUser().getName(),
-              e.getCourse().getCourseId(),
-              e.getCourse().getTitle(),
-              e.getEnrolledAt(),
-              e.getStatus(),
-              e.getCancelledBy() != null ? e.getCancelledBy().getUserId() : null,
-              completedLectures,
-              totalLectures,
-              progressRate);
-        })
+        .map(this::toAdminEnrollmentDto)
         .collect(Collectors.toList());
   }
 
+  // 진도율은 Enrollment 의 진도 카운터로 계산 (수강마다 진도/강의 목록을 다시 조회하지 않음)
+  private AdminEnrollmentDto toAdminEnrollmentDto(Enrollment e) {
+    return new AdminEnrollmentDto(
+        e.getEnrollmentId(),
+        e.getUser().getUserId(),
+        e.getUser().getName(),
+        e.getCourse().getCourseId(),
+        e.getCourse().getTitle(),
+        e.getEnrolledAt(),
+        e.getStatus(),
+        e.getCancelledBy() != null ? e.getCancelledBy().getUserId() : null,
+        e.completedLectures(),
+        e.totalLectures(),
+        e.progressRate());
+  }
+
   // 관리자 - 수강 취소 (관리자 권한)
   @Transactional
   public void adminCancelEnrollment(Users admin, Long enrollmentId) {
@@ -230,6 +209,7 @@ public class EnrollmentService {
     }
 
     enrollment.cancel(admin);
+    watchProgressBuffer.evictEnrollment(enrollmentId); // 커밋 후 시청 대상 캐시 제거
 
     Integer coursePrice = enrollment.getCourse().getPrice();
     if (coursePrice != null && coursePrice > 0) {
@@ -264,27 +244,12 @@ public class EnrollmentService {
       throw new IllegalStateException("처리 대기중인 요청이 아닙니다.");
     }
 
-    // 거절 전 상태 로깅
-    System.out.println("=== 취소 요청 거절 전 상태 ===");
-    System.out.println("Enrollment ID: " + enrollment.getEnrollmentId());
-    System.out.println("Before reject - cancelledAt: " + enrollment.getCancelledAt());
-    System.out.println("Before reject - isCancelRequested: " + enrollment.isCancelRequested());
+    log.debug("취소 요청 거절 전 상태 (enrollmentId: {}, cancelRequested: {}, cancelledAt: {})",
+        enrollment.getEnrollmentId(), enrollment.isCancelRequested(), enrollment.getCancelledAt());
 
     enrollment.rejectCancelRequest();
-
-    // 거절 후 상태 로깅
-    System.out.println("After reject - cancelledAt: " + enrollment.getCancelledAt());
-    System.out.println("After reject - isCancelRequested: " + enrollment.isCancelRequested());
-
     enrollmentRepository.save(enrollment);
 
-    // 저장 후 상태 재확인
-    Enrollment savedEnrollment = enrollmentRepository.findById(enrollmentId).orElse(null);
-    if (savedEnrollment != null) {
-      System.out.println("After save - cancelledAt: " + savedEnrollment.getCancelledAt());
-      System.out.println("After save - isCancelRequested: " + savedEnrollment.isCancelRequested());
-    }
-
     // 학생에게 반려 알림 전송
     String notificationTitle = "수강 취소 요청이 반려되었습니다";
     if (reason != null && !reason.trim().isEmpty()) {
@@ -298,7 +263,7 @@ public class EnrollmentService {
         "/student/mypage" // 반려 시 마이페이지로 이동하도록 수정
     );
 
-    System.out.println("=== 수강취소 요청 반려 완료 ===");
+    log.info("수강취소 요청 반려 완료 (enrollmentId: {}, adminId: {})", enrollmentId, admin.getUserId());
   }
 
   // 관리자 - 취소 요청 목록 조회
@@ -318,13 +283,8 @@ public class EnrollmentService {
   }
 
   private CancelRequestDto toCancelRequestDto(Enrollment enrollment) {
-    int completedLectures = lectureProgressRepository
-        .findByEnrollmentAndCompletedYnTrue(enrollment)
-        .size();
-    int totalLectures = lectureService.getLecturesForStudent(enrollment.getCourse()).size();
-    double progressPercent = totalLectures > 0
-        ? Math.round((double) completedLectures * 100.0 / totalLectures)
-        : 0.0;
+    // 진도율 (Enrollment 의 진도 카운터 사용 - 추가 조회 없음)
+    double progressPercent = enrollment.progressRate();
 
     CancelRequestDto dto = new CancelRequestDto();
     dto.setEnrollmentId(enrollment.getEnrollmentId());
@@ -347,38 +307,7 @@ public class EnrollmentService {
     List<Enrollment> enrollments = enrollmentRepository.findAdminByCourse(course);
     return enrollments.stream()
         .filter(e -> e.getStatus() != EnrollmentStatus.CANCELLED) // 취소된 수강 제외
-        .map(e -> {
-          // 진도율 계산
-          int completedLectures = 0;
-          int totalLectures = 0;
-          double progressRate = 0.0;
-
-          try {
-            completedLectures = lectureProgressRepository
-                .findByEnrollmentAndCompletedYnTrue(e)
-                .size();
-            totalLectures = lectureService.getLecturesForStudent(e.getCourse()).size();
-            progressRate = totalLectures > 0
-                ? Math.round((double) completedLectures * 100.0 / totalLectures)
-                : 0.0;
-          } catch (Exception ex) {
-            // 진도율 계산 실패 시 기본값 사용
-            System.err.println("진도율 계산 실패 (enrollmentId: " + e.getEnrollmentId() + "): " + ex.getMessage());
-          }
-
-          return new AdminEnrollmentDto(
-              e.getEnrollmentId(),
-              e.getUser().getUserId(),
-              e.getUser().getName(),
-              e.getCourse().getCourseId(),
-              e.getCourse().getTitle(),
-              e.getEnrolledAt(),
-              e.getStatus(),
-              e.getCancelledBy() != null ? e.getCancelledBy().getUserId() : null,
-              completedLectures,
-              totalLectures,
-              progressRate);
-        })
+        .map(this::toAdminEnrollmentDto)
         .collect(Collectors.toList());
   }
 }
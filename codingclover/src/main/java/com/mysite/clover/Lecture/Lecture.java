@@ -82,4 +82,8 @@ public class Lecture {
 
   // 예약 공개 시, 실제 공개될 일시
   private LocalDateTime scheduledAt;
+
+  // 학생에게 실제 공개된 일시 (null 이면 미공개)
+  // 승인 + 공개 시각 도달 시 LecturePublisher 가 한 번만 기록 (조회 시 시간 비교 없이 이 값만 확인)
+  private LocalDateTime publishedAt;
 }
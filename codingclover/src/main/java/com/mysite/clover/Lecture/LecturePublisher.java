@@ -0,0 +1,215 @@
+package com.mysite.clover.Lecture;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mysite.clover.Cache.BoundedCache;
+import com.mysite.clover.Course.CourseCatalog;
+import com.mysite.clover.Enrollment.EnrollmentProgressCounter;
+import com.mysite.clover.Enrollment.EnrollmentRepository;
+import com.mysite.clover.Enrollment.EnrollmentStatus;
+import com.mysite.clover.Notification.NotificationService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 강의 공개 처리 (즉시 공개 / 예약 공개)
+// - 승인된 강의를 공개 시각에 맞춰 한 번만 공개 처리 (Lecture.publishedAt 기록)
+//   -> 학생 조회는 시간 비교 없이 publishedAt 만 확인
+// - 공개 시점에 공개 강좌 카탈로그 / 수강 진도 카운터 갱신 + 수강생에게 NEW_LECTURE_UPLOADED 알림 (공개 처리에 성공한 한 번만)
+// - 예약 공개는 지연 큐 타이머로 공개 시각에 정확히 실행 (가까운 horizon 안의 예약만 메모리에 등록)
+// - 서버 시작 시 / 주기적으로 DB 에서 미공개 강의를 다시 읽어서 타이머 등록 및 누락분 공개
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LecturePublisher {
+
+    private static final String NOTIFICATION_TYPE = "NEW_LECTURE_UPLOADED";
+
+    private final LectureRepository lectureRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationService notificationService;
+    private final CourseCatalog courseCatalog;
+    private final EnrollmentProgressCounter enrollmentProgressCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    // 공개 시각이 가장 이른 작업부터 실행하는 지연 큐 타이머
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "lecture-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 타이머에 등록된 강의 ID -> 예약 작업 (재등록 / 취소용)
+    private final ConcurrentHashMap<Long, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
+
+    // 이 시간(분) 안에 공개될 예약만 타이머에 등록 (먼 예약은 주기적 reload 에서 가까워지면 등록)
+    @Value("${lecture.publish.horizon-minutes:1440}")
+    private long horizonMinutes = 1440;
+
+    // 공개 시각이 이보다(분) 오래 지난 강의는 알림 없이 공개 (장기 중단 / 기존 데이터 이관 시 뒤늦은 알림 방지)
+    @Value("${lecture.publish.notify-grace-minutes:60}")
+    private long notifyGraceMinutes = 60;
+
+    // 서버 시작 후 첫 reload 에서만 백필 여부 확인
+    private volatile boolean backfillChecked;
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // 승인된 강의 공개 예약 (커밋 후 등록 - 공개 시각이 이미 지났으면 바로 공개)
+    public void scheduleAfterCommit(Lecture lecture) {
+        LectureSchedule schedule = new LectureSchedule(lecture.getLectureId(), lecture.getCourse().getCourseId(),
+                lecture.getUploadType(), lecture.getScheduledAt());
+        BoundedCache.afterCommit(() -> schedule(schedule));
+    }
+
+    // 공개 예약 취소 (반려 / 비활성 / 재제출 / 삭제)
+    // 공개 처리 자체도 승인 상태를 다시 확인하므로 남은 타이머가 실행돼도 공개되지 않음
+    public void cancel(Long lectureId) {
+        ScheduledFuture<?> future = timers.remove(lectureId);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    private void schedule(LectureSchedule schedule) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime publishAt = publishAt(schedule);
+        if (publishAt.isAfter(now.plusMinutes(horizonMinutes))) {
+            cancel(schedule.lectureId()); // 가까워지면 reload 에서 등록
+            return;
+        }
+
+        long delayMs = Math.max(0, Duration.between(now, publishAt).toMillis());
+        Long lectureId = schedule.lectureId();
+        ScheduledFuture<?> previous = timers.put(lectureId,
+                timer.schedule(() -> fire(lectureId), delayMs, TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    // 공개 시각 (즉시 공개이거나 예약 시각이 없으면 지금)
+    private LocalDateTime publishAt(LectureSchedule schedule) {
+        if (schedule.uploadType() == LectureUploadType.RESERVED && schedule.scheduledAt() != null) {
+            return schedule.scheduledAt();
+        }
+        return LocalDateTime.now();
+    }
+
+    private void fire(Long lectureId) {
+        timers.remove(lectureId);
+        try {
+            publish(lectureId);
+        } catch (RuntimeException e) {
+            // 실패한 강의는 미공개로 남으므로 다음 reload 에서 다시 시도
+            log.error("강의 공개 처리 실패 (lectureId: {})", lectureId, e);
+        }
+    }
+
+    // 강의 하나 공개 처리 (이미 공개됐거나 승인 취소된 강의면 아무것도 하지 않음)
+    public void publish(Long lectureId) {
+        LocalDateTime now = LocalDateTime.now();
+        Lecture lecture = transactionTemplate.execute(status -> {
+            // 조건부 UPDATE 로 공개 처리 - 여러 서버 / 타이머가 동시에 실행해도 한 곳만 성공
+            if (lectureRepository.markPublished(lectureId, now) == 0) {
+                return null;
+            }
+            Lecture published = lectureRepository.findById(lectureId).orElseThrow();
+            // 공개 강의 수가 바뀌었으므로 해당 강좌 수강들의 진도 카운터(전체 강의 수) 갱신
+            enrollmentProgressCounter.refreshTotalLectures(published.getCourse().getCourseId());
+            if (!isLate(published, now)) {
+                notifyStudents(published);
+            }
+            return published;
+        });
+        if (lecture == null) {
+            return;
+        }
+
+        // 순차 공개 규칙상 1강이 공개될 때만 강좌 공개 여부가 바뀜
+        if (lecture.getOrderNo() == 1) {
+            courseCatalog.refresh(lecture.getCourse().getCourseId());
+        }
+        log.info("강의 공개 (lectureId: {}, courseId: {}, 예약: {})", lectureId,
+                lecture.getCourse().getCourseId(), lecture.getScheduledAt());
+    }
+
+    // 공개 시각이 알림 유예 시간보다 오래 지났는지 (예약: 예약 시각, 즉시: 승인 시각 기준)
+    private boolean isLate(Lecture lecture, LocalDateTime now) {
+        LocalDateTime goLive = lecture.getUploadType() == LectureUploadType.RESERVED && lecture.getScheduledAt() != null
+                ? lecture.getScheduledAt()
+                : lecture.getApprovedAt();
+        return goLive != null && goLive.isBefore(now.minusMinutes(notifyGraceMinutes));
+    }
+
+    private void notifyStudents(Lecture lecture) {
+        List<Long> userIds = enrollmentRepository.findUserIdsByCourseIdAndStatus(
+                lecture.getCourse().getCourseId(), EnrollmentStatus.ENROLLED);
+        notificationService.notifyUserIds(userIds, NOTIFICATION_TYPE,
+                "'" + lecture.getCourse().getTitle() + "' 강좌에 새 강의가 업로드되었습니다: " + lecture.getTitle(),
+                "/student/lecture/" + lecture.getLectureId());
+    }
+
+    // 미공개 강의 다시 읽기 (서버 시작 시 + 주기 실행)
+    // - 다른 서버에서 승인한 예약 / 서버 중단 중 지난 예약 / 실패한 공개 처리 보정
+    @Scheduled(fixedDelayString = "${lecture.publish.reload-ms:60000}",
+            initialDelayString = "${lecture.publish.reload-ms:60000}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 0. publishedAt 도입 전 데이터 백필 - 공개 처리된 강의가 하나도 없으면 이미 공개 시각이 지난 승인 강의를
+        //    유예 시간과 상관없이 알림 없이 공개 (기존에 보이던 강의가 사라지거나 수강생에게 알림이 몰리지 않도록)
+        boolean backfill = !backfillChecked && !lectureRepository.existsByPublishedAtIsNotNull();
+        if (backfill) {
+            log.info("공개 처리된 강의가 없음 - 공개 시각이 지난 승인 강의를 알림 없이 백필");
+        }
+
+        // 1. 공개 시각이 오래 지난 강의는 알림 없이 한 번에 공개 (백필이면 공개 시각이 지난 강의 전부)
+        LocalDateTime cutoff = backfill ? now : now.minusMinutes(notifyGraceMinutes);
+        Integer silent = transactionTemplate.execute(status -> lectureRepository
+                .markPublishedSilentlyBefore(cutoff, now));
+        backfillChecked = true; // 실패하면 다음 reload 에서 다시 확인
+        if (silent != null && silent > 0) {
+            log.info("공개 시각이 지난 강의 일괄 공개 (알림 생략): {}개", silent);
+            courseCatalog.rebuild();
+            enrollmentProgressCounter.rebuild();
+        }
+
+        // 2. 공개 시각이 지난 나머지 강의는 바로 공개 (알림 포함)
+        List<LectureSchedule> due = lectureRepository.findDuePublications(now);
+        due.forEach(this::schedule);
+
+        // 3. 가까운 예약은 타이머 등록 (이미 등록된 예약은 유지)
+        List<LectureSchedule> pending = lectureRepository.findPendingPublications(now, now.plusMinutes(horizonMinutes));
+        for (LectureSchedule schedule : pending) {
+            if (!timers.containsKey(schedule.lectureId())) {
+                schedule(schedule);
+            }
+        }
+        log.debug("강의 공개 예약 다시 읽기 (즉시 공개: {}, 예약 등록 대상: {}, 타이머: {})", due.size(), pending.size(),
+                timers.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+}
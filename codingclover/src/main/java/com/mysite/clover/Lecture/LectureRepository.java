@@ -1,8 +1,10 @@
 package com.mysite.clover.Lecture;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
@@ -30,14 +32,69 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
         // 특정 강좌의 특정 승인 상태인 강의 개수를 반환 (예: 승인된 강의가 몇 개인지 확인)
         long countByCourseAndApprovalStatus(Course course, LectureApprovalStatus approvalStatus);
 
-        // 승인(APPROVED) 상태이며, 예약 시간이 현재 시간보다 이전(또는 즉시 공개)인 강의만 조회
+        // 승인(APPROVED) 상태이며 공개 처리된(publishedAt 기록) 강의만 조회
+        // 예약 공개 시각 비교는 LecturePublisher 가 공개 시점에 한 번만 수행
         @Query("SELECT l FROM Lecture l " +
                         "WHERE l.course.courseId = :courseId " +
                         "AND l.approvalStatus = 'APPROVED' " +
-                        "AND (l.uploadType = 'IMMEDIATE' OR l.scheduledAt <= CURRENT_TIMESTAMP) " +
+                        "AND l.publishedAt IS NOT NULL " +
                         "ORDER BY l.orderNo ASC")
         List<Lecture> findVisibleLecturesByCourseId(@Param("courseId") Long courseId);
 
+        // 공개된 강의 순서 번호 (진도 카운터의 전체 강의 수 계산용 - 엔티티 로딩 없이)
+        @Query("SELECT l.orderNo FROM Lecture l " +
+                        "WHERE l.course.courseId = :courseId AND l.approvalStatus = 'APPROVED' " +
+                        "AND l.publishedAt IS NOT NULL ORDER BY l.orderNo ASC")
+        List<Integer> findVisibleOrderNosByCourseId(@Param("courseId") Long courseId);
+
+        // 승인된 1강이 공개된 승인 강좌 ID (공개 강좌 카탈로그 전체 생성용)
+        // 순차 공개 규칙상 1강이 보여야 강좌가 공개되므로 1강만 보면 됨
+        @Query("SELECT DISTINCT l.course.courseId FROM Lecture l " +
+                        "WHERE l.approvalStatus = 'APPROVED' AND l.orderNo = 1 AND l.publishedAt IS NOT NULL " +
+                        "AND l.course.proposalStatus = 'APPROVED'")
+        List<Long> findCourseIdsWithPublishedFirstLecture();
+
+        // 강좌 하나의 승인된 1강 공개 여부 (카탈로그 부분 갱신용)
+        @Query("SELECT COUNT(l) FROM Lecture l " +
+                        "WHERE l.course.courseId = :courseId AND l.approvalStatus = 'APPROVED' " +
+                        "AND l.orderNo = 1 AND l.publishedAt IS NOT NULL")
+        long countPublishedFirstLecture(@Param("courseId") Long courseId);
+
+        // 승인됐지만 아직 공개 처리되지 않았고 공개 시각이 지난 강의 (서버 재시작 / 누락 보정용)
+        @Query("SELECT new com.mysite.clover.Lecture.LectureSchedule(" +
+                        "l.lectureId, l.course.courseId, l.uploadType, l.scheduledAt) " +
+                        "FROM Lecture l " +
+                        "WHERE l.approvalStatus = 'APPROVED' AND l.publishedAt IS NULL " +
+                        "AND (l.uploadType = 'IMMEDIATE' OR l.scheduledAt IS NULL OR l.scheduledAt <= :now)")
+        List<LectureSchedule> findDuePublications(@Param("now") LocalDateTime now);
+
+        // 승인됐고 공개 시각이 (now, until] 사이인 예약 강의 (타이머 등록용)
+        @Query("SELECT new com.mysite.clover.Lecture.LectureSchedule(" +
+                        "l.lectureId, l.course.courseId, l.uploadType, l.scheduledAt) " +
+                        "FROM Lecture l " +
+                        "WHERE l.approvalStatus = 'APPROVED' AND l.publishedAt IS NULL " +
+                        "AND l.uploadType = 'RESERVED' AND l.scheduledAt > :now AND l.scheduledAt <= :until")
+        List<LectureSchedule> findPendingPublications(@Param("now") LocalDateTime now,
+                        @Param("until") LocalDateTime until);
+
+        // 공개 처리 (아직 공개 전인 승인 강의만 - 여러 서버/타이머가 동시에 실행해도 한 번만 성공)
+        @Modifying
+        @Query("UPDATE Lecture l SET l.publishedAt = :now " +
+                        "WHERE l.lectureId = :lectureId AND l.approvalStatus = 'APPROVED' AND l.publishedAt IS NULL")
+        int markPublished(@Param("lectureId") Long lectureId, @Param("now") LocalDateTime now);
+
+        // 공개 처리된 강의가 하나라도 있는지 (publishedAt 도입 전 데이터 백필 여부 판단용)
+        boolean existsByPublishedAtIsNotNull();
+
+        // 알림 없이 일괄 공개 처리 (공개 시각이 cutoff 이전인 오래된 강의 - 기존 데이터 이관 / 장기 중단 보정용)
+        @Modifying
+        @Query("UPDATE Lecture l SET l.publishedAt = :now " +
+                        "WHERE l.approvalStatus = 'APPROVED' AND l.publishedAt IS NULL AND (" +
+                        "(l.uploadType = 'RESERVED' AND l.scheduledAt <= :cutoff) " +
+                        "OR ((l.uploadType = 'IMMEDIATE' OR l.scheduledAt IS NULL) " +
+                        "AND (l.approvedAt IS NULL OR l.approvedAt <= :cutoff)))")
+        int markPublishedSilentlyBefore(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
         // 해당 강좌에 이미 존재하는 순서(orderNo)들만 조회 (프론트 드롭다운 처리용)
         @Query("SELECT l.orderNo FROM Lecture l WHERE l.course.id = :courseId")
         List<Integer> findOrderNosByCourseId(@Param("courseId") Long courseId);
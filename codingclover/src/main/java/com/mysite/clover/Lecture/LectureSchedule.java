@@ -0,0 +1,8 @@
+package com.mysite.clover.Lecture;
+
+import java.time.LocalDateTime;
+
+// 강의 공개 시점 정보 (엔티티 대신 필요한 컬럼만 조회 - LecturePublisher 예약 등록용)
+public record LectureSchedule(Long lectureId, Long courseId, LectureUploadType uploadType,
+        LocalDateTime scheduledAt) {
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.mysite.clover.Course.Course;
+import com.mysite.clover.Course.CourseCatalog;
 import com.mysite.clover.Lecture.dto.LectureCreateRequest;
 import com.mysite.clover.Users.Users;
 import com.mysite.clover.Users.UsersRepository;
@@ -20,9 +21,12 @@ public class LectureService {
     private final LectureRepository lectureRepository;
     private final UsersRepository usersRepository;
     private final com.mysite.clover.Notification.NotificationService notificationService;
-    private final com.mysite.clover.Enrollment.EnrollmentRepository enrollmentRepository;
     private final YoutubeService youtubeService;
     private final com.mysite.clover.LectureProgress.LectureProgressRepository lectureProgressRepository;
+    private final CourseCatalog courseCatalog;
+    private final LecturePublisher lecturePublisher;
+    private final com.mysite.clover.Enrollment.EnrollmentProgressCounter enrollmentProgressCounter;
+    private final com.mysite.clover.LectureProgress.WatchProgressBuffer watchProgressBuffer;
 
     // 해당 강좌에 속한 모든 강의를 순서대로 조회 (강사용/관리자용, 상태 불문)
     public List<Lecture> getListByCourse(Course course) {
@@ -183,23 +187,16 @@ public class LectureService {
         // 3. 변경사항 저장
         lectureRepository.save(lecture);
 
-        // 4. 강사 알림 전송
+        // 4. 학생 공개 예약 (즉시 공개면 커밋 후 바로, 예약 공개면 공개 시각에)
+        // 공개 시점에 카탈로그 갱신 + 수강생 신규 강의 알림(NEW_LECTURE_UPLOADED)은 LecturePublisher 가 처리
+        lecturePublisher.scheduleAfterCommit(lecture);
+
+        // 5. 강사 알림 전송
         notificationService.createNotification(
                 lecture.getCreatedBy(),
                 "LECTURE_APPROVED",
                 "강의 '" + lecture.getTitle() + "' 승인됨",
                 "/instructor/lecture/" + lecture.getLectureId());
-
-        // 5. 수강생 알림 전송 (신규 강의 업로드)
-        List<com.mysite.clover.Enrollment.Enrollment> enrollments = enrollmentRepository
-                .findAdminByCourse(lecture.getCourse());
-        for (com.mysite.clover.Enrollment.Enrollment enrollment : enrollments) {
-            notificationService.createNotification(
-                    enrollment.getUser(),
-                    "NEW_LECTURE_UPLOADED",
-                    "'" + lecture.getCourse().getTitle() + "' 강좌에 새 강의가 업로드되었습니다: " + lecture.getTitle(),
-                    "/student/lecture/" + lecture.getLectureId());
-        }
     }
 
     // 일괄 승인
@@ -219,11 +216,14 @@ public class LectureService {
     public void reject(Lecture lecture, String reason) {
         // 1. 상태를 반려됨(REJECTED)으로 변경
         lecture.setApprovalStatus(LectureApprovalStatus.REJECTED);
-        // 2. 반려 사유 기록
+        // 2. 반려 사유 기록 + 공개 해제
         lecture.setRejectReason(reason);
+        lecture.setPublishedAt(null);
 
-        // 3. 변경사항 저장
+        // 3. 변경사항 저장 (공개 예약 취소 + 진도 카운터 / 공개 강좌 카탈로그 갱신)
         lectureRepository.save(lecture);
+        lecturePublisher.cancel(lecture.getLectureId());
+        courseLecturesChanged(lecture.getCourse().getCourseId());
 
         // 4. 알림 전송
         notificationService.createNotification(
@@ -258,8 +258,11 @@ public class LectureService {
     public void inactive(Lecture lecture) {
         // 1. 상태를 비활성(INACTIVE)으로 변경
         lecture.setApprovalStatus(LectureApprovalStatus.INACTIVE);
-        // 2. 변경사항 저장
+        lecture.setPublishedAt(null);
+        // 2. 변경사항 저장 (공개 예약 취소 + 진도 카운터 / 공개 강좌 카탈로그 갱신)
         lectureRepository.save(lecture);
+        lecturePublisher.cancel(lecture.getLectureId());
+        courseLecturesChanged(lecture.getCourse().getCourseId());
     }
 
     // 강사용: 강의 삭제 (완전 삭제)
@@ -272,11 +275,15 @@ public class LectureService {
             throw new SecurityException("본인의 강의만 삭제할 수 있습니다.");
         }
 
-        // 연관된 수강 진도 정보 삭제
+        // 연관된 수강 진도 정보 삭제 (삭제 전에 완료 강의 수 카운터 차감)
+        enrollmentProgressCounter.lectureRemoved(lecture);
         lectureProgressRepository.deleteByLecture(lecture);
 
         // 강의 삭제
         lectureRepository.delete(lecture);
+        lecturePublisher.cancel(lectureId);
+        watchProgressBuffer.evictLecture(lectureId); // 커밋 후 시청 대상 캐시 / 대기 중인 하트비트 제거
+        courseLecturesChanged(lecture.getCourse().getCourseId());
     }
 
     // 승인 대기(PENDING) 상태인 강의 목록 조회 (관리자가 확인 후 승인하기 위해)
@@ -297,7 +304,7 @@ public class LectureService {
 
     // 학생용: 특정 강좌의 '공개 가능한' 강의만 순서대로 조회 (순차 검증 로직 추가)
     public List<Lecture> getLecturesForStudent(Course course) {
-        // 1. 학생에게는 '공개 가능한' 강의만 DB에서 조회 (오름차순 정렬되어 있다고 가정)
+        // 1. 학생에게는 '공개된' 강의만 DB에서 조회 (publishedAt 기준, 오름차순 정렬되어 있다고 가정)
         List<Lecture> lectures = lectureRepository.findVisibleLecturesByCourseId(course.getCourseId());
 
         // 2. 순차 검증 (Strict Sequential Visibility)
@@ -346,11 +353,14 @@ public class LectureService {
         // 4. 상태 초기화
         // 강의 상태를 PENDING으로 변경하여 관리자 화면에 다시 노출
         lecture.setApprovalStatus(LectureApprovalStatus.PENDING);
-        // 반려 사유 필드 초기화
+        // 반려 사유 필드 초기화 + 공개 해제 (재승인 시 다시 공개 예약)
         lecture.setRejectReason(null);
+        lecture.setPublishedAt(null);
 
-        // 5. 변경사항 저장
+        // 5. 변경사항 저장 (공개 예약 취소 + 진도 카운터 / 공개 강좌 카탈로그 갱신)
         lectureRepository.save(lecture);
+        lecturePublisher.cancel(lecture.getLectureId());
+        courseLecturesChanged(lecture.getCourse().getCourseId());
 
         // 6. 관리자 알림 전송 (재승인 요청)
         List<Users> admins = usersRepository.findByRole(com.mysite.clover.Users.UsersRole.ADMIN);
@@ -371,11 +381,22 @@ public class LectureService {
     // 강의 순서 변경 (일괄 업데이트)
     @Transactional
     public void reorderLectures(List<com.mysite.clover.Lecture.dto.LectureOrderRequest.OrderItem> orders) {
+        java.util.Set<Long> courseIds = new java.util.HashSet<>();
         for (com.mysite.clover.Lecture.dto.LectureOrderRequest.OrderItem item : orders) {
             Lecture lecture = lectureRepository.findById(item.getLectureId())
                     .orElseThrow(() -> new IllegalArgumentException("강의를 찾을 수 없습니다. ID: " + item.getLectureId()));
             lecture.setOrderNo(item.getOrderNo());
             lectureRepository.save(lecture);
+            courseIds.add(lecture.getCourse().getCourseId());
         }
+        // 순서가 바뀌면 순차 공개 검증 결과가 달라질 수 있으므로 해당 강좌들 진도 카운터 / 카탈로그 갱신
+        courseIds.forEach(enrollmentProgressCounter::refreshTotalLectures);
+        courseCatalog.refreshAfterCommit(courseIds);
+    }
+
+    // 학생에게 공개된 강의가 바뀐 강좌 반영 (수강 진도 카운터의 전체 강의 수 + 공개 강좌 카탈로그)
+    private void courseLecturesChanged(Long courseId) {
+        enrollmentProgressCounter.refreshTotalLectures(courseId);
+        courseCatalog.refreshAfterCommit(courseId);
     }
 }
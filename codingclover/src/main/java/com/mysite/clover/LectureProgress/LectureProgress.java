@@ -11,16 +11,24 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "lecture_progress")
+@Table(name = "lecture_progress", uniqueConstraints = {
+    // 수강당 강의별 진도는 1건 (시청 하트비트 일괄 UPSERT 기준 키)
+    @UniqueConstraint(name = "uk_lecture_progress_enrollment_lecture", columnNames = { "enrollment_id", "lecture_id" })
+}, indexes = {
+    // 오래 시청하지 않은 진도 조회 (관리자 리포트 - 기준 시각 이전 범위 조회 + 정렬)
+    @Index(name = "idx_lecture_progress_last_watched_at", columnList = "last_watched_at")
+})
 public class LectureProgress {
   
   @Id // PK
@@ -50,4 +58,12 @@ public class LectureProgress {
   @Column(name = "last_watched_at")
   private LocalDateTime lastWatchedAt;
 
+  // 누적 시청 시간 (실제로 재생한 초의 합, 영상 길이까지만 - 진도율 계산 기준)
+  @Column(name = "watched_seconds")
+  private Integer watchedSeconds;
+
+  // 마지막 재생 위치 (초, 이어보기용)
+  @Column(name = "last_position_seconds")
+  private Integer lastPositionSeconds;
+
 }
@@ -1,17 +1,23 @@
 package com.mysite.clover.LectureProgress;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mysite.clover.Course.Course;
@@ -39,6 +45,7 @@ public class LectureProgressController {
         private final EnrollmentRepository enrollmentRepository;
         private final CourseRepository courseRepository;
         private final UsersRepository usersRepository;
+        private final WatchProgressBuffer watchProgressBuffer;
 
         // 강좌 내 강의 진도 목록
         // ENROLLED(수강중) + COMPLETED(수강완료) 모두 진도 조회 가능
@@ -69,7 +76,9 @@ public class LectureProgressController {
                         p.getLecture().getTitle(),
                         p.getLecture().getOrderNo(),
                         p.getCompletedYn(),
-                        p.getLastWatchedAt()
+                        p.getLastWatchedAt(),
+                        p.getProgressRate(),
+                        p.getLastPositionSeconds()
                     ))
                     .collect(Collectors.toList());
 
@@ -96,24 +105,28 @@ public class LectureProgressController {
             return ResponseEntity.ok().build();
         }
 
-        // 시청 기록
+        // 시청 기록 (재생 위치 없이 시청 시각만 - 하트비트 버퍼에 합쳐서 주기적으로 기록)
         @PostMapping("/lecture/{lectureId}/watch")
         @PreAuthorize("hasRole('STUDENT')")
         public ResponseEntity<Void> watchLecture(
                 @PathVariable Long lectureId,
                 Principal principal) {
 
-            Users user = usersRepository.findByLoginId(principal.getName())
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-
-            Lecture lecture = lectureService.findById(lectureId);
+            watchProgressBuffer.heartbeat(principal.getName(), lectureId, null);
+            return ResponseEntity.ok().build();
+        }
 
-            Enrollment enrollment = enrollmentRepository
-                .findByUserAndCourseAndStatusIn(user, lecture.getCourse(), List.of(EnrollmentStatus.ENROLLED, EnrollmentStatus.COMPLETED))
-                .orElseThrow(() -> new IllegalStateException("수강 아님"));
+        // 시청 하트비트 (플레이어가 재생 중 주기적으로 현재 재생 위치 전송)
+        // 메모리에서 합쳐 두었다가 주기적으로 일괄 기록 - 전송 주기와 무관하게 DB 쓰기는 일정
+        @PostMapping("/lecture/{lectureId}/heartbeat")
+        @PreAuthorize("hasRole('STUDENT')")
+        public ResponseEntity<Void> heartbeat(
+                @PathVariable Long lectureId,
+                @RequestBody WatchHeartbeatRequest request,
+                Principal principal) {
 
-            lectureProgressService.updateLastWatched(enrollment, lecture);
-            return ResponseEntity.ok().build();
+            watchProgressBuffer.heartbeat(principal.getName(), lectureId, request.getPositionSeconds());
+            return ResponseEntity.noContent().build();
         }
     }
 
@@ -156,9 +169,24 @@ public class LectureProgressController {
     @RequiredArgsConstructor
     static class AdminLectureProgressController {
 
+        // 오래 시청하지 않은 진도 조회 한 페이지 최대 건수
+        private static final int MAX_ISSUE_PAGE_SIZE = 200;
+
         private final LectureProgressRepository lectureProgressRepository;
         private final EnrollmentRepository enrollmentRepository;
         private final UsersRepository usersRepository;
+        private final WatchProgressBuffer watchProgressBuffer;
+
+        // 오래 시청하지 않은 진도 기준 (일)
+        @Value("${lecture.progress.stale-days:30}")
+        private int defaultStaleDays = 30;
+
+        // 시청 하트비트 버퍼 지표 (대기 건수 / 수신 하트비트 / 일괄 기록 건수)
+        @GetMapping("/progress/watch-buffer")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<Map<String, Object>> getWatchBufferMetrics() {
+            return ResponseEntity.ok(watchProgressBuffer.getMetrics());
+        }
 
         // 전체 진도 현황 (시스템 관리용)
         @GetMapping("/progress")
@@ -191,40 +219,23 @@ public class LectureProgressController {
         }
         
         // 문제되는 수강 상태 조회 (시스템 문제 파악)
+        // 오래 시청하지 않은 진도 (기본 lecture.progress.stale-days 일 이상, 오래된 순 페이징)
+        // 전체 테이블을 읽지 않고 last_watched_at 인덱스로 페이지 크기만큼만 조회
         @GetMapping("/progress/issues")
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<List<AdminLectureProgressDto>> getIssueProgress() {
-            
-            // 오래 시청하지 않은 진도 조회 (30일 이상)
-            List<LectureProgress> issueProgressList = lectureProgressRepository.findAll()
-                .stream()
-                .filter(p -> p.getLastWatchedAt() != null && 
-                           p.getLastWatchedAt().isBefore(java.time.LocalDateTime.now().minusDays(30)))
-                .collect(Collectors.toList());
-            
-            List<AdminLectureProgressDto> issueDtoList = issueProgressList.stream()
-                .map(progress -> {
-                    Enrollment enrollment = progress.getEnrollment();
-                    Lecture lecture = progress.getLecture();
-                    Course course = lecture.getCourse();
-                    Users student = enrollment.getUser();
-                    
-                    return new AdminLectureProgressDto(
-                        progress.getProgressId(),
-                        course.getCourseId(),
-                        course.getTitle(),
-                        lecture.getLectureId(),
-                        lecture.getTitle(),
-                        student.getUserId(),
-                        student.getName(),
-                        progress.getCompletedYn(),
-                        progress.getLastWatchedAt(),
-                        enrollment.getStatus()
-                    );
-                })
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(issueDtoList);
+        public ResponseEntity<Page<AdminLectureProgressDto>> getIssueProgress(
+                @RequestParam(required = false) Integer days,
+                @RequestParam(defaultValue = "0") int page,
+                @RequestParam(defaultValue = "50") int size) {
+
+            // 범위를 벗어난 값은 보정 (days/size 는 1 이상, page 는 0 이상, size 는 최대 MAX_ISSUE_PAGE_SIZE)
+            int staleDays = Math.max(1, days != null ? days : defaultStaleDays);
+            int pageNumber = Math.max(0, page);
+            int pageSize = Math.max(1, Math.min(size, MAX_ISSUE_PAGE_SIZE));
+
+            LocalDateTime before = LocalDateTime.now().minusDays(staleDays);
+            return ResponseEntity.ok(lectureProgressRepository.findStaleProgress(before,
+                    PageRequest.of(pageNumber, pageSize)));
         }
         
         // 특정 학생의 강의 진도 조회 (관리자용)
@@ -0,0 +1,47 @@
+package com.mysite.clover.LectureProgress;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// lecture_progress (수강, 강의) 유니크 키(uk_lecture_progress_enrollment_lecture) 확인
+// - ddl-auto=update 는 기존 데이터에 중복 진도가 있으면 유니크 키 추가에 실패해도 경고만 남기고 기동함
+//   -> 키가 없으면 시청 하트비트 UPSERT 가 매번 새 행을 INSERT 하므로 기동을 멈춤
+// - 중복 진도가 있으면 목록을 메시지에 담음 (정리 후 재기동하면 ddl-auto 가 키를 추가)
+@Component
+@RequiredArgsConstructor
+public class LectureProgressKeyCheck {
+
+  private static final String KEY_NAME = "uk_lecture_progress_enrollment_lecture";
+
+  private static final String KEY_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.statistics "
+      + "WHERE table_schema = DATABASE() AND table_name = 'lecture_progress' AND index_name = ?";
+
+  private static final String DUPLICATES_SQL = "SELECT CONCAT(enrollment_id, '/', lecture_id, ' (', COUNT(*), '건)') "
+      + "FROM lecture_progress GROUP BY enrollment_id, lecture_id HAVING COUNT(*) > 1 "
+      + "ORDER BY enrollment_id, lecture_id LIMIT 20";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void verify() {
+    Integer keys = jdbcTemplate.queryForObject(KEY_EXISTS_SQL, Integer.class, KEY_NAME);
+    if (keys != null && keys > 0) {
+      return;
+    }
+
+    List<String> duplicates = jdbcTemplate.queryForList(DUPLICATES_SQL, String.class);
+    if (duplicates.isEmpty()) {
+      throw new IllegalStateException("lecture_progress 테이블에 " + KEY_NAME
+          + " 유니크 키가 없습니다. (enrollment_id, lecture_id) 유니크 키를 추가한 뒤 다시 기동하세요.");
+    }
+    throw new IllegalStateException("lecture_progress 테이블에 중복 진도가 있어 " + KEY_NAME
+        + " 유니크 키를 추가하지 못했습니다. 중복 진도를 정리한 뒤 다시 기동하세요. 중복 수강/강의(최대 20개): "
+        + String.join(", ", duplicates));
+  }
+}
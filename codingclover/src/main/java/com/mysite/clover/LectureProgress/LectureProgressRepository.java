@@ -1,13 +1,19 @@
 package com.mysite.clover.LectureProgress;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.mysite.clover.Enrollment.Enrollment;
+import com.mysite.clover.Enrollment.EnrollmentStatus;
 import com.mysite.clover.Lecture.Lecture;
 
 public interface LectureProgressRepository extends JpaRepository<LectureProgress, Long> {
@@ -27,6 +33,40 @@ public interface LectureProgressRepository extends JpaRepository<LectureProgress
   // 최근 시청한 강의 조회 (시청 시간 기준 내림차순)
   List<LectureProgress> findByEnrollmentAndLastWatchedAtIsNotNullOrderByLastWatchedAtDesc(Enrollment enrollment);
 
+  // 시청 하트비트 대상 조회 (사용자/강의/수강을 쿼리 한 번으로 확인)
+  @Query("SELECT new com.mysite.clover.LectureProgress.WatchTarget(e.enrollmentId, l.lectureId, l.duration) "
+      + "FROM Lecture l, Enrollment e "
+      + "WHERE l.lectureId = :lectureId AND e.course = l.course AND e.user.loginId = :loginId "
+      + "AND e.status IN :statuses")
+  List<WatchTarget> findWatchTargets(@Param("loginId") String loginId, @Param("lectureId") Long lectureId,
+      @Param("statuses") Collection<EnrollmentStatus> statuses);
+
+  // 기준 시각 이전에 마지막으로 시청한 진도 (관리자 리포트, 오래된 순)
+  // last_watched_at 인덱스 범위 조회 + DTO 프로젝션 (엔티티 / 지연 로딩 없이 페이지 크기만큼만 읽음)
+  @Query(value = "SELECT new com.mysite.clover.LectureProgress.AdminLectureProgressDto("
+      + "p.progressId, c.courseId, c.title, l.lectureId, l.title, u.userId, u.name, "
+      + "p.completedYn, p.lastWatchedAt, e.status) "
+      + "FROM LectureProgress p JOIN p.lecture l JOIN l.course c JOIN p.enrollment e JOIN e.user u "
+      + "WHERE p.lastWatchedAt < :before "
+      + "ORDER BY p.lastWatchedAt ASC, p.progressId ASC",
+      countQuery = "SELECT COUNT(p) FROM LectureProgress p WHERE p.lastWatchedAt < :before")
+  Page<AdminLectureProgressDto> findStaleProgress(@Param("before") LocalDateTime before, Pageable pageable);
+
+  // 진도 행이 없으면 미완료 상태로 생성 (uk_lecture_progress_enrollment_lecture - 동시 요청이어도 한 행만 생김)
+  @Modifying
+  @Query(value = "INSERT INTO lecture_progress (enrollment_id, lecture_id, progress_rate, completed_yn) "
+      + "VALUES (:enrollmentId, :lectureId, 0, FALSE) "
+      + "ON DUPLICATE KEY UPDATE enrollment_id = enrollment_id", nativeQuery = true)
+  int insertIfAbsent(@Param("enrollmentId") Long enrollmentId, @Param("lectureId") Long lectureId);
+
+  // 완료 처리 (아직 미완료인 행만 - 동시에 완료 요청이 와도 한 요청만 1을 받음)
+  @Modifying
+  @Query(value = "UPDATE lecture_progress SET completed_yn = TRUE, progress_rate = 100, last_watched_at = :now "
+      + "WHERE enrollment_id = :enrollmentId AND lecture_id = :lectureId AND completed_yn = FALSE",
+      nativeQuery = true)
+  int markCompleted(@Param("enrollmentId") Long enrollmentId, @Param("lectureId") Long lectureId,
+      @Param("now") LocalDateTime now);
+
   // 강의 삭제 시 해당 강의의 모든 진도 내역 삭제
   void deleteByLecture(Lecture lecture);
 }
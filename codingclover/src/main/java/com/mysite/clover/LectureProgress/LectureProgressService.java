@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mysite.clover.Enrollment.Enrollment;
+import com.mysite.clover.Enrollment.EnrollmentProgressCounter;
 import com.mysite.clover.Lecture.Lecture;
 
 import lombok.RequiredArgsConstructor;
@@ -20,29 +21,24 @@ import lombok.RequiredArgsConstructor;
 public class LectureProgressService {
   
   private final LectureProgressRepository lectureProgressRepository;
+  private final EnrollmentProgressCounter enrollmentProgressCounter;
 
   
   // 강의 완료 처리
+  // 행 보장(UPSERT) 후 미완료인 경우에만 조건부 UPDATE - 동시 완료 요청이 와도 진도 카운터는 한 번만 증가
   @Transactional
   public LectureProgress completeLecture(Enrollment enrollment, Lecture lecture) {
-    Optional<LectureProgress> existingProgress = lectureProgressRepository
-        .findByEnrollmentAndLecture(enrollment, lecture);
-    
-    LectureProgress progress;
-    if (existingProgress.isPresent()) {
-      progress = existingProgress.get();
-    } else {
-      progress = new LectureProgress();
-      progress.setEnrollment(enrollment);
-      progress.setLecture(lecture);
-      progress.setProgressRate(0);
+    Long enrollmentId = enrollment.getEnrollmentId();
+    Long lectureId = lecture.getLectureId();
+
+    lectureProgressRepository.insertIfAbsent(enrollmentId, lectureId);
+    int completed = lectureProgressRepository.markCompleted(enrollmentId, lectureId, LocalDateTime.now());
+
+    // 처음 완료된 강의만 수강 진도 카운터에 반영 (재완료 요청은 갱신된 행이 없음)
+    if (completed == 1) {
+      enrollmentProgressCounter.lectureCompleted(enrollmentId);
     }
-    
-    progress.setCompletedYn(true);
-    progress.setProgressRate(100);
-    progress.setLastWatchedAt(LocalDateTime.now());
-    
-    return lectureProgressRepository.save(progress);
+    return lectureProgressRepository.findByEnrollmentAndLecture(enrollment, lecture).orElseThrow();
   }
 
   // 특정 수강생의 특정 강의 완료 상태 조회
@@ -80,28 +76,6 @@ public class LectureProgressService {
     return completedLectures.size();
   }
 
-  // 강의 시청 기록 업데이트 (완료 처리는 별도)
-  @Transactional
-  public LectureProgress updateLastWatched(Enrollment enrollment, Lecture lecture) {
-    Optional<LectureProgress> existingProgress = lectureProgressRepository
-        .findByEnrollmentAndLecture(enrollment, lecture);
-    
-    LectureProgress progress;
-    if (existingProgress.isPresent()) {
-      progress = existingProgress.get();
-    } else {
-      progress = new LectureProgress();
-      progress.setEnrollment(enrollment);
-      progress.setLecture(lecture);
-      progress.setProgressRate(0);
-      progress.setCompletedYn(false);
-    }
-    
-    progress.setLastWatchedAt(LocalDateTime.now());
-    
-    return lectureProgressRepository.save(progress);
-  }
-
   public Page<AdminLectureProgressDto> getAllProgressForAdmin(Pageable pageable) {
     return lectureProgressRepository.findAll(pageable)
         .map(p -> new AdminLectureProgressDto(
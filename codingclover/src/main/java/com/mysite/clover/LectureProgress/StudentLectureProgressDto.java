@@ -15,4 +15,6 @@ public class StudentLectureProgressDto {
   private Integer orderNo;
   private Boolean completedYn;
   private LocalDateTime lastWatchedAt;
+  private Integer progressRate; // 시청 진도율 (0~100)
+  private Integer lastPositionSeconds; // 이어보기 위치 (초)
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mysite.clover.LectureProgress;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 시청 하트비트 요청 (플레이어가 재생 중 주기적으로 전송)
+@Getter
+@Setter
+@NoArgsConstructor
+public class WatchHeartbeatRequest {
+
+  // 현재 재생 위치 (초)
+  private Integer positionSeconds;
+}
@@ -0,0 +1,346 @@
+package com.mysite.clover.LectureProgress;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mysite.clover.Cache.BoundedCache;
+import com.mysite.clover.Cache.CacheRegistry;
+import com.mysite.clover.Enrollment.EnrollmentCancelledEvent;
+import com.mysite.clover.Enrollment.EnrollmentStatus;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 시청 하트비트 버퍼 (write-behind)
+// - 하트비트는 메모리에서 (수강, 강의) 별로 합쳐 두고, 주기적으로 lecture_progress 에 일괄 UPSERT
+//   -> DB 쓰기 횟수는 플레이어 전송 주기와 무관하게 (수강, 강의) 당 flush 주기마다 최대 1번
+// - 시청 시간은 실제로 재생한 초만 누적 (직전 하트비트 이후 재생 위치 증가분을 경과 시간 * 최대 배속 + 허용 오차 까지만 인정)
+//   -> 배속 시청은 최대 배속까지 그대로 누적, 앞으로 건너뛴 부분 / 되감기는 시청 시간에 들어가지 않음
+//   -> 누적 시청 시간은 영상 길이까지만
+// - 진도율은 누적 시청 시간 / 영상 길이 (완료 처리는 기존 완료 API 에서만 - 완료된 진도는 100 유지)
+// - 사용자/강의/수강 확인은 (로그인 ID, 강의) 별로 캐시 (수강 취소 / 강의 삭제 시 evict)
+// - 일괄 기록이 실패하면 한 건씩 다시 기록 - 수강/강의가 지워진 행(FK 위반)은 버리고 나머지 실패는 다음 flush 에 재시도
+// - 서버가 비정상 종료되면 마지막 flush 이후 하트비트는 유실될 수 있음 (시청 기록이라 허용)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchProgressBuffer {
+
+  // watched_seconds 는 이번 flush 구간의 증가분을 더함 (재시도가 두 번 더하지 않도록 chunk 단위 트랜잭션으로 기록)
+  // progress_rate 는 갱신된 watched_seconds 로 계산 (ON DUPLICATE KEY UPDATE 는 왼쪽부터 적용되므로 순서 유지)
+  private static final String UPSERT_SQL = "INSERT INTO lecture_progress "
+      + "(enrollment_id, lecture_id, progress_rate, completed_yn, last_watched_at, watched_seconds, last_position_seconds) "
+      + "VALUES (?, ?, ?, FALSE, ?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE "
+      + "watched_seconds = LEAST(COALESCE(?, 2147483647), COALESCE(watched_seconds, 0) + VALUES(watched_seconds)), "
+      + "progress_rate = IF(completed_yn, progress_rate, GREATEST(progress_rate, "
+      + "COALESCE(LEAST(100, ROUND(watched_seconds * 100 / NULLIF(?, 0))), 0))), "
+      + "last_position_seconds = COALESCE(VALUES(last_position_seconds), last_position_seconds), "
+      + "last_watched_at = GREATEST(COALESCE(last_watched_at, VALUES(last_watched_at)), VALUES(last_watched_at))";
+
+  private static final List<EnrollmentStatus> WATCHABLE_STATUSES = List.of(EnrollmentStatus.ENROLLED,
+      EnrollmentStatus.COMPLETED);
+
+  private final LectureProgressRepository lectureProgressRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheRegistry cacheRegistry;
+
+  // flush 대기 중인 시청 상태 (수강, 강의) -> 합쳐진 하트비트
+  private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+
+  // (수강, 강의) -> 직전 하트비트의 재생 위치 / 시각 (flush 와 무관하게 유지, 오래된 항목은 flush 때 정리)
+  private final ConcurrentHashMap<Key, Cursor> cursors = new ConcurrentHashMap<>();
+
+  // (로그인 ID, 강의 ID) -> 시청 대상 (수강 ID / 영상 길이)
+  private BoundedCache<String, WatchTarget> targetCache;
+
+  // 이 개수를 넘으면 주기를 기다리지 않고 바로 flush
+  @Value("${lecture.progress.max-pending:20000}")
+  private int maxPending = 20000;
+
+  // 한 번에 보낼 최대 건수
+  @Value("${lecture.progress.batch-size:500}")
+  private int batchSize = 500;
+
+  // 재생 위치 증가분을 시청으로 인정할 때 경과 시간에 더해 주는 허용 오차(초) - 전송 지연 / 타이머 오차
+  @Value("${lecture.progress.tolerance-seconds:5}")
+  private int toleranceSeconds = 5;
+
+  // 재생 위치 증가분을 시청으로 인정하는 최대 재생 배속 (플레이어가 제공하는 최대 배속)
+  @Value("${lecture.progress.max-playback-rate:2.0}")
+  private double maxPlaybackRate = 2.0;
+
+  // 하트비트 간격이 이보다(초) 길면 이어서 본 것으로 보지 않음 (직전 위치만 새로 기록)
+  @Value("${lecture.progress.max-gap-seconds:120}")
+  private int maxGapSeconds = 120;
+
+  // 지표
+  private final AtomicLong heartbeats = new AtomicLong();
+  private final AtomicLong flushedRows = new AtomicLong();
+  private final AtomicLong flushes = new AtomicLong();
+  private final AtomicLong droppedRows = new AtomicLong();
+
+  @PostConstruct
+  void initCache() {
+    targetCache = cacheRegistry.create("watch-target", 10000, Duration.ofMinutes(30));
+  }
+
+  // 하트비트 한 건 반영 (수강 중이 아니면 IllegalStateException)
+  // positionSeconds 가 null 이면 시청 시각만 기록
+  public void heartbeat(String loginId, Long lectureId, Integer positionSeconds) {
+    WatchTarget target = targetCache.get(loginId + ":" + lectureId, () -> lectureProgressRepository
+        .findWatchTargets(loginId, lectureId, WATCHABLE_STATUSES).stream().findFirst().orElse(null));
+    if (target == null) {
+      throw new IllegalStateException("수강 아님");
+    }
+
+    Integer position = positionSeconds;
+    if (position != null) {
+      position = Math.max(0, position);
+      if (target.duration() != null && target.duration() > 0) {
+        position = Math.min(position, target.duration());
+      }
+    }
+
+    Key key = new Key(target.enrollmentId(), target.lectureId());
+    int watched = position != null ? advance(key, position) : 0;
+
+    LocalDateTime now = LocalDateTime.now();
+    Integer reported = position;
+    pending.compute(key,
+        (k, current) -> current == null
+            ? new Pending(target.duration(), cap(watched, target.duration()), reported, now)
+            : current.merge(watched, reported, now));
+    heartbeats.incrementAndGet();
+
+    if (pending.size() >= maxPending) {
+      flush();
+    }
+  }
+
+  // 직전 하트비트 이후 실제로 재생한 초
+  // 재생 위치 증가분을 경과 시간 * 최대 배속 + 허용 오차 까지만 인정 (넘는 부분은 건너뛴 것으로 봄, 되감기 / 끊긴 뒤는 0)
+  private int advance(Key key, int position) {
+    long nowNanos = System.nanoTime();
+    int[] watched = new int[1];
+    cursors.compute(key, (k, previous) -> {
+      if (previous != null) {
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(nowNanos - previous.heartbeatNanos());
+        int delta = position - previous.position();
+        if (elapsedSeconds <= maxGapSeconds && delta > 0) {
+          watched[0] = (int) Math.min(delta, elapsedSeconds * maxPlaybackRate + toleranceSeconds);
+        }
+      }
+      return new Cursor(position, nowNanos);
+    });
+    return watched[0];
+  }
+
+  // 주기적 flush (대기 중인 시청 상태를 lecture_progress 에 일괄 UPSERT)
+  @Scheduled(fixedDelayString = "${lecture.progress.flush-ms:10000}")
+  public synchronized void flush() {
+    removeStaleCursors();
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    // 꺼내는 순간 이후의 하트비트는 새 항목으로 쌓여 다음 flush 에 반영
+    List<Map.Entry<Key, Pending>> rows = new ArrayList<>();
+    for (Key key : pending.keySet()) {
+      Pending state = pending.remove(key);
+      if (state != null) {
+        rows.add(Map.entry(key, state));
+      }
+    }
+
+    long startTime = System.currentTimeMillis();
+    int written = 0;
+    for (int from = 0; from < rows.size(); from += batchSize) {
+      List<Map.Entry<Key, Pending>> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+      try {
+        // chunk 단위 트랜잭션 - 실패하면 chunk 전체가 롤백되므로 한 건씩 다시 기록해도 두 번 더해지지 않음
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, chunk,
+            chunk.size(), (ps, row) -> bind(ps, row.getKey(), row.getValue())));
+        written += chunk.size();
+      } catch (RuntimeException e) {
+        log.warn("시청 진도 일괄 기록 실패 ({}건) - 한 건씩 다시 기록", chunk.size(), e);
+        int retried = retryOneByOne(chunk);
+        if (retried < 0) {
+          // DB 자체를 쓸 수 없는 상태 - 남은 chunk 도 보내지 않고 다음 flush 에 재시도
+          requeue(rows.subList(from + chunk.size(), rows.size()));
+          break;
+        }
+        written += retried;
+      }
+    }
+
+    flushes.incrementAndGet();
+    flushedRows.addAndGet(written);
+    log.debug("시청 진도 일괄 기록 ({}건, 소요: {}ms)", written, System.currentTimeMillis() - startTime);
+  }
+
+  // 한 건씩 기록 - FK 위반(수강/강의 삭제)은 버리고, 그 외 실패는 이 행부터 전부 다시 넣음
+  // 기록한 건수 반환 (그 외 실패로 중단했으면 -1)
+  private int retryOneByOne(List<Map.Entry<Key, Pending>> chunk) {
+    int written = 0;
+    for (int i = 0; i < chunk.size(); i++) {
+      Map.Entry<Key, Pending> row = chunk.get(i);
+      try {
+        jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, row.getKey(), row.getValue()));
+        written++;
+      } catch (DataIntegrityViolationException e) {
+        droppedRows.incrementAndGet();
+        log.warn("시청 진도 기록 불가 - 버림 (enrollmentId: {}, lectureId: {}): {}", row.getKey().enrollmentId(),
+            row.getKey().lectureId(), e.getMostSpecificCause().getMessage());
+      } catch (RuntimeException e) {
+        requeue(chunk.subList(i, chunk.size()));
+        log.error("시청 진도 기록 실패 ({}건, 다음 주기에 재시도)", chunk.size() - i, e);
+        return -1;
+      }
+    }
+    return written;
+  }
+
+  // 실패한 행은 다시 넣어서 다음 flush 에 재시도 (그 사이 들어온 하트비트와 합침)
+  private void requeue(List<Map.Entry<Key, Pending>> rows) {
+    rows.forEach(row -> pending.merge(row.getKey(), row.getValue(), (later, failed) -> failed.combine(later)));
+  }
+
+  private void bind(PreparedStatement ps, Key key, Pending state) throws SQLException {
+    ps.setLong(1, key.enrollmentId());
+    ps.setLong(2, key.lectureId());
+    ps.setInt(3, state.progressRate());
+    ps.setTimestamp(4, Timestamp.valueOf(state.lastWatchedAt()));
+    ps.setInt(5, state.watchedSeconds());
+    if (state.lastPositionSeconds() != null) {
+      ps.setInt(6, state.lastPositionSeconds());
+    } else {
+      ps.setNull(6, Types.INTEGER);
+    }
+    if (state.duration() != null && state.duration() > 0) {
+      ps.setInt(7, state.duration());
+      ps.setInt(8, state.duration());
+    } else {
+      ps.setNull(7, Types.INTEGER);
+      ps.setNull(8, Types.INTEGER);
+    }
+  }
+
+  // 하트비트가 끊긴 (수강, 강의) 의 직전 위치 정리 (다시 오면 처음 하트비트로 취급)
+  private void removeStaleCursors() {
+    long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(maxGapSeconds);
+    cursors.values().removeIf(cursor -> cursor.heartbeatNanos() - cutoff < 0);
+  }
+
+  // 강의 삭제 시 해당 강의의 시청 대상 캐시 / 대기 중인 하트비트 제거 (트랜잭션 안이면 커밋 후에)
+  public void evictLecture(Long lectureId) {
+    String suffix = ":" + lectureId;
+    BoundedCache.afterCommit(() -> {
+      targetCache.invalidateIf((key, target) -> key.endsWith(suffix));
+      pending.keySet().removeIf(key -> key.lectureId().equals(lectureId));
+      cursors.keySet().removeIf(key -> key.lectureId().equals(lectureId));
+    });
+  }
+
+  // 수강 취소 시 해당 수강의 시청 대상 캐시 제거 (트랜잭션 안이면 커밋 후에)
+  public void evictEnrollment(Long enrollmentId) {
+    evictEnrollments(List.of(enrollmentId));
+  }
+
+  // 결제 쪽(환불 승인 / 강좌 일괄 환불)에서 취소된 수강 건 - 발행한 트랜잭션의 커밋 후에 제거
+  @EventListener
+  public void onEnrollmentCancelled(EnrollmentCancelledEvent event) {
+    evictEnrollments(event.enrollmentIds());
+  }
+
+  // 취소된 수강 건들의 시청 대상 캐시 제거 (남아 있으면 TTL 동안 취소된 수강에 하트비트가 계속 기록됨)
+  // 트랜잭션 안이면 커밋 후에 제거
+  public void evictEnrollments(Collection<Long> enrollmentIds) {
+    if (enrollmentIds.isEmpty()) {
+      return;
+    }
+    Set<Long> ids = Set.copyOf(enrollmentIds);
+    BoundedCache.afterCommit(() -> {
+      targetCache.invalidateIf((key, target) -> ids.contains(target.enrollmentId()));
+      cursors.keySet().removeIf(key -> ids.contains(key.enrollmentId()));
+    });
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flush();
+  }
+
+  // 버퍼 지표 (관리자 모니터링용)
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("pending", pending.size());
+    metrics.put("cursors", cursors.size());
+    metrics.put("heartbeats", heartbeats.get());
+    metrics.put("flushes", flushes.get());
+    metrics.put("flushedRows", flushedRows.get());
+    metrics.put("droppedRows", droppedRows.get());
+    return metrics;
+  }
+
+  private static int cap(int seconds, Integer duration) {
+    return duration != null && duration > 0 ? Math.min(seconds, duration) : seconds;
+  }
+
+  private record Key(Long enrollmentId, Long lectureId) {
+  }
+
+  // 직전 하트비트 (재생 위치, System.nanoTime)
+  private record Cursor(int position, long heartbeatNanos) {
+  }
+
+  // 합쳐진 시청 상태 (불변 - compute 안에서 새 값으로 교체)
+  // watchedSeconds 는 마지막 flush 이후 새로 시청한 초 (영상 길이까지만)
+  private record Pending(Integer duration, int watchedSeconds, Integer lastPositionSeconds,
+      LocalDateTime lastWatchedAt) {
+
+    Pending merge(int watched, Integer position, LocalDateTime now) {
+      return new Pending(duration, cap(watchedSeconds + watched, duration),
+          position != null ? position : lastPositionSeconds, now);
+    }
+
+    // 재시도용 - 먼저 쌓인 상태(this)와 그 뒤에 들어온 상태(later)를 합침
+    Pending combine(Pending later) {
+      return new Pending(duration, cap(watchedSeconds + later.watchedSeconds, duration),
+          later.lastPositionSeconds != null ? later.lastPositionSeconds : lastPositionSeconds,
+          later.lastWatchedAt.isAfter(lastWatchedAt) ? later.lastWatchedAt : lastWatchedAt);
+    }
+
+    // 새 행으로 들어갈 때의 진도율 (기존 행이 있으면 SQL 에서 누적 시청 시간으로 다시 계산)
+    int progressRate() {
+      if (duration == null || duration <= 0) {
+        return 0;
+      }
+      return (int) Math.min(100, Math.round(watchedSeconds * 100.0 / duration));
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package com.mysite.clover.LectureProgress;
+
+// 시청 하트비트 대상 (로그인 사용자 + 강의 -> 수강 ID / 영상 길이, 엔티티 대신 필요한 값만 조회)
+public record WatchTarget(Long enrollmentId, Long lectureId, Integer duration) {
+}
@@ -1,8 +1,10 @@
 package com.mysite.clover.Notification;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import com.mysite.clover.Users.UsersRole;
@@ -17,6 +19,11 @@ public class NotificationService {
 
   private final NotificationRepository notificationRepository;
   private final UsersRepository usersRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  private static final String INSERT_SQL = "INSERT INTO notification (user_id, type, title, link_url, created_at) "
+      + "VALUES (?, ?, ?, ?, ?)";
+  private static final int INSERT_BATCH_SIZE = 500;
 
   public void createNotification(Users user, String type, String title, String linkUrl) {
     Notification notification = new Notification();
@@ -75,6 +82,21 @@ public class NotificationService {
     }
   }
 
+  // 같은 알림을 여러 사용자에게 한 번에 전송 (Users 조회 없이 JDBC batch INSERT)
+  public void notifyUserIds(List<Long> userIds, String type, String title, String linkUrl) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(INSERT_SQL, userIds, INSERT_BATCH_SIZE, (ps, userId) -> {
+      ps.setLong(1, userId);
+      ps.setString(2, type);
+      ps.setString(3, title);
+      ps.setString(4, linkUrl);
+      ps.setTimestamp(5, now);
+    });
+  }
+
   public long countUnread(Users user) {
     return notificationRepository.countByUserAndReadAtIsNull(user);
   }
@@ -0,0 +1,106 @@
+package com.mysite.clover.Payment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 API 호출용 간단한 서킷 브레이커
+ * - CLOSED: 정상 호출, 연속 실패가 failureThreshold 회가 되면 OPEN
+ * - OPEN: openMillis 동안 호출하지 않고 바로 실패
+ * - HALF_OPEN: OPEN 시간이 지나면 한 건만 시험 호출, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    // 지표
+    private long successCount;
+    private long failureCount;
+    private long rejectedCount;
+    private long openCount;
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 호출 가능 여부 (false 면 호출하지 말고 바로 실패 처리)
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                rejectedCount++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInProgress) {
+                rejectedCount++;
+                return false;
+            }
+            trialInProgress = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        successCount++;
+        consecutiveFailures = 0;
+        trialInProgress = false;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        failureCount++;
+        consecutiveFailures++;
+        trialInProgress = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            openCount++;
+        }
+    }
+
+    /**
+     * 실패로 세지 않는 결과 (예: 잘못된 요청 4xx) - 시험 호출 중이었다면 정상 응답으로 간주
+     */
+    synchronized void onIgnored() {
+        // 서버는 정상적으로 응답했으므로 연결 상태는 정상
+        consecutiveFailures = 0;
+        trialInProgress = false;
+        state = State.CLOSED;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("state", state.name());
+        metrics.put("consecutiveFailures", consecutiveFailures);
+        metrics.put("failureThreshold", failureThreshold);
+        metrics.put("openMillis", openMillis);
+        metrics.put("successes", successCount);
+        metrics.put("failures", failureCount);
+        metrics.put("rejected", rejectedCount);
+        metrics.put("opened", openCount);
+        return metrics;
+    }
+}
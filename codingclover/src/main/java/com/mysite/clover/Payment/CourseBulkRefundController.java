@@ -0,0 +1,53 @@
+package com.mysite.clover.Payment;
+
+import java.security.Principal;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mysite.clover.Users.Users;
+import com.mysite.clover.Users.UsersRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 강좌 일괄 환불 (관리자용) - 수강 중인 학생 전체 수강 취소 + 학생별 결제 금액 환불
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/payment/course-refunds")
+public class CourseBulkRefundController {
+
+    private final CourseBulkRefundService courseBulkRefundService;
+    private final UsersRepository usersRepository;
+
+    // 일괄 환불 시작 (백그라운드 실행, 작업 ID 반환)
+    @PostMapping("/{courseId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> start(@PathVariable("courseId") Long courseId, Principal principal) {
+        try {
+            Users admin = usersRepository.findByLoginId(principal.getName())
+                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+            return ResponseEntity.accepted().body(courseBulkRefundService.start(courseId, admin.getUserId()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // 진행 상황 (chunk 별 처리 건수 / 실패 사유)
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getJob(@PathVariable("jobId") String jobId) {
+        try {
+            return ResponseEntity.ok(courseBulkRefundService.getJob(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
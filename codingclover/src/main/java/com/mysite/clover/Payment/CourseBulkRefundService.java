@@ -0,0 +1,354 @@
+package com.mysite.clover.Payment;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mysite.clover.Course.Course;
+import com.mysite.clover.Course.CourseCatalog;
+import com.mysite.clover.Course.CourseRepository;
+import com.mysite.clover.Enrollment.EnrollmentCancelledEvent;
+import com.mysite.clover.Notification.NotificationService;
+import com.mysite.clover.Tracing.LogContext;
+import com.mysite.clover.WalletHistory.WalletHistoryService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 강좌 단위 일괄 환불 (관리자 강좌 취소 시 수강 중인 학생 전체에게 실제 결제한 금액만큼 포인트 환불)
+ * - 수강 건을 enrollment_id 순으로 chunk 단위로 끊어서 chunk 마다 트랜잭션 하나로 처리
+ *   (수강 취소 UPDATE 1번 + 결제 batch INSERT + 지갑 batch UPSERT + 히스토리/집계는 커밋 직전 batch)
+ * - 환불 금액은 학생별 강좌 구매 결제(USE / COURSE_{강좌ID}_ 주문번호) 금액 (할인/가격 변경 반영)
+ *   구매 결제가 없는 학생은 수강만 취소하고 환불은 건너뛴 뒤 보고서(skippedUserIds)에 남김
+ * - chunk 커밋 후 공개 강좌 카탈로그 갱신 + 취소된 수강 건의 시청 대상 캐시 제거
+ * - 실패한 chunk 는 롤백 후 기록하고 다음 chunk 계속 진행 (다시 실행하면 남은 ENROLLED 만 처리)
+ * - 알림은 모든 chunk 가 끝난 뒤 환불된 학생에게 한 번에 batch INSERT, 결제 내역 캐시도 한 번만 무효화
+ * - 작업은 백그라운드에서 실행하고 chunk 별 진행 상황은 getJob 으로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseBulkRefundService {
+
+    // 최근 작업 보고서 보관 개수
+    private static final int MAX_JOBS = 20;
+
+    // chunk 대상 수강 건 (처리 중 다른 요청이 같은 수강 건을 취소하지 않도록 잠금)
+    private static final String CHUNK_SQL = "SELECT enrollment_id, user_id FROM enrollment "
+            + "WHERE course_id = ? AND status = 'ENROLLED' AND enrollment_id > ? "
+            + "ORDER BY enrollment_id LIMIT ? FOR UPDATE";
+
+    // chunk 학생들의 강좌 구매 결제 금액 (같은 학생이 여러 번 구매했으면 마지막 결제 - payment_id 순으로 덮어씀)
+    private static final String PAID_AMOUNTS_SQL = "SELECT user_id, amount FROM payment "
+            + "WHERE type = 'USE' AND status = 'PAID' AND order_id LIKE ? AND user_id IN (%s) "
+            + "ORDER BY payment_id";
+
+    private static final String INSERT_PAYMENT_SQL = "INSERT INTO payment "
+            + "(user_id, type, amount, payment_method, status, order_id, paid_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // 지갑이 없는 학생은 환불 금액으로 지갑 생성
+    private static final String UPSERT_WALLET_SQL = "INSERT INTO user_wallet (user_id, balance, updated_at) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance), "
+            + "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseRepository courseRepository;
+    private final PaymentService paymentService;
+    private final PaymentSummaryWriter paymentSummaryWriter;
+    private final WalletHistoryService walletHistoryService;
+    private final NotificationService notificationService;
+    private final CourseCatalog courseCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${payment.bulk-refund.chunk-size:200}")
+    private int chunkSize = 200;
+
+    // 작업 ID -> 보고서 (오래된 작업부터 제거)
+    private final Map<String, Map<String, Object>> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                    return size() > MAX_JOBS;
+                }
+            });
+
+    // 일괄 환불은 한 번에 하나씩 (같은 강좌를 동시에 돌려도 잠금으로 막히지만 DB 부하를 나누지 않도록)
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "course-bulk-refund");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 일괄 환불 시작 (백그라운드 실행)
+     * @param courseId 강좌 ID
+     * @param adminId 취소 처리자 (enrollment.cancelled_by)
+     * @return 작업 ID 가 담긴 초기 보고서
+     */
+    public Map<String, Object> start(Long courseId, Long adminId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 강좌입니다: " + courseId));
+
+        String jobId = UUID.randomUUID().toString();
+        Map<String, Object> report = Collections.synchronizedMap(new LinkedHashMap<>());
+        report.put("jobId", jobId);
+        report.put("courseId", courseId);
+        report.put("status", "QUEUED");
+        report.put("refunded", 0);
+        report.put("refundedAmount", 0L);
+        report.put("skipped", 0);
+        report.put("skippedUserIds", List.of());
+        report.put("failedChunks", 0);
+        report.put("chunks", Collections.synchronizedList(new ArrayList<Map<String, Object>>()));
+        jobs.put(jobId, report);
+
+        executor.submit(() -> run(course.getCourseId(), course.getTitle(), adminId, report));
+        return snapshot(report);
+    }
+
+    /**
+     * 작업 진행 상황 (chunk 별 처리 건수 / 실패 사유)
+     */
+    public Map<String, Object> getJob(String jobId) {
+        Map<String, Object> report = jobs.get(jobId);
+        if (report == null) {
+            throw new IllegalArgumentException("존재하지 않는 작업입니다: " + jobId);
+        }
+        return snapshot(report);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> snapshot(Map<String, Object> report) {
+        synchronized (report) {
+            Map<String, Object> copy = new LinkedHashMap<>(report);
+            List<Map<String, Object>> chunks = (List<Map<String, Object>>) report.get("chunks");
+            synchronized (chunks) {
+                copy.put("chunks", List.copyOf(chunks));
+            }
+            return copy;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(Long courseId, String courseTitle, Long adminId, Map<String, Object> report) {
+        try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, adminId)) {
+            long startTime = System.currentTimeMillis();
+            report.put("status", "RUNNING");
+            report.put("startedAt", LocalDateTime.now());
+            log.info("강좌 일괄 환불 시작 (강좌 ID: {})", courseId);
+
+            List<Map<String, Object>> chunks = (List<Map<String, Object>>) report.get("chunks");
+            List<Long> refundedUserIds = new ArrayList<>();
+            List<Long> skippedUserIds = new ArrayList<>();
+            long refundedAmount = 0;
+            long lastEnrollmentId = 0;
+            int failedChunks = 0;
+
+            while (true) {
+                long chunkStart = System.currentTimeMillis();
+                long fromEnrollmentId = lastEnrollmentId;
+                Map<String, Object> chunk = new LinkedHashMap<>();
+                chunk.put("index", chunks.size());
+                chunk.put("afterEnrollmentId", fromEnrollmentId);
+
+                ChunkResult result;
+                try {
+                    result = transactionTemplate.execute(
+                            status -> refundChunk(courseId, fromEnrollmentId, adminId));
+                } catch (RuntimeException e) {
+                    // 실패한 chunk 는 롤백됨 - 건너뛸 위치를 알기 위해 잠금 없이 범위만 다시 조회
+                    Long skipTo = jdbcTemplate.queryForObject("SELECT MAX(enrollment_id) FROM (SELECT enrollment_id "
+                            + "FROM enrollment WHERE course_id = ? AND status = 'ENROLLED' AND enrollment_id > ? "
+                            + "ORDER BY enrollment_id LIMIT ?) c", Long.class, courseId, fromEnrollmentId, chunkSize);
+                    failedChunks++;
+                    chunk.put("status", "FAILED");
+                    chunk.put("error", e.getMessage());
+                    chunk.put("elapsedMillis", System.currentTimeMillis() - chunkStart);
+                    chunks.add(chunk);
+                    report.put("failedChunks", failedChunks);
+                    log.error("강좌 일괄 환불 chunk 실패 (강좌 ID: {}, enrollment_id > {})", courseId, fromEnrollmentId, e);
+                    if (skipTo == null) {
+                        break;
+                    }
+                    lastEnrollmentId = skipTo;
+                    continue;
+                }
+
+                if (result.isEmpty()) {
+                    break;
+                }
+                refundedUserIds.addAll(result.refundedUserIds());
+                skippedUserIds.addAll(result.skippedUserIds());
+                refundedAmount += result.refundedAmount();
+                lastEnrollmentId = result.lastEnrollmentId();
+
+                chunk.put("status", "COMPLETED");
+                chunk.put("refunded", result.refundedUserIds().size());
+                chunk.put("refundedAmount", result.refundedAmount());
+                chunk.put("skipped", result.skippedUserIds().size());
+                chunk.put("lastEnrollmentId", lastEnrollmentId);
+                chunk.put("elapsedMillis", System.currentTimeMillis() - chunkStart);
+                chunks.add(chunk);
+                report.put("refunded", refundedUserIds.size());
+                report.put("refundedAmount", refundedAmount);
+                report.put("skipped", skippedUserIds.size());
+                report.put("skippedUserIds", List.copyOf(skippedUserIds));
+            }
+
+            // 알림은 한 번에 (환불은 이미 커밋됐으므로 알림 실패는 기록만)
+            // 학생마다 환불 금액이 다르므로 금액은 빼고 포인트 내역에서 확인하도록 안내
+            try {
+                notificationService.notifyUserIds(refundedUserIds, "REFUND_COMPLETED",
+                        "취소 - 수강취소 (" + courseTitle + ") - 결제하신 포인트 환불이 완료되었습니다.",
+                        "/student/points");
+                report.put("notified", refundedUserIds.size());
+            } catch (RuntimeException e) {
+                report.put("notificationError", e.getMessage());
+                log.warn("강좌 일괄 환불 알림 전송 실패 (강좌 ID: {})", courseId, e);
+            }
+            paymentService.invalidateCache();
+
+            long elapsedMillis = System.currentTimeMillis() - startTime;
+            report.put("elapsedMillis", elapsedMillis);
+            report.put("status", failedChunks == 0 ? "COMPLETED" : "COMPLETED_WITH_ERRORS");
+            log.info("강좌 일괄 환불 완료 (강좌 ID: {}, 환불: {}명 / {}P, 결제 없음: {}명, 실패 chunk: {}, 소요: {}ms)",
+                    courseId, refundedUserIds.size(), refundedAmount, skippedUserIds.size(), failedChunks,
+                    elapsedMillis);
+        } catch (RuntimeException e) {
+            report.put("status", "FAILED");
+            report.put("error", e.getMessage());
+            log.error("강좌 일괄 환불 실패 (강좌 ID: {})", courseId, e);
+        }
+    }
+
+    // chunk 하나 환불 (호출한 쪽 트랜잭션 안에서 실행)
+    private ChunkResult refundChunk(Long courseId, long afterEnrollmentId, Long adminId) {
+        List<Long> enrollmentIds = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            enrollmentIds.add(rs.getLong("enrollment_id"));
+            userIds.add(rs.getLong("user_id"));
+        }, courseId, afterEnrollmentId, chunkSize);
+        if (enrollmentIds.isEmpty()) {
+            return new ChunkResult(List.of(), List.of(), 0, afterEnrollmentId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+
+        // 1. 수강 취소 (UPDATE 한 번)
+        String placeholders = String.join(",", Collections.nCopies(enrollmentIds.size(), "?"));
+        List<Object> params = new ArrayList<>();
+        params.add(adminId);
+        params.add(nowTs);
+        params.addAll(enrollmentIds);
+        jdbcTemplate.update("UPDATE enrollment SET status = 'CANCELLED', cancelled_by = ?, cancelled_at = ? "
+                + "WHERE enrollment_id IN (" + placeholders + ")", params.toArray());
+
+        // 커밋 후 캐시 정리 (카탈로그 갱신, 취소된 수강 건으로 하트비트가 기록되지 않도록 시청 대상 제거)
+        courseCatalog.refreshAfterCommit(courseId);
+        eventPublisher.publishEvent(new EnrollmentCancelledEvent(enrollmentIds));
+
+        // 2. 학생별 실제 결제 금액 (구매 결제가 없으면 환불 없이 건너뜀)
+        Map<Long, Integer> paidAmounts = new HashMap<>();
+        List<Object> amountParams = new ArrayList<>();
+        amountParams.add("COURSE\\_" + courseId + "\\_%");
+        amountParams.addAll(userIds);
+        jdbcTemplate.query(String.format(PAID_AMOUNTS_SQL, placeholders), rs -> {
+            paidAmounts.put(rs.getLong("user_id"), rs.getInt("amount"));
+        }, amountParams.toArray());
+
+        List<Long> skippedUserIds = new ArrayList<>();
+        List<Payment> payments = new ArrayList<>(userIds.size());
+        long refundedAmount = 0;
+        for (Long userId : userIds) {
+            Integer amount = paidAmounts.get(userId);
+            if (amount == null || amount <= 0) {
+                skippedUserIds.add(userId);
+                continue;
+            }
+            refundedAmount += amount;
+
+            // 환불 결제 기록 (processCourseCancelRefund 와 같은 형태 - CHARGE / POINT / COURSE_CANCEL_ 주문번호)
+            Payment payment = new Payment();
+            payment.setUserId(userId);
+            payment.setType(PaymentType.CHARGE);
+            payment.setAmount(amount);
+            payment.setPaymentMethod("POINT");
+            payment.setStatus(PaymentStatus.PAID);
+            payment.setOrderId(PaymentService.newOrderId("COURSE_CANCEL_" + courseId));
+            payment.setPaidAt(now);
+            payments.add(payment);
+        }
+        if (payments.isEmpty()) {
+            return new ChunkResult(List.of(), skippedUserIds, 0, enrollmentIds.get(enrollmentIds.size() - 1));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, payments, payments.size(), (ps, payment) -> {
+            ps.setLong(1, payment.getUserId());
+            ps.setString(2, payment.getType().name());
+            ps.setInt(3, payment.getAmount());
+            ps.setString(4, payment.getPaymentMethod());
+            ps.setString(5, payment.getStatus().name());
+            ps.setString(6, payment.getOrderId());
+            ps.setTimestamp(7, nowTs);
+        });
+
+        // batch INSERT 는 생성된 키를 돌려주지 않으므로 주문번호로 한 번에 조회 (order_id 유니크)
+        Map<String, Long> paymentIds = new HashMap<>();
+        String orderPlaceholders = String.join(",", Collections.nCopies(payments.size(), "?"));
+        jdbcTemplate.query("SELECT payment_id, order_id FROM payment WHERE order_id IN (" + orderPlaceholders + ")",
+                rs -> {
+                    paymentIds.put(rs.getString("order_id"), rs.getLong("payment_id"));
+                }, payments.stream().map(Payment::getOrderId).toArray());
+
+        // 3. 지갑 잔액 증가 (batch UPSERT)
+        jdbcTemplate.batchUpdate(UPSERT_WALLET_SQL, payments, payments.size(), (ps, payment) -> {
+            ps.setLong(1, payment.getUserId());
+            ps.setInt(2, payment.getAmount());
+            ps.setTimestamp(3, nowTs);
+        });
+
+        // 4. 지갑 히스토리 / 결제 집계 (둘 다 커밋 직전에 batch 로 기록됨)
+        List<Long> refundedUserIds = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            payment.setPaymentId(paymentIds.get(payment.getOrderId()));
+            walletHistoryService.recordCharge(payment.getUserId(), payment.getAmount(), payment.getPaymentId());
+            paymentSummaryWriter.recordCreated(payment);
+            refundedUserIds.add(payment.getUserId());
+        }
+
+        return new ChunkResult(refundedUserIds, skippedUserIds, refundedAmount,
+                enrollmentIds.get(enrollmentIds.size() - 1));
+    }
+
+    private record ChunkResult(List<Long> refundedUserIds, List<Long> skippedUserIds, long refundedAmount,
+            long lastEnrollmentId) {
+
+        boolean isEmpty() {
+            return refundedUserIds.isEmpty() && skippedUserIds.isEmpty();
+        }
+    }
+}
@@ -9,7 +9,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
@@ -17,7 +19,13 @@ import org.hibernate.annotations.CreationTimestamp;
 @Getter
 @Setter
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", indexes = {
+        // 관리자 결제 내역 최신순 / 커서 페이징용
+        @Index(name = "idx_payment_paid_at", columnList = "paid_at, payment_id")
+}, uniqueConstraints = {
+        // 같은 주문번호로 결제가 두 번 저장되지 않도록 (결제 승인 중복 방지)
+        @UniqueConstraint(name = "uk_payment_order_id", columnNames = "order_id")
+})
 public class Payment {
 
     @Id
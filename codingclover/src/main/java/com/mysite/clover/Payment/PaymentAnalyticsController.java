@@ -0,0 +1,51 @@
+package com.mysite.clover.Payment;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 결제 통계 (관리자용) - 일별/월별 충전·사용·환불 합계
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/payment/analytics")
+public class PaymentAnalyticsController {
+
+    private final PaymentAnalyticsService paymentAnalyticsService;
+
+    // 기간별 유형/상태 합계 (기본: 최근 30일, 일별)
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAILY") PaymentAnalyticsService.Period period) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        try {
+            return ResponseEntity.ok(paymentAnalyticsService.getSummary(start, end, period));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // 집계 재계산 (기간 생략 시 전체 결제 기간 - 최초 백필용)
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(paymentAnalyticsService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,166 @@
+package com.mysite.clover.Payment;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 결제 통계 (관리자용)
+ * - payment_daily_summary (일별 x 유형 x 상태) 만 읽으므로 조회 비용은 결제 건수가 아니라 기간(일수)에 비례
+ * - 월별은 일별 집계를 합산
+ * - rebuild 는 payment 원본에서 기간 내 집계를 다시 계산 (백필 / 증감 누락 보정)
+ *   오늘 집계는 결제마다 커밋 직전 UPSERT 가 계속 들어오므로 지운 뒤 다시 넣는 동안 증감이 섞일 수 있음
+ *   -> 이미 끝난 날(어제까지)만 다시 계산
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentAnalyticsService {
+
+    public enum Period {
+        DAILY, MONTHLY
+    }
+
+    private static final String DELETE_RANGE_SQL = "DELETE FROM payment_daily_summary "
+            + "WHERE summary_date BETWEEN ? AND ?";
+
+    private static final String REBUILD_RANGE_SQL = "INSERT INTO payment_daily_summary "
+            + "(summary_date, type, status, payment_count, total_amount, updated_at) "
+            + "SELECT DATE(paid_at), type, status, COUNT(*), COALESCE(SUM(amount), 0), ? "
+            + "FROM payment WHERE paid_at >= ? AND paid_at < ? "
+            + "GROUP BY DATE(paid_at), type, status";
+
+    private static final String PAYMENT_DATE_RANGE_SQL = "SELECT MIN(paid_at), MAX(paid_at) FROM payment";
+
+    private final PaymentDailySummaryRepository paymentDailySummaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 주기 실행 시 다시 계산할 최근 일수 (어제부터, 오늘 제외)
+    @Value("${payment.summary.rebuild-days:2}")
+    private int rebuildDays = 2;
+
+    /**
+     * 기간별 결제 통계
+     * @param from 시작일 (포함)
+     * @param to 종료일 (포함)
+     * @param period DAILY 또는 MONTHLY
+     * @return rows (기간, 유형, 상태별 건수/금액) + totals (전체 기간 유형/상태별 합계)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSummary(LocalDate from, LocalDate to, Period period) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다: " + from + " > " + to);
+        }
+
+        Map<String, Map<String, Object>> rows = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> totals = new LinkedHashMap<>();
+
+        for (PaymentDailySummary summary : paymentDailySummaryRepository
+                .findBySummaryDateBetweenOrderBySummaryDateAsc(from, to)) {
+            String bucket = period == Period.MONTHLY
+                    ? YearMonth.from(summary.getSummaryDate()).toString()
+                    : summary.getSummaryDate().toString();
+
+            accumulate(rows, bucket, summary);
+            accumulate(totals, null, summary);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("period", period.name());
+        result.put("rows", new ArrayList<>(rows.values()));
+        result.put("totals", new ArrayList<>(totals.values()));
+        return result;
+    }
+
+    // (기간, 유형, 상태) 별로 건수/금액 합산 (bucket 이 null 이면 전체 기간 합계)
+    private void accumulate(Map<String, Map<String, Object>> target, String bucket, PaymentDailySummary summary) {
+        String key = bucket + "|" + summary.getType() + "|" + summary.getStatus();
+        Map<String, Object> row = target.computeIfAbsent(key, k -> {
+            Map<String, Object> newRow = new LinkedHashMap<>();
+            if (bucket != null) {
+                newRow.put("period", bucket);
+            }
+            newRow.put("type", summary.getType());
+            newRow.put("status", summary.getStatus());
+            newRow.put("count", 0L);
+            newRow.put("amount", 0L);
+            return newRow;
+        });
+        row.put("count", (Long) row.get("count") + summary.getPaymentCount());
+        row.put("amount", (Long) row.get("amount") + summary.getTotalAmount());
+    }
+
+    /**
+     * 기간 내 일별 집계를 payment 원본에서 다시 계산 (종료일은 어제까지로 제한)
+     * @param from 시작일 (null 이면 가장 오래된 결제일)
+     * @param to 종료일 (null 이면 가장 최근 결제일)
+     * @return 기간, 생성된 집계 행 수
+     */
+    @Transactional
+    public Map<String, Object> rebuild(LocalDate from, LocalDate to) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (from == null || to == null) {
+            LocalDate[] range = jdbcTemplate.queryForObject(PAYMENT_DATE_RANGE_SQL, (rs, rowNum) -> {
+                Timestamp first = rs.getTimestamp(1);
+                Timestamp last = rs.getTimestamp(2);
+                if (first == null) {
+                    return null; // 결제 없음
+                }
+                return new LocalDate[] { first.toLocalDateTime().toLocalDate(), last.toLocalDateTime().toLocalDate() };
+            });
+            if (range == null) {
+                return Map.of("rows", 0);
+            }
+            from = from != null ? from : range[0];
+            to = to != null ? to : range[1];
+        }
+        if (to.isAfter(yesterday)) {
+            to = yesterday;
+        }
+        if (from.isAfter(to)) {
+            return Map.of("rows", 0); // 오늘 이후만 요청한 경우 - 다시 계산할 끝난 날이 없음
+        }
+
+        long startTime = System.currentTimeMillis();
+        jdbcTemplate.update(DELETE_RANGE_SQL, Date.valueOf(from), Date.valueOf(to));
+        int rows = jdbcTemplate.update(REBUILD_RANGE_SQL,
+                Timestamp.valueOf(LocalDateTime.now()),
+                Timestamp.valueOf(from.atStartOfDay()),
+                Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+
+        log.info("결제 집계 재계산 완료 (기간: {} ~ {}, 행: {}, 소요: {}ms)", from, to, rows,
+                System.currentTimeMillis() - startTime);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("rows", rows);
+        return result;
+    }
+
+    /**
+     * 최근 며칠치(어제까지) 집계 재계산 (주기 실행 - 증감 반영이 빠진 경우 보정)
+     */
+    @Scheduled(cron = "${payment.summary.rebuild-cron:0 15 3 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(Math.max(rebuildDays, 1)), today.minusDays(1));
+    }
+}
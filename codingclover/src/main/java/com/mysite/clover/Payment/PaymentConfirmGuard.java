@@ -0,0 +1,141 @@
+package com.mysite.clover.Payment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.mysite.clover.Cache.BoundedCache;
+import com.mysite.clover.Cache.CacheRegistry;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문번호(orderId) 기준 결제 승인 중복 방지
+ * - 이미 처리된 주문번호면 저장된 결제를 그대로 반환 (토스 재호출 / 중복 저장 없음)
+ * - 같은 주문번호로 동시에 들어온 요청은 먼저 들어온 요청의 결과를 기다림
+ * - 다른 서버에서 먼저 저장한 경우는 order_id 유니크 제약으로 막고 저장된 결제를 반환
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentConfirmGuard {
+
+    private final PaymentRepository paymentRepository;
+    private final CacheRegistry cacheRegistry;
+
+    // 먼저 들어온 요청이 처리 중인 주문번호 -> 처리 결과
+    private final ConcurrentHashMap<String, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
+
+    // 처리 완료된 주문번호 -> 결제 (재시도는 DB 조회 없이 캐시에서 반환)
+    private BoundedCache<String, Payment> confirmedCache;
+
+    // 먼저 들어온 요청을 기다리는 최대 시간 (토스 호출 전체 대기 시간보다 길게)
+    @Value("${payment.confirm.wait-timeout-ms:60000}")
+    private long waitTimeoutMs = 60000;
+
+    // 지표
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    @PostConstruct
+    void initCache() {
+        confirmedCache = cacheRegistry.create("payment-by-order", 1000, Duration.ofMinutes(10));
+    }
+
+    /**
+     * 주문번호당 confirm 을 한 번만 실행
+     * @param orderId 주문번호
+     * @param confirm 실제 승인 + 저장 (처음 들어온 요청에서만 실행)
+     * @return 새로 저장된 결제 또는 이미 저장돼 있던 결제
+     */
+    public Payment confirmOnce(String orderId, Supplier<Payment> confirm) {
+        // 1. 이미 처리된 주문번호면 저장된 결과 반환
+        Payment confirmed = findConfirmed(orderId);
+        if (confirmed != null) {
+            replayed.incrementAndGet();
+            return confirmed;
+        }
+
+        // 2. 같은 주문번호를 처리 중인 요청이 있으면 그 결과를 기다림
+        CompletableFuture<Payment> future = new CompletableFuture<>();
+        CompletableFuture<Payment> running = inFlight.putIfAbsent(orderId, future);
+        if (running != null) {
+            joined.incrementAndGet();
+            return await(orderId, running);
+        }
+
+        try {
+            // 3. 1번 확인 후 선점 전에 다른 요청이 끝냈을 수 있으므로 다시 확인
+            Payment payment = paymentRepository.findByOrderId(orderId).orElse(null);
+            if (payment != null) {
+                replayed.incrementAndGet();
+            } else {
+                executed.incrementAndGet();
+                payment = confirm.get();
+            }
+            confirmedCache.put(orderId, payment);
+            future.complete(payment);
+            return payment;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 주문번호로 먼저 저장함 (유니크 제약 위반) -> 저장된 결제 반환
+            conflicts.incrementAndGet();
+            Payment payment = paymentRepository.findByOrderId(orderId).orElseThrow(() -> e);
+            confirmedCache.put(orderId, payment);
+            future.complete(payment);
+            return payment;
+        } catch (RuntimeException e) {
+            // 실패는 캐시하지 않음 (기다리던 요청만 같은 실패를 받고, 이후 재시도는 다시 승인 시도)
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(orderId, future);
+        }
+    }
+
+    private Payment findConfirmed(String orderId) {
+        return confirmedCache.get(orderId, () -> paymentRepository.findByOrderId(orderId).orElse(null));
+    }
+
+    private Payment await(String orderId, CompletableFuture<Payment> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Payment confirmation failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("같은 주문번호의 결제가 아직 처리 중입니다. 잠시 후 다시 시도해주세요. (orderId: "
+                    + orderId + ")");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Payment confirmation interrupted: " + orderId, e);
+        }
+    }
+
+    /**
+     * 중복 방지 지표 (관리자 모니터링용)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("executed", executed.get());
+        metrics.put("replayed", replayed.get());
+        metrics.put("joined", joined.get());
+        metrics.put("conflicts", conflicts.get());
+        return metrics;
+    }
+}
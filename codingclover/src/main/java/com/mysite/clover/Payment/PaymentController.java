@@ -1,10 +1,13 @@
 package com.mysite.clover.Payment;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -29,6 +32,8 @@ public class PaymentController {
     private final PaymentService paymentService;
     private final UsersRepository usersRepository;
     private final WalletIntegrationService walletIntegrationService;
+    private final TossPaymentsClient tossPaymentsClient;
+    private final PaymentConfirmGuard paymentConfirmGuard;
 
     /**
      * 토스페이먼츠 결제 확인 (결제 승인)
@@ -292,6 +297,46 @@ public class PaymentController {
         }
     }
 
+    /**
+     * 전체 결제 내역 조회 (관리자용) - 커서 페이징
+     * 응답의 nextCursorPaidAt / nextCursorId 를 다음 요청의 cursorPaidAt / cursorId 로 전달
+     */
+    @GetMapping("/admin/payments/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPaymentsByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorPaidAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            // 한 번에 가져오는 건수는 최대 200건
+            int pageSize = Math.max(1, Math.min(size, 200));
+
+            return ResponseEntity.ok().body(paymentService.getPaymentsByCursor(cursorPaidAt, cursorId, pageSize));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "message", "전체 결제 내역 조회 실패: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * 토스 결제 승인 클라이언트 상태 (서킷 브레이커 상태, 성공/실패/차단 횟수)
+     */
+    @GetMapping("/admin/toss-client")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getTossClientMetrics() {
+        return ResponseEntity.ok().body(tossPaymentsClient.getMetrics());
+    }
+
+    /**
+     * 결제 승인 중복 방지 상태 (실제 승인 / 저장된 결과 반환 / 동시 요청 대기 횟수)
+     */
+    @GetMapping("/admin/confirm-guard")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getConfirmGuardMetrics() {
+        return ResponseEntity.ok().body(paymentConfirmGuard.getMetrics());
+    }
+
     /**
      * Principal에서 사용자 ID 추출
      */
@@ -0,0 +1,54 @@
+package com.mysite.clover.Payment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 결제 일별 집계 (결제일 + 유형 + 상태별 건수/금액)
+ * 결제 저장/상태 변경 시 증감분을 반영하고, PaymentAnalyticsService.rebuild 로 원본에서 다시 계산
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "payment_daily_summary", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_daily_summary", columnNames = { "summary_date", "type", "status" })
+})
+public class PaymentDailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "summary_id")
+    private Long summaryId;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private PaymentType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PaymentStatus status;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.mysite.clover.Payment;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentDailySummaryRepository extends JpaRepository<PaymentDailySummary, Long> {
+
+    // 기간 내 일별 집계 (유니크 인덱스 앞부분이 summary_date 라 범위 조회)
+    List<PaymentDailySummary> findBySummaryDateBetweenOrderBySummaryDateAsc(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,48 @@
+package com.mysite.clover.Payment;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * payment.order_id 유니크 키(uk_payment_order_id) 확인
+ * - ddl-auto=update 는 기존 데이터에 중복 주문번호가 있으면 유니크 키 추가에 실패해도 경고만 남기고 기동함
+ *   -> 키가 없으면 결제 승인 중복 방지가 DB 에서 보장되지 않으므로 기동을 멈춤
+ * - 중복 주문번호가 있으면 목록을 메시지에 담음 (정리 후 재기동하면 ddl-auto 가 키를 추가)
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentOrderIdKeyCheck {
+
+    private static final String KEY_NAME = "uk_payment_order_id";
+
+    private static final String KEY_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.statistics "
+            + "WHERE table_schema = DATABASE() AND table_name = 'payment' AND index_name = ?";
+
+    private static final String DUPLICATES_SQL = "SELECT CONCAT(order_id, ' (', COUNT(*), '건)') FROM payment "
+            + "WHERE order_id IS NOT NULL GROUP BY order_id HAVING COUNT(*) > 1 ORDER BY order_id LIMIT 20";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        Integer keys = jdbcTemplate.queryForObject(KEY_EXISTS_SQL, Integer.class, KEY_NAME);
+        if (keys != null && keys > 0) {
+            return;
+        }
+
+        List<String> duplicates = jdbcTemplate.queryForList(DUPLICATES_SQL, String.class);
+        if (duplicates.isEmpty()) {
+            throw new IllegalStateException("payment 테이블에 " + KEY_NAME
+                    + " 유니크 키가 없습니다. (order_id) 유니크 키를 추가한 뒤 다시 기동하세요.");
+        }
+        throw new IllegalStateException("payment 테이블에 중복 주문번호가 있어 " + KEY_NAME
+                + " 유니크 키를 추가하지 못했습니다. 중복 결제를 정리한 뒤 다시 기동하세요. 중복 주문번호(최대 20개): "
+                + String.join(", ", duplicates));
+    }
+}
@@ -1,6 +1,12 @@
 package com.mysite.clover.Payment;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +31,19 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     // 전체 결제 내역 조회 (최신순) - 관리자용
     List<Payment> findAllByOrderByPaidAtDesc();
+
+    // 전체 결제 내역 + 회원 정보 (관리자용) - 회원 조회를 조인 한 번으로 처리 (탈퇴회원은 이름/아이디 null)
+    @Query("SELECT new com.mysite.clover.Payment.PaymentWithUserDto(p, u.name, u.loginId) " +
+            "FROM Payment p LEFT JOIN Users u ON u.userId = p.userId " +
+            "ORDER BY p.paidAt DESC, p.paymentId DESC")
+    List<PaymentWithUserDto> findAllWithUser(Pageable pageable);
+
+    // 전체 결제 내역 + 회원 정보 (관리자용) - 커서(paidAt, paymentId) 이후 페이지, OFFSET 없이 인덱스 범위 조회
+    @Query("SELECT new com.mysite.clover.Payment.PaymentWithUserDto(p, u.name, u.loginId) " +
+            "FROM Payment p LEFT JOIN Users u ON u.userId = p.userId " +
+            "WHERE p.paidAt < :paidAt OR (p.paidAt = :paidAt AND p.paymentId < :paymentId) " +
+            "ORDER BY p.paidAt DESC, p.paymentId DESC")
+    List<PaymentWithUserDto> findAllWithUserBefore(@Param("paidAt") LocalDateTime paidAt,
+            @Param("paymentId") Long paymentId, Limit limit);
+
 }
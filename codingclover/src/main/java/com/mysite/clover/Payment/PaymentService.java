@@ -1,29 +1,33 @@
 package com.mysite.clover.Payment;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.mysite.clover.Cache.BoundedCache;
+import com.mysite.clover.Cache.CacheRegistry;
+import com.mysite.clover.Enrollment.EnrollmentCancelledEvent;
+import com.mysite.clover.Tracing.LogContext;
+import com.mysite.clover.Tracing.SpanRecorder;
 import com.mysite.clover.Users.UsersRepository;
+import com.mysite.clover.UserWallet.InsufficientPointsException;
 import com.mysite.clover.UserWallet.WalletIntegrationService;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.time.LocalDateTime;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
@@ -34,84 +38,87 @@ public class PaymentService {
     private final com.mysite.clover.Enrollment.EnrollmentRepository enrollmentRepository;
     private final com.mysite.clover.Notification.NotificationService notificationService;
 
-    // 간단한 메모리 캐시 (5분)
-    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION_MINUTES = 5;
+    private final CacheRegistry cacheRegistry;
+    private final TossPaymentsClient tossPaymentsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentConfirmGuard paymentConfirmGuard;
+    private final PaymentSummaryWriter paymentSummaryWriter;
+    private final SpanRecorder spanRecorder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static class CacheEntry {
-        final List<PaymentWithUserDto> data;
-        final LocalDateTime timestamp;
+    // 관리자 결제 내역 페이지 캐시 (키: page_size, 5분)
+    private BoundedCache<String, List<PaymentWithUserDto>> paymentListCache;
 
-        CacheEntry(List<PaymentWithUserDto> data) {
-            this.data = data;
-            this.timestamp = LocalDateTime.now();
-        }
-
-        boolean isExpired() {
-            return LocalDateTime.now().isAfter(timestamp.plusMinutes(CACHE_DURATION_MINUTES));
-        }
+    @PostConstruct
+    void initCache() {
+        paymentListCache = cacheRegistry.create("payment-list", 100, Duration.ofMinutes(5));
     }
 
-    @Value("${toss.payments.secret-key}")
-    private String tossSecretKey;
-
-    @Value("${toss.payments.confirm-url}")
-    private String tossConfirmUrl;
-
     /**
      * 토스페이먼츠 결제 승인 및 Payment 엔티티 생성
+     * 토스 API 호출은 트랜잭션 밖에서 처리 (외부 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않도록)
+     * 같은 orderId 로 다시 호출하면 토스 재호출 없이 저장된 결제를 반환
      */
-    @Transactional
     public Payment confirmPayment(String orderId, String paymentKey, Integer amount, Long userId) {
-
-        // 1. 토스페이먼츠 API 호출해서 결제 승인 요청
-        confirmTossPayment(paymentKey, orderId, amount);
-
-        // 2. 유저 존재 여부 확인
-        if (!usersRepository.existsById(userId)) {
-            throw new RuntimeException("User not found: " + userId);
-        }
-
-        // 3. Payment 엔티티 생성 및 저장
-        Payment payment = new Payment();
-        payment.setUserId(userId);
-        payment.setType(PaymentType.CHARGE);
-        payment.setAmount(amount);
-        payment.setPaymentMethod("TOSS_CARD");
-        payment.setStatus(PaymentStatus.PAID);
-        payment.setOrderId(orderId);
-        payment.setPaymentKey(paymentKey);
-
-        Payment savedPayment = paymentRepository.save(payment);
-        invalidateCache(); // 캐시 무효화
-        return savedPayment;
+        return confirmTossCharge(orderId, paymentKey, amount, userId, "TOSS_CARD");
     }
 
     /**
      * 포인트 충전 (토스페이먼츠)
+     * 토스 API 호출은 트랜잭션 밖에서 처리 (외부 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않도록)
+     * 같은 orderId 로 다시 호출하면 토스 재호출 없이 저장된 결제를 반환
      */
-    @Transactional
     public Payment chargePoints(String paymentKey, String orderId, Integer amount, Long userId, String paymentMethod) {
+        return confirmTossCharge(orderId, paymentKey, amount, userId,
+                paymentMethod != null ? paymentMethod : "TOSS_MOCK");
+    }
+
+    // 토스 결제 승인 + 충전 기록 저장 (orderId 당 한 번만)
+    private Payment confirmTossCharge(String orderId, String paymentKey, Integer amount, Long userId,
+            String paymentMethod) {
+        try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, userId).put(LogContext.ORDER_ID, orderId)) {
+            Payment payment = paymentConfirmGuard.confirmOnce(orderId,
+                    () -> confirmAndSaveCharge(orderId, paymentKey, amount, userId, paymentMethod));
+
+            // 이미 처리된 주문번호를 다른 사용자/금액으로 재사용한 경우는 거부
+            if (!payment.getUserId().equals(userId) || !payment.getAmount().equals(amount)) {
+                log.warn("다른 결제에 사용된 주문번호로 승인 요청 (기존 paymentId: {})", payment.getPaymentId());
+                throw new RuntimeException("이미 다른 결제에 사용된 주문번호입니다: " + orderId);
+            }
+            ctx.put(LogContext.PAYMENT_ID, payment.getPaymentId());
+            log.info("충전 결제 승인 완료 (금액: {}P, 수단: {})", amount, paymentMethod);
+            return payment;
+        }
+    }
 
-        // 1. 토스페이먼츠 API 호출해서 결제 승인 요청
-        confirmTossPayment(paymentKey, orderId, amount);
+    // 토스 승인 요청 후 충전 기록 저장 (PaymentConfirmGuard 에서 주문번호당 한 번만 호출)
+    private Payment confirmAndSaveCharge(String orderId, String paymentKey, Integer amount, Long userId,
+            String paymentMethod) {
 
-        // 2. 유저 존재 여부 확인
+        // 1. 유저 존재 여부 확인 (없는 유저로 결제가 승인되지 않도록 먼저 확인)
         if (!usersRepository.existsById(userId)) {
             throw new RuntimeException("User not found: " + userId);
         }
 
-        // 3. 포인트 충전 기록 생성
-        Payment payment = new Payment();
-        payment.setUserId(userId);
-        payment.setType(PaymentType.CHARGE);
-        payment.setAmount(amount);
-        payment.setPaymentMethod(paymentMethod != null ? paymentMethod : "TOSS_MOCK");
-        payment.setStatus(PaymentStatus.PAID);
-        payment.setOrderId(orderId);
-        payment.setPaymentKey(paymentKey);
-
-        return paymentRepository.save(payment);
+        // 2. 토스페이먼츠 API 호출해서 결제 승인 요청
+        spanRecorder.run("payment.toss-confirm", () -> confirmTossPayment(paymentKey, orderId, amount));
+
+        // 3. 충전 기록 생성 (order_id 유니크 - 다른 서버에서 먼저 저장했으면 예외)
+        return spanRecorder.call("payment.save", () -> transactionTemplate.execute(status -> {
+            Payment charge = new Payment();
+            charge.setUserId(userId);
+            charge.setType(PaymentType.CHARGE);
+            charge.setAmount(amount);
+            charge.setPaymentMethod(paymentMethod);
+            charge.setStatus(PaymentStatus.PAID);
+            charge.setOrderId(orderId);
+            charge.setPaymentKey(paymentKey);
+
+            Payment savedPayment = paymentRepository.saveAndFlush(charge);
+            paymentSummaryWriter.recordCreated(savedPayment); // 일별 집계 반영
+            invalidateCache(); // 캐시 무효화
+            return savedPayment;
+        }));
     }
 
     /**
@@ -119,43 +126,41 @@ public class PaymentService {
      */
     @Transactional
     public Payment usePoints(Long userId, Integer amount, String purpose) {
+        try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, userId)) {
 
-        // 1. 사용 가능한 포인트 확인
-        Integer currentPoints = getUserPoints(userId);
-        System.out.println("사용자 ID: " + userId + ", 현재 포인트: " + currentPoints + ", 사용 요청: " + amount);
-
-        if (currentPoints < amount) {
-            String errorMsg = "포인트가 부족합니다. 현재 잔액: " + currentPoints + "P, 필요 금액: " + amount + "P";
-            System.out.println(errorMsg);
-            throw new RuntimeException(errorMsg);
-        }
+            // 1. 포인트 잔액 차감 (잔액 확인 + 차감을 조건부 UPDATE 한 번으로 처리)
+            try {
+                int balance = spanRecorder.call("wallet.debit",
+                        () -> walletIntegrationService.usePoints(userId, amount, null));
+                log.debug("포인트 차감 성공 ({}P, 남은 잔액: {}P)", amount, balance);
+            } catch (InsufficientPointsException e) {
+                log.info("포인트 부족으로 차감 실패 (잔액: {}P, 요청: {}P)", e.getBalance(), e.getRequested());
+                throw e;
+            } catch (Exception e) {
+                log.warn("포인트 차감 실패 ({}P)", amount, e);
+                throw new RuntimeException("포인트 차감 실패: " + e.getMessage());
+            }
 
-        // 2. 실제 포인트 잔액 차감
-        try {
-            System.out.println("포인트 차감 시작: " + amount + "P");
-            walletIntegrationService.usePoints(userId, amount, null);
-            System.out.println("포인트 차감 성공");
-        } catch (Exception e) {
-            String errorMsg = "포인트 차감 실패: " + e.getMessage();
-            System.out.println(errorMsg);
-            throw new RuntimeException(errorMsg);
+            // 2. 포인트 사용 기록 생성
+            Payment payment = new Payment();
+            payment.setUserId(userId);
+            payment.setType(PaymentType.USE);
+            payment.setAmount(amount);
+            payment.setPaymentMethod("POINT");
+            payment.setStatus(PaymentStatus.PAID);
+            // purpose가 있으면 orderId에 포함 (예: COURSE_15)
+            String orderPrefix = (purpose != null && !purpose.isEmpty()) ? purpose : "USE";
+            payment.setOrderId(newOrderId(orderPrefix));
+
+            Payment savedPayment = spanRecorder.call("payment.save", () -> paymentRepository.save(payment));
+            paymentSummaryWriter.recordCreated(savedPayment); // 일별 집계 반영
+            invalidateCache(); // 캐시 무효화
+
+            ctx.put(LogContext.ORDER_ID, savedPayment.getOrderId())
+                    .put(LogContext.PAYMENT_ID, savedPayment.getPaymentId());
+            log.info("포인트 사용 완료 ({}P)", amount);
+            return savedPayment;
         }
-
-        // 3. 포인트 사용 기록 생성
-        Payment payment = new Payment();
-        payment.setUserId(userId);
-        payment.setType(PaymentType.USE);
-        payment.setAmount(amount);
-        payment.setPaymentMethod("POINT");
-        payment.setStatus(PaymentStatus.PAID);
-        // purpose가 있으면 orderId에 포함 (예: COURSE_15)
-        String orderPrefix = (purpose != null && !purpose.isEmpty()) ? purpose : "USE";
-        payment.setOrderId(orderPrefix + "_" + System.currentTimeMillis());
-
-        Payment savedPayment = paymentRepository.save(payment);
-        System.out.println("포인트 사용 기록 저장 완료. Payment ID: " + savedPayment.getPaymentId());
-
-        return savedPayment;
     }
 
     /**
@@ -184,9 +189,11 @@ public class PaymentService {
         refundPayment.setPaymentMethod("ADMIN");
         refundPayment.setStatus(PaymentStatus.REFUND_REQUEST);
         refundPayment.setRelatedPaymentId(paymentId);
-        refundPayment.setOrderId("REFUND_" + paymentId + "_" + System.currentTimeMillis());
+        refundPayment.setOrderId(newOrderId("REFUND_" + paymentId));
 
         Payment savedRefund = paymentRepository.save(refundPayment);
+        paymentSummaryWriter.recordCreated(savedRefund); // 일별 집계 반영
+        invalidateCache(); // 캐시 무효화
 
         // 관리자에게 알림 전송 (환불 요청)
         notificationService.notifyAdmins(
@@ -221,10 +228,12 @@ public class PaymentService {
         fullRefundRequest.setAmount(refundAmount); // 실제 보유 포인트만큼만
         fullRefundRequest.setPaymentMethod("ADMIN");
         fullRefundRequest.setStatus(PaymentStatus.REFUND_REQUEST);
-        fullRefundRequest.setOrderId("BALANCE_REFUND_" + userId + "_" + System.currentTimeMillis());
+        fullRefundRequest.setOrderId(newOrderId("BALANCE_REFUND_" + userId));
         // 보유 포인트 환불의 경우 특정 원본 결제 ID가 없으므로 null로 유지
 
         Payment savedPayment = paymentRepository.save(fullRefundRequest);
+        paymentSummaryWriter.recordCreated(savedPayment); // 일별 집계 반영
+        invalidateCache(); // 캐시 무효화
 
         // 관리자에게 알림 전송 (전액 환불 요청)
         notificationService.notifyAdmins(
@@ -292,9 +301,10 @@ public class PaymentService {
                         enrollment.setStatus(com.mysite.clover.Enrollment.EnrollmentStatus.CANCELLED);
                         enrollment.setCancelledAt(java.time.LocalDateTime.now());
                         enrollmentRepository.save(enrollment);
+                        eventPublisher.publishEvent(EnrollmentCancelledEvent.of(enrollment.getEnrollmentId())); // 커밋 후 시청 대상 캐시 제거
                     }
                 } catch (Exception e) {
-                    System.err.println("Failed to cancel enrollment: " + e.getMessage());
+                    log.error("환불 승인 중 수강 취소 실패 (refundPaymentId: {}, orderId: {})", refundPaymentId, orderId, e);
                     // 수강 취소 실패하더라도 환불은 진행? 아니면 롤백? -> 일단 진행하되 로그 남김
                 }
             }
@@ -303,17 +313,14 @@ public class PaymentService {
             // [포인트 충전 취소 / 보유 포인트 환불 시나리오]
             // 사용자 보유 포인트에서 차감 (Use Points -> Balance Decrease)
 
-            Integer currentBalance = walletIntegrationService.getCurrentBalance(refundPayment.getUserId());
-            if (currentBalance < refundPayment.getAmount()) {
-                throw new RuntimeException(
-                        "보유 포인트가 부족합니다. 보유: " + currentBalance + ", 환불요청: " + refundPayment.getAmount());
-            }
-
             try {
                 walletIntegrationService.usePoints(
                         refundPayment.getUserId(),
                         refundPayment.getAmount(),
                         refundPayment.getPaymentId());
+            } catch (InsufficientPointsException e) {
+                throw new RuntimeException(
+                        "보유 포인트가 부족합니다. 보유: " + e.getBalance() + ", 환불요청: " + e.getRequested());
             } catch (Exception e) {
                 throw new RuntimeException("포인트 차감 실패: " + e.getMessage());
             }
@@ -321,7 +328,8 @@ public class PaymentService {
 
         refundPayment.setStatus(PaymentStatus.REFUNDED);
         Payment savedRefund = paymentRepository.save(refundPayment);
-        invalidateCache(); // 캐시 무효화
+        paymentSummaryWriter.recordStatusChange(savedRefund, PaymentStatus.REFUND_REQUEST); // 일별 집계 반영
+        invalidateCache(refundPaymentId); // 캐시 무효화
         return savedRefund;
     }
 
@@ -340,7 +348,8 @@ public class PaymentService {
 
         refundPayment.setStatus(PaymentStatus.REJECTED);
         Payment savedRefund = paymentRepository.save(refundPayment);
-        invalidateCache(); // 캐시 무효화
+        paymentSummaryWriter.recordStatusChange(savedRefund, PaymentStatus.REFUND_REQUEST); // 일별 집계 반영
+        invalidateCache(refundPaymentId); // 캐시 무효화
 
         // 사용자에게 알림 전송 (환불 거절)
         usersRepository.findById(refundPayment.getUserId()).ifPresent(user -> {
@@ -377,61 +386,52 @@ public class PaymentService {
      * 전체 결제 내역 조회 (관리자용) - 페이징 지원 + 캐싱
      */
     public List<PaymentWithUserDto> getAllPayments(int page, int size) {
-        String cacheKey = String.format("payments_%d_%d", page, size);
+        String cacheKey = page + "_" + size;
 
-        // 캐시 확인
-        CacheEntry cached = cache.get(cacheKey);
-        if (cached != null && !cached.isExpired()) {
-            return cached.data;
-        }
-
-        // 캐시 미스 또는 만료 - DB에서 조회
-        Pageable pageable = PageRequest.of(page, size, Sort.by("paidAt").descending());
-        List<Payment> payments = paymentRepository.findAll(pageable).getContent();
-
-        List<PaymentWithUserDto> result = payments.stream()
-                .map(payment -> {
-                    try {
-                        String studentName;
-                        String studentLoginId;
-                        
-                        Long userId = payment.getUserId();
-                        
-                        if (userId != null) {
-                            var user = usersRepository.findById(userId);
-                            if (user.isPresent()) {
-                                studentName = user.get().getName();
-                                studentLoginId = user.get().getLoginId();
-                            } else {
-                                // 사용자가 삭제된 경우 (탈퇴처리)
-                                studentName = "탈퇴회원";
-                                studentLoginId = "deleted_user_" + userId;
-                            }
-                        } else {
-                            // userId가 null인 경우 (탈퇴회원)
-                            studentName = "탈퇴회원";
-                            studentLoginId = "deleted_user";
-                        }
-                        
-                        return new PaymentWithUserDto(payment, studentName, studentLoginId);
-                    } catch (Exception e) {
-                        System.err.println("PaymentWithUserDto 변환 중 에러: " + e.getMessage());
-                        return new PaymentWithUserDto(payment, "탈퇴회원", "error");
-                    }
-                })
-                .toList();
-
-        // 캐시에 저장
-        cache.put(cacheKey, new CacheEntry(result));
+        // 캐시 미스 또는 만료 시 DB에서 조회 (회원 정보는 조인으로 함께 조회)
+        return paymentListCache.get(cacheKey,
+                () -> paymentRepository.findAllWithUser(PageRequest.of(page, size)));
+    }
 
+    /**
+     * 전체 결제 내역 조회 (관리자용) - 커서 페이징
+     * 이전 페이지 마지막 항목의 (paidAt, paymentId) 다음부터 size 건 조회 (커서가 없으면 첫 페이지)
+     */
+    public Map<String, Object> getPaymentsByCursor(LocalDateTime cursorPaidAt, Long cursorId, int size) {
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<PaymentWithUserDto> rows = (cursorPaidAt == null || cursorId == null)
+                ? paymentRepository.findAllWithUser(PageRequest.of(0, size + 1))
+                : paymentRepository.findAllWithUserBefore(cursorPaidAt, cursorId, Limit.of(size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<PaymentWithUserDto> payments = hasNext ? rows.subList(0, size) : rows;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("payments", payments);
+        result.put("hasNext", hasNext);
+        if (hasNext) {
+            PaymentWithUserDto last = payments.get(payments.size() - 1);
+            result.put("nextCursorPaidAt", last.getPaidAt());
+            result.put("nextCursorId", last.getPaymentId());
+        }
         return result;
     }
 
     /**
      * 캐시 무효화 (새 결제가 생성될 때 호출)
+     * 최신순 페이지라 새 결제가 들어오면 모든 페이지가 한 칸씩 밀리므로 결제 내역 캐시 전체 무효화
      */
-    private void invalidateCache() {
-        cache.clear();
+    void invalidateCache() {
+        BoundedCache.afterCommit(paymentListCache::invalidateAll);
+    }
+
+    /**
+     * 캐시 무효화 (기존 결제의 상태가 바뀔 때 호출)
+     * 페이지 구성은 그대로이므로 해당 결제가 포함된 페이지만 무효화
+     */
+    private void invalidateCache(Long paymentId) {
+        BoundedCache.afterCommit(() -> paymentListCache.invalidateIf(
+                (key, payments) -> payments.stream().anyMatch(p -> paymentId.equals(p.getPaymentId()))));
     }
 
     /**
@@ -442,37 +442,12 @@ public class PaymentService {
     }
 
     /**
-     * 토스페이먼츠 결제 승인 API 호출
+     * 토스페이먼츠 결제 승인 API 호출 (공유 커넥션 풀 + 타임아웃 + 재시도 + 서킷 브레이커)
      */
     private void confirmTossPayment(String paymentKey, String orderId, Integer amount) {
-
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        String secretKey = tossSecretKey + ":";
-        String encodedAuth = "Basic " + Base64.getEncoder().encodeToString(secretKey.getBytes(StandardCharsets.UTF_8));
-
-        headers.set("Authorization", encodedAuth);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        Map<String, Object> body = Map.of(
-                "paymentKey", paymentKey,
-                "orderId", orderId,
-                "amount", amount);
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
         try {
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                    tossConfirmUrl,
-                    request,
-                    String.class);
-
-            // 응답 검증 로직 필요시 추가
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Toss payment confirmation failed");
-            }
-
-        } catch (Exception e) {
+            tossPaymentsClient.confirm(paymentKey, orderId, amount);
+        } catch (TossPaymentException e) {
             throw new RuntimeException("Payment confirmation failed: " + e.getMessage());
         }
     }
@@ -486,48 +461,41 @@ public class PaymentService {
      */
     @Transactional
     public Payment processDirectRefund(Long userId, Integer amount, String reason) {
-        System.out.println("=== 즉시환불 처리 시작 ===");
-        System.out.println("사용자 ID: " + userId + ", 금액: " + amount + ", 사유: " + reason);
-        
-        try {
-            // 1. 환불 기록 생성 (즉시 승인 상태로)
-            System.out.println("1. Payment 엔티티 생성 시작");
-            Payment savedRefund = createDirectRefundPayment(
-                userId,
-                amount,
-                "AUTO_REFUND",
-                "COURSE_CANCEL_REFUND_" + userId + "_" + System.currentTimeMillis());
-            System.out.println("1. Payment 저장 완료. PaymentId: " + savedRefund.getPaymentId());
-            
-            // 2. WalletIntegrationService를 통해 즉시 포인트 추가
-            System.out.println("2. 포인트 환불 시작");
-            walletIntegrationService.refundPoints(userId, amount, savedRefund.getPaymentId());
-            System.out.println("2. 포인트 환불 완료");
-            
-            // 3. 사용자에게 환불 완료 알림
-            System.out.println("3. 알림 전송 시작");
-            usersRepository.findById(userId).ifPresent(user -> {
-                notificationService.createNotification(
-                        user,
-                        "REFUND_COMPLETED",
-                        reason + " - 환불이 완료되었습니다. (+" + amount + "P)",
-                        "/student/points");
-            });
-            System.out.println("3. 알림 전송 완료");
-            
-            // 4. 캐시 무효화
-            System.out.println("4. 캐시 무효화 시작");
-            invalidateCache();
-            System.out.println("4. 캐시 무효화 완료");
-            
-            System.out.println("=== 즉시환불 처리 성공 ===");
-            return savedRefund;
-            
-        } catch (Exception e) {
-            System.err.println("=== 즉시환불 처리 실패 ===");
-            System.err.println("실패 원인: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("즉시 환불 처리 실패: " + e.getMessage(), e);
+        try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, userId)) {
+            log.info("즉시환불 처리 시작 (금액: {}P, 사유: {})", amount, reason);
+            try {
+                // 1. 환불 기록 생성 (즉시 승인 상태로)
+                Payment savedRefund = spanRecorder.call("payment.save", () -> createDirectRefundPayment(
+                        userId,
+                        amount,
+                        "AUTO_REFUND",
+                        newOrderId("COURSE_CANCEL_REFUND_" + userId)));
+                ctx.put(LogContext.ORDER_ID, savedRefund.getOrderId())
+                        .put(LogContext.PAYMENT_ID, savedRefund.getPaymentId());
+
+                // 2. WalletIntegrationService를 통해 즉시 포인트 추가
+                spanRecorder.run("wallet.refund",
+                        () -> walletIntegrationService.refundPoints(userId, amount, savedRefund.getPaymentId()));
+
+                // 3. 사용자에게 환불 완료 알림
+                spanRecorder.run("notification.user", () -> usersRepository.findById(userId).ifPresent(user -> {
+                    notificationService.createNotification(
+                            user,
+                            "REFUND_COMPLETED",
+                            reason + " - 환불이 완료되었습니다. (+" + amount + "P)",
+                            "/student/points");
+                }));
+
+                // 4. 캐시 무효화
+                invalidateCache();
+
+                log.info("즉시환불 처리 완료 ({}P)", amount);
+                return savedRefund;
+
+            } catch (Exception e) {
+                log.error("즉시환불 처리 실패 ({}P)", amount, e);
+                throw new RuntimeException("즉시 환불 처리 실패: " + e.getMessage(), e);
+            }
         }
     }
 
@@ -536,36 +504,46 @@ public class PaymentService {
      */
     @Transactional
     public Payment processCourseCancelRefund(Long userId, Integer amount, Long courseId, String courseTitle) {
-        String orderId = "COURSE_CANCEL_" + courseId + "_" + System.currentTimeMillis();
+        String orderId = newOrderId("COURSE_CANCEL_" + courseId);
         String reason = "취소 - 수강취소";
 
-        System.out.println("=== 수강취소 즉시환불 처리 시작 ===");
-        System.out.println("사용자 ID: " + userId + ", 강좌 ID: " + courseId + ", 금액: " + amount);
-
-        try {
-            Payment savedRefund = createCourseCancelChargePayment(userId, amount, orderId);
-
-            walletIntegrationService.chargePoints(userId, amount, savedRefund.getPaymentId());
-
-            usersRepository.findById(userId).ifPresent(user -> {
-                notificationService.createNotification(
-                        user,
-                        "REFUND_COMPLETED",
-                        reason + " (" + courseTitle + ") - 환불이 완료되었습니다. (+" + amount + "P)",
-                        "/student/points");
-            });
-
-            invalidateCache();
-            System.out.println("=== 수강취소 즉시환불 처리 성공 ===");
-            return savedRefund;
-        } catch (Exception e) {
-            System.err.println("=== 수강취소 즉시환불 처리 실패 ===");
-            System.err.println("실패 원인: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("수강취소 즉시 환불 처리 실패: " + e.getMessage(), e);
+        try (LogContext ctx = LogContext.open().put(LogContext.USER_ID, userId).put(LogContext.ORDER_ID, orderId)) {
+            log.info("수강취소 즉시환불 처리 시작 (강좌 ID: {}, 금액: {}P)", courseId, amount);
+            try {
+                Payment savedRefund = spanRecorder.call("payment.save",
+                        () -> createCourseCancelChargePayment(userId, amount, orderId));
+                ctx.put(LogContext.PAYMENT_ID, savedRefund.getPaymentId());
+
+                spanRecorder.run("wallet.charge",
+                        () -> walletIntegrationService.chargePoints(userId, amount, savedRefund.getPaymentId()));
+
+                spanRecorder.run("notification.user", () -> usersRepository.findById(userId).ifPresent(user -> {
+                    notificationService.createNotification(
+                            user,
+                            "REFUND_COMPLETED",
+                            reason + " (" + courseTitle + ") - 환불이 완료되었습니다. (+" + amount + "P)",
+                            "/student/points");
+                }));
+
+                invalidateCache();
+                log.info("수강취소 즉시환불 처리 완료 (강좌 ID: {}, {}P)", courseId, amount);
+                return savedRefund;
+            } catch (Exception e) {
+                log.error("수강취소 즉시환불 처리 실패 (강좌 ID: {}, {}P)", courseId, amount, e);
+                throw new RuntimeException("수강취소 즉시 환불 처리 실패: " + e.getMessage(), e);
+            }
         }
     }
 
+    /**
+     * 내부 주문번호 생성 (prefix_시각_랜덤)
+     * order_id 가 유니크이므로 같은 밀리초에 같은 prefix 로 만들어도 겹치지 않도록 랜덤 값을 붙임
+     */
+    static String newOrderId(String prefix) {
+        return prefix + "_" + System.currentTimeMillis() + "_"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
     private Payment createCourseCancelChargePayment(Long userId, Integer amount, String orderId) {
         Payment payment = new Payment();
         payment.setUserId(userId);
@@ -574,7 +552,9 @@ public class PaymentService {
         payment.setPaymentMethod("POINT");
         payment.setStatus(PaymentStatus.PAID);
         payment.setOrderId(orderId);
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        paymentSummaryWriter.recordCreated(savedPayment); // 일별 집계 반영
+        return savedPayment;
     }
 
     private Payment createDirectRefundPayment(Long userId, Integer amount, String paymentMethod, String orderId) {
@@ -585,6 +565,8 @@ public class PaymentService {
         refundPayment.setPaymentMethod(paymentMethod);
         refundPayment.setStatus(PaymentStatus.REFUNDED);
         refundPayment.setOrderId(orderId);
-        return paymentRepository.save(refundPayment);
+        Payment savedRefund = paymentRepository.save(refundPayment);
+        paymentSummaryWriter.recordCreated(savedRefund); // 일별 집계 반영
+        return savedRefund;
     }
 }
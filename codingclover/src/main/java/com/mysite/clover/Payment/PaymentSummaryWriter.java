@@ -0,0 +1,123 @@
+package com.mysite.clover.Payment;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 결제 일별 집계 증감 기록기
+ * - 트랜잭션 안에서 생긴 증감분을 (결제일, 유형, 상태) 별로 합쳐 두었다가 커밋 직전에 UPSERT
+ *   (집계 행 잠금을 트랜잭션 끝에서만 잠깐 잡도록 - 같은 날 결제끼리 오래 대기하지 않음)
+ * - 커밋 직전(같은 트랜잭션)에 기록하므로 결제와 집계가 같이 커밋/롤백됨
+ * - 트랜잭션 밖에서 호출하면 바로 반영
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentSummaryWriter {
+
+    private static final String UPSERT_SQL = "INSERT INTO payment_daily_summary "
+            + "(summary_date, type, status, payment_count, total_amount, updated_at) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+            + "total_amount = total_amount + VALUES(total_amount), updated_at = VALUES(updated_at)";
+
+    // 항상 같은 순서로 UPSERT (여러 행을 건드리는 트랜잭션끼리 데드락 방지)
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::date)
+            .thenComparing(Key::type)
+            .thenComparing(Key::status);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 새 결제 반영 (저장 후 호출 - paidAt 이 채워진 상태)
+     */
+    public void recordCreated(Payment payment) {
+        add(payment, payment.getStatus(), 1);
+    }
+
+    /**
+     * 결제 상태 변경 반영 (이전 상태에서 빼고 새 상태에 더함)
+     */
+    public void recordStatusChange(Payment payment, PaymentStatus previousStatus) {
+        if (previousStatus == payment.getStatus()) {
+            return;
+        }
+        add(payment, previousStatus, -1);
+        add(payment, payment.getStatus(), 1);
+    }
+
+    private void add(Payment payment, PaymentStatus status, int sign) {
+        LocalDate date = payment.getPaidAt() != null ? payment.getPaidAt().toLocalDate() : LocalDate.now();
+        Key key = new Key(date, payment.getType(), status);
+        long[] delta = { sign, (long) sign * payment.getAmount() };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush(Map.of(key, delta));
+            return;
+        }
+        currentDeltas().merge(key, delta, (a, b) -> new long[] { a[0] + b[0], a[1] + b[1] });
+    }
+
+    // 현재 트랜잭션의 증감분 (처음 호출 시 생성 + 커밋 직전 기록 등록)
+    @SuppressWarnings("unchecked")
+    private Map<Key, long[]> currentDeltas() {
+        Map<Key, long[]> deltas = (Map<Key, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+
+        Map<Key, long[]> newDeltas = new TreeMap<>(KEY_ORDER);
+        TransactionSynchronizationManager.bindResource(this, newDeltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flush(newDeltas);
+                newDeltas.clear();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PaymentSummaryWriter.this);
+            }
+        });
+        return newDeltas;
+    }
+
+    private void flush(Map<Key, long[]> deltas) {
+        List<Map.Entry<Key, long[]>> rows = new ArrayList<>();
+        for (Map.Entry<Key, long[]> entry : deltas.entrySet()) {
+            // 같은 트랜잭션 안에서 상쇄된 증감은 보내지 않음
+            if (entry.getValue()[0] != 0 || entry.getValue()[1] != 0) {
+                rows.add(entry);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setDate(1, Date.valueOf(row.getKey().date()));
+            ps.setString(2, row.getKey().type().name());
+            ps.setString(3, row.getKey().status().name());
+            ps.setLong(4, row.getValue()[0]);
+            ps.setLong(5, row.getValue()[1]);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    private record Key(LocalDate date, PaymentType type, PaymentStatus status) {
+    }
+}
@@ -24,8 +24,14 @@ public class PaymentWithUserDto {
     public PaymentWithUserDto(Payment payment, String studentName, String studentLoginId) {
         this.paymentId = payment.getPaymentId();
         this.userId = payment.getUserId();
-        this.studentName = studentName;
-        this.studentLoginId = studentLoginId;
+        if (studentName == null && studentLoginId == null) {
+            // 사용자가 삭제된 경우 (탈퇴처리) - 회원 조인 결과가 없음
+            this.studentName = "탈퇴회원";
+            this.studentLoginId = payment.getUserId() != null ? "deleted_user_" + payment.getUserId() : "deleted_user";
+        } else {
+            this.studentName = studentName;
+            this.studentLoginId = studentLoginId;
+        }
         this.type = payment.getType();
         this.amount = payment.getAmount();
         this.paymentMethod = payment.getPaymentMethod();
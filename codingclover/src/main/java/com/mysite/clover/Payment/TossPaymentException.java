@@ -0,0 +1,34 @@
+package com.mysite.clover.Payment;
+
+/**
+ * 토스페이먼츠 결제 승인 실패
+ * status 가 0 이면 응답을 받지 못한 경우 (연결 실패, 타임아웃, 서킷 OPEN)
+ */
+public class TossPaymentException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public TossPaymentException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public TossPaymentException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * 다시 시도해볼 만한 실패인지 (서버 오류 / 요청 과다 / 응답 없음)
+     * 4xx 는 요청 자체가 잘못된 것이므로 재시도하지 않음
+     */
+    public boolean isRetryable() {
+        return status == 0 || status == 429 || status >= 500;
+    }
+}
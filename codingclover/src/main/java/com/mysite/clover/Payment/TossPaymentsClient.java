@@ -0,0 +1,168 @@
+package com.mysite.clover.Payment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+/**
+ * 토스페이먼츠 결제 승인 API 클라이언트
+ * - 커넥션 풀을 공유하는 WebClient 하나로 호출 (요청마다 클라이언트를 만들지 않음)
+ * - 연결/응답 타임아웃, 서버 오류·응답 없음은 백오프 재시도 (Idempotency-Key 로 중복 승인 방지)
+ * - 연속 실패 시 서킷을 열어 일정 시간 동안 바로 실패 처리 (토스 장애 시 요청 스레드가 묶이지 않도록)
+ */
+@Slf4j
+@Component
+public class TossPaymentsClient {
+
+    @Value("${toss.payments.secret-key}")
+    private String secretKey;
+
+    @Value("${toss.payments.confirm-url}")
+    private String confirmUrl;
+
+    @Value("${toss.client.max-connections:50}")
+    private int maxConnections = 50;
+
+    @Value("${toss.client.connect-timeout-ms:3000}")
+    private int connectTimeoutMs = 3000;
+
+    @Value("${toss.client.response-timeout-ms:10000}")
+    private long responseTimeoutMs = 10000;
+
+    @Value("${toss.client.max-retries:2}")
+    private int maxRetries = 2;
+
+    @Value("${toss.client.retry-backoff-ms:200}")
+    private long retryBackoffMs = 200;
+
+    @Value("${toss.client.circuit-failure-threshold:5}")
+    private int circuitFailureThreshold = 5;
+
+    @Value("${toss.client.circuit-open-ms:30000}")
+    private long circuitOpenMs = 30000;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    void init() {
+        connectionProvider = ConnectionProvider.builder("toss-payments")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        String encodedAuth = "Basic " + Base64.getEncoder()
+                .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+
+        webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, encodedAuth)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        circuitBreaker = new CircuitBreaker("toss-payments", circuitFailureThreshold, circuitOpenMs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * 결제 승인 (비동기)
+     * 실패 시 TossPaymentException (4xx 는 재시도 / 서킷 실패 집계 대상 아님)
+     */
+    public Mono<Void> confirmAsync(String paymentKey, String orderId, Integer amount) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new TossPaymentException(0,
+                        "결제 승인 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요."));
+            }
+
+            return webClient.post()
+                    .uri(confirmUrl)
+                    // 재시도로 같은 주문이 두 번 승인되지 않도록 주문번호를 멱등 키로 사용
+                    .header("Idempotency-Key", orderId)
+                    .bodyValue(Map.of(
+                            "paymentKey", paymentKey,
+                            "orderId", orderId,
+                            "amount", amount))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, response -> response.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> new TossPaymentException(response.statusCode().value(),
+                                    "Toss payment confirmation failed (" + response.statusCode().value() + "): "
+                                            + body)))
+                    .toBodilessEntity()
+                    .onErrorMap(e -> !(e instanceof TossPaymentException),
+                            e -> new TossPaymentException("Toss payment confirmation failed: " + e.getMessage(), e))
+                    .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(retryBackoffMs))
+                            .filter(e -> e instanceof TossPaymentException t && t.isRetryable())
+                            .doBeforeRetry(signal -> log.warn("토스 결제 승인 재시도 (orderId: {}, 시도: {}, 원인: {})",
+                                    orderId, signal.totalRetries() + 1, signal.failure().getMessage()))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(response -> circuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (e instanceof TossPaymentException t && !t.isRetryable()) {
+                            circuitBreaker.onIgnored();
+                        } else {
+                            circuitBreaker.onFailure();
+                        }
+                    })
+                    // 호출한 쪽에서 타임아웃으로 취소한 경우도 실패로 집계
+                    .doOnCancel(circuitBreaker::onFailure)
+                    .then();
+        });
+    }
+
+    /**
+     * 결제 승인 (요청 스레드에서 완료까지 대기)
+     * 재시도를 포함한 전체 대기 시간도 제한 (응답 타임아웃 x 시도 횟수 + 백오프)
+     */
+    public void confirm(String paymentKey, String orderId, Integer amount) {
+        try {
+            confirmAsync(paymentKey, orderId, amount).block(callTimeout());
+        } catch (TossPaymentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new TossPaymentException("Toss payment confirmation failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Duration callTimeout() {
+        long attempts = maxRetries + 1L;
+        long backoff = retryBackoffMs * ((1L << maxRetries) - 1) * 2; // 지수 백오프 + jitter 여유
+        return Duration.ofMillis((connectTimeoutMs + responseTimeoutMs) * attempts + backoff);
+    }
+
+    /**
+     * 서킷 브레이커 상태 (관리자 모니터링용)
+     */
+    public Map<String, Object> getMetrics() {
+        return circuitBreaker.getMetrics();
+    }
+}
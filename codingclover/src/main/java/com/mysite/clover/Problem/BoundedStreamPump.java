@@ -0,0 +1,92 @@
+package com.mysite.clover.Problem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+// 자식 프로세스의 출력 스트림을 별도 스레드에서 계속 비워주는 펌프
+// - waitFor 전에 stdout/stderr 를 동시에 읽어야 파이프 버퍼가 가득 차서 프로세스가 멈추지 않음
+// - 최대 바이트 수까지만 보관하고, 넘으면 onStop 실행 (보통 프로세스 강제 종료) 후 나머지는 버림
+// - 채점기가 있으면 읽는 대로 기대 출력과 비교하고, 틀린 순간 onStop 실행
+class BoundedStreamPump {
+
+  private final InputStream stream;
+  private final int maxBytes;
+  private final StreamingOutputChecker checker; // 없으면 null
+  private final Runnable onStop;
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private final Thread thread;
+  private volatile boolean limitExceeded;
+
+  private volatile boolean stopped;
+
+  private BoundedStreamPump(InputStream stream, int maxBytes, StreamingOutputChecker checker, Runnable onStop,
+      String name) {
+    this.stream = stream;
+    this.maxBytes = maxBytes;
+    this.checker = checker;
+    this.onStop = onStop;
+    this.thread = new Thread(this::pump, name);
+    this.thread.setDaemon(true);
+  }
+
+  static BoundedStreamPump start(InputStream stream, int maxBytes, Runnable onLimitExceeded, String name) {
+    return start(stream, maxBytes, null, onLimitExceeded, name);
+  }
+
+  static BoundedStreamPump start(InputStream stream, int maxBytes, StreamingOutputChecker checker, Runnable onStop,
+      String name) {
+    BoundedStreamPump pump = new BoundedStreamPump(stream, maxBytes, checker, onStop, name);
+    pump.thread.start();
+    return pump;
+  }
+
+  private void pump() {
+    byte[] chunk = new byte[8192];
+    try (InputStream in = stream) {
+      int read;
+      while ((read = in.read(chunk)) != -1) {
+        synchronized (buffer) {
+          int room = maxBytes - buffer.size();
+          if (room > 0) {
+            buffer.write(chunk, 0, Math.min(room, read));
+          }
+          if (read > room && !limitExceeded) {
+            limitExceeded = true;
+            stop();
+          }
+        }
+        if (checker != null && !stopped && !checker.feed(chunk, 0, read)) {
+          stop(); // 오답 확정 - 나머지 출력은 볼 필요 없음
+        }
+      }
+    } catch (IOException e) {
+      // 프로세스 강제 종료로 파이프가 끊긴 경우 - 그때까지 읽은 내용만 사용
+    }
+  }
+
+  private void stop() {
+    if (!stopped) {
+      stopped = true;
+      onStop.run();
+    }
+  }
+
+  // 프로세스 종료 후 남은 출력을 다 읽을 때까지 대기
+  void await(long timeoutMillis) throws InterruptedException {
+    thread.join(timeoutMillis);
+  }
+
+  boolean isLimitExceeded() {
+    return limitExceeded;
+  }
+
+  String getText(Charset charset) {
+    synchronized (buffer) {
+      // 기존 readStream 과 동일하게 줄바꿈은 \n 으로 통일하고 마지막 줄바꿈은 제거
+      String text = buffer.toString(charset).replace("\r\n", "\n");
+      return text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+    }
+  }
+}
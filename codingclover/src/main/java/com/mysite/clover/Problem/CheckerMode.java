@@ -0,0 +1,9 @@
+package com.mysite.clover.Problem;
+
+// 출력 비교 방식 (문제별 설정)
+public enum CheckerMode {
+  EXACT, // 줄 단위 완전 일치 (마지막 줄바꿈 / \r 차이만 허용)
+  LINE_TRIMMED, // 줄 끝 공백과 출력 끝의 빈 줄 무시 (기본값)
+  TOKEN, // 공백/줄바꿈으로 나눈 값 순서대로 비교
+  FLOAT_EPSILON // TOKEN + 숫자는 오차(epsilon) 허용
+}
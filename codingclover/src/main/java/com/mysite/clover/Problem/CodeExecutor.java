@@ -1,5 +1,17 @@
 package com.mysite.clover.Problem;
 
 public interface CodeExecutor {
-  ExecutionResponse run(ExecutionRequest request);
+
+  // 소스 코드 컴파일 (한 번 컴파일해서 여러 테스트 케이스에 재사용)
+  CompiledProgram compile(String code);
+
+  // 컴파일된 프로그램을 주어진 입력값으로 실행 (샌드박스 사용 시 문제별 제한 적용)
+  ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits);
+
+  // 실행하면서 출력을 기대 출력과 바로 비교 (틀리면 실행 중단)
+  // 출력 스트리밍을 지원하지 않는 실행기는 그냥 실행하고, 비교는 채점 쪽에서 실행 후에 함
+  default ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    return execute(program, input, limits);
+  }
 }
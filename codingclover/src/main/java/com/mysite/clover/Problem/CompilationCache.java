@@ -0,0 +1,165 @@
+package com.mysite.clover.Problem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// 컴파일 결과 캐시 (소스 코드 SHA-256 -> 바이트코드 또는 컴파일 에러)
+// - 같은 코드를 반복 실행/재제출하면 컴파일을 건너뜀
+// - 항목 수와 총 바이트 수 둘 다 제한, 넘치면 가장 오래 안 쓴 항목부터 제거 (LRU)
+// - 같은 코드가 동시에 들어오면 컴파일은 한 번만 하고 나머지는 그 결과를 기다림
+@Component
+@RequiredArgsConstructor
+public class CompilationCache {
+
+  // 서버 내부 오류(임시 디렉토리 생성 실패 등)와 컴파일 시간 초과(서버 부하에 따라 달라짐)는 캐시하지 않음
+  private static final String COMPILE_ERROR_PREFIX = "컴파일 에러";
+
+  private final CodeExecutor codeExecutor;
+
+  @Value("${judge.compile-cache.max-entries:1000}")
+  private int maxEntries = 1000;
+
+  @Value("${judge.compile-cache.max-bytes:33554432}")
+  private long maxBytes = 32L * 1024 * 1024;
+
+  // accessOrder = true 로 조회할 때마다 맨 뒤로 이동 (맨 앞이 가장 오래 안 쓴 항목)
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  // 컴파일 중인 코드 (소스 해시 -> 결과) - 같은 코드의 동시 요청은 같은 결과를 기다림
+  private final ConcurrentHashMap<String, CompletableFuture<CompiledProgram>> inFlight = new ConcurrentHashMap<>();
+
+  // 지표
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong deduplicated = new AtomicLong();
+
+  // 캐시에 있으면 그대로 반환, 없으면 컴파일 후 저장
+  public CompiledProgram compile(String code) {
+    String key = hash(code);
+
+    Entry cached = get(key);
+    if (cached != null) {
+      hits.incrementAndGet();
+      // 캐시 적중 시 컴파일 시간은 0
+      return CompiledProgram.builder()
+          .classes(cached.program().getClasses())
+          .compileError(cached.program().getCompileError())
+          .build();
+    }
+
+    CompletableFuture<CompiledProgram> future = new CompletableFuture<>();
+    CompletableFuture<CompiledProgram> running = inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      // 같은 코드를 다른 요청이 컴파일 중 - 결과만 기다림 (컴파일 시간은 그 요청 기준)
+      deduplicated.incrementAndGet();
+      return running.join();
+    }
+
+    misses.incrementAndGet();
+    try {
+      CompiledProgram program = codeExecutor.compile(code);
+      if (isCacheable(program)) {
+        put(key, program);
+      }
+      future.complete(program);
+      return program;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  private static boolean isCacheable(CompiledProgram program) {
+    if (program.isTimedOut()) {
+      return false;
+    }
+    return program.isSuccess() || program.getCompileError().startsWith(COMPILE_ERROR_PREFIX);
+  }
+
+  private synchronized Entry get(String key) {
+    return entries.get(key);
+  }
+
+  private synchronized void put(String key, CompiledProgram program) {
+    long size = sizeOf(key, program);
+    if (size > maxBytes) {
+      return; // 한 항목이 캐시 전체보다 크면 저장하지 않음
+    }
+
+    Entry previous = entries.put(key, new Entry(program, size));
+    if (previous != null) {
+      totalBytes -= previous.size();
+    }
+    totalBytes += size;
+
+    // 제한을 넘으면 가장 오래 안 쓴 항목부터 제거
+    Iterator<Entry> it = entries.values().iterator();
+    while ((entries.size() > maxEntries || totalBytes > maxBytes) && it.hasNext()) {
+      totalBytes -= it.next().size();
+      it.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  // 대략적인 메모리 사용량 (바이트코드 + 문자열은 UTF-16 기준 2바이트)
+  private static long sizeOf(String key, CompiledProgram program) {
+    long size = key.length() * 2L;
+    if (program.getClasses() != null) {
+      for (Map.Entry<String, byte[]> entry : program.getClasses().entrySet()) {
+        size += entry.getKey().length() * 2L + entry.getValue().length;
+      }
+    }
+    if (program.getCompileError() != null) {
+      size += program.getCompileError().length() * 2L;
+    }
+    return size;
+  }
+
+  private static String hash(String code) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] bytes = digest.digest((code != null ? code : "").getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(bytes);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+    }
+  }
+
+  // 캐시 상태 지표 (관리자 모니터링용 - 적중률 보고 크기 조정)
+  public synchronized Map<String, Object> getMetrics() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("entries", entries.size());
+    metrics.put("maxEntries", maxEntries);
+    metrics.put("bytes", totalBytes);
+    metrics.put("maxBytes", maxBytes);
+    metrics.put("hits", hitCount);
+    metrics.put("misses", misses.get());
+    metrics.put("evictions", evictions.get());
+    metrics.put("deduplicated", deduplicated.get());
+    metrics.put("inFlight", inFlight.size());
+    metrics.put("hitRate", total > 0 ? (double) hitCount / total : 0.0);
+    return metrics;
+  }
+
+  private record Entry(CompiledProgram program, long size) {
+  }
+}
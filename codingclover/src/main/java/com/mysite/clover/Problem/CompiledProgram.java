@@ -0,0 +1,20 @@
+package com.mysite.clover.Problem;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 컴파일 결과 (성공 시 클래스 바이트코드, 실패 시 컴파일 에러 메시지)
+@Getter
+@Builder
+public class CompiledProgram {
+  private Map<String, byte[]> classes; // 클래스 이름 -> 바이트코드 (예: main, main$Node)
+  private String compileError; // 컴파일 에러 메시지 (성공 시 null)
+  private long compileTime; // 컴파일 소요 시간 (ms)
+  private boolean timedOut; // 컴파일 시간 초과로 중단된 경우 (코드만으로 결정되는 결과가 아니므로 캐시하지 않음)
+
+  public boolean isSuccess() {
+    return compileError == null;
+  }
+}
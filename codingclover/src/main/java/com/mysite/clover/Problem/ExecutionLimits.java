@@ -0,0 +1,25 @@
+package com.mysite.clover.Problem;
+
+// 문제별 실행 제한 (문제에 설정이 없으면 서버 기본값 사용)
+public record ExecutionLimits(long timeLimitMs, int memoryLimitMb) {
+
+  public static ExecutionLimits of(Problem problem, long defaultTimeLimitMs, int defaultMemoryLimitMb) {
+    long timeLimitMs = problem.getTimeLimitMs() != null ? problem.getTimeLimitMs() : defaultTimeLimitMs;
+    int memoryLimitMb = problem.getMemoryLimitMb() != null ? problem.getMemoryLimitMb() : defaultMemoryLimitMb;
+    return new ExecutionLimits(timeLimitMs, memoryLimitMb);
+  }
+
+  // 측정값이 제한을 넘었으면 해당 채점 상태, 아니면 null
+  // - 시간: CPU 시간 기준 (측정 불가 시 실행 시간)
+  // - 메모리: 최대 메모리 사용량 기준 (측정 불가 시 / 샌드박스에서 이미 제한한 경우 검사하지 않음)
+  public String check(ExecutionResponse res) {
+    long time = res.getCpuTime() != null ? res.getCpuTime() : res.getExecutionTime();
+    if (time > timeLimitMs) {
+      return JavaProcessRunner.TIME_LIMIT_EXCEEDED;
+    }
+    if (!res.isLimitsEnforced() && res.getPeakMemoryKb() != null && res.getPeakMemoryKb() > memoryLimitMb * 1024L) {
+      return JavaProcessRunner.MEMORY_LIMIT_EXCEEDED;
+    }
+    return null;
+  }
+}
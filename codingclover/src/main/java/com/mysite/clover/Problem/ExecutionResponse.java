@@ -8,5 +8,11 @@ import lombok.Data;
 public class ExecutionResponse {
   private String output; // 표준 출력 (System.out)
   private String error; // 에러 메시지 (System.err / 컴파일 에러)
-  private long executionTime; // 실행 소요 시간 (ms)
+  private long executionTime; // 실행 소요 시간 (ms, 컴파일 제외)
+  private long compileTime; // 컴파일 소요 시간 (ms, 캐시 적중 시 0)
+  private Long cpuTime; // 실행 CPU 시간 (ms, 측정 불가 시 null)
+  private Long peakMemoryKb; // 최대 메모리 사용량 (KB, 측정 불가 시 null)
+  private boolean limitsEnforced; // 샌드박스에서 메모리 제한을 직접 적용했는지 (RSS 기준 메모리 검사 생략)
+  private Boolean outputMatched; // 실행 중 기대 출력과 비교한 결과 (비교하지 않았으면 null)
+  private String limitExceeded; // 초과한 제한에 대한 채점 상태 (예: OUTPUT_LIMIT_EXCEEDED, 없으면 null)
 }
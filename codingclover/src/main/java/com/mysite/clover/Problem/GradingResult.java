@@ -1,14 +1,21 @@
 package com.mysite.clover.Problem;
 
+import java.util.List;
+
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 @Builder
 public class GradingResult {
-  private String status; // 전체 통과 여부 (PASS, FAIL)
+  private String status; // 전체 통과 여부 (PASS, FAIL, ERROR, *_LIMIT_EXCEEDED)
   private int totalCases; // 총 테스트 케이스 수
   private int passedCases; // 통과한 케이스 수
+  private int score; // 배점 기준 점수 (0~100)
   private String message; // 실패 시 메시지 (예: "3번째 케이스에서 오답")
-  private Long executionTime; // 총 소요 시간
+  private Long executionTime; // 총 소요 시간 (케이스 실행 시간 합, 컴파일 제외)
+  private Long compileTime; // 컴파일 소요 시간 (ms)
+  private Long cpuTime; // 케이스 CPU 시간 합 (ms, 측정 불가 시 null)
+  private Long peakMemoryKb; // 케이스 중 최대 메모리 사용량 (KB, 측정 불가 시 null)
+  private List<TestCaseResult> cases; // 케이스별 결과 (실행 시간 포함)
 }
@@ -0,0 +1,289 @@
+package com.mysite.clover.Problem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 제출 코드 채점 - 한 번 컴파일한 결과로 문제의 모든 테스트 케이스를 실행
+// - fail-fast (기본): 케이스를 순서대로 실행하다 처음 실패한 케이스에서 중단
+// - parallel: 모든 케이스를 동시에 실행한 뒤 결과를 모아서 판정
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradingService {
+
+  private final CodeExecutor codeExecutor;
+  private final CompilationCache compilationCache;
+  private final TestCaseRepository testCaseRepository;
+
+  @Value("${judge.grading.mode:fail-fast}")
+  private String mode = "fail-fast";
+
+  @Value("${judge.grading.parallelism:4}")
+  private int parallelism = 4;
+
+  // 문제에 제한이 설정되지 않은 경우 기본값
+  @Value("${judge.limits.default-time-ms:5000}")
+  private long defaultTimeLimitMs = 5000;
+
+  @Value("${judge.limits.default-memory-mb:256}")
+  private int defaultMemoryLimitMb = 256;
+
+  private ExecutorService caseExecutor; // parallel 모드 전용
+
+  @PostConstruct
+  public void init() {
+    if (isParallel()) {
+      caseExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+        Thread thread = new Thread(r, "judge-case");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (caseExecutor != null) {
+      caseExecutor.shutdownNow();
+    }
+  }
+
+  // 단순 실행 (컴파일 + 입력값 1회 실행)
+  public ExecutionResponse run(Problem problem, ExecutionRequest request) {
+    CompiledProgram program = compilationCache.compile(request.getCode());
+    if (!program.isSuccess()) {
+      return ExecutionResponse.builder()
+          .output("")
+          .error(program.getCompileError())
+          .compileTime(program.getCompileTime())
+          .build();
+    }
+
+    // executionTime 은 실행기에서 측정한 실행 시간, 컴파일 시간은 따로 표시
+    ExecutionLimits limits = ExecutionLimits.of(problem, defaultTimeLimitMs, defaultMemoryLimitMb);
+    ExecutionResponse response = codeExecutor.execute(program, request.getInput(), limits);
+    response.setCompileTime(program.getCompileTime());
+    return response;
+  }
+
+  public GradingResult grade(Problem problem, String code) {
+    List<TestCase> testCases = loadTestCases(problem);
+    if (testCases.isEmpty()) {
+      return GradingResult.builder()
+          .status("ERROR")
+          .message("채점할 테스트 케이스가 없습니다.")
+          .executionTime(0L)
+          .cases(List.of())
+          .build();
+    }
+
+    // 1. 컴파일 (한 번만, 같은 코드는 캐시 사용)
+    CompiledProgram program = compilationCache.compile(code);
+    if (!program.isSuccess()) {
+      return GradingResult.builder()
+          .status("ERROR")
+          .totalCases(testCases.size())
+          .message("실행 중 에러: " + program.getCompileError())
+          .executionTime(0L)
+          .compileTime(program.getCompileTime())
+          .cases(List.of())
+          .build();
+    }
+
+    // 2. 케이스 실행
+    ExecutionLimits limits = ExecutionLimits.of(problem, defaultTimeLimitMs, defaultMemoryLimitMb);
+    List<StreamingOutputChecker> checkers = testCases.stream()
+        .map(testCase -> StreamingOutputChecker.of(problem, testCase.getExpectedOutput()))
+        .toList();
+    List<ExecutionResponse> responses = isParallel()
+        ? runParallel(program, testCases, checkers, limits)
+        : runFailFast(program, testCases, checkers, limits);
+
+    // 3. 케이스별 판정 및 집계
+    List<TestCaseResult> results = new ArrayList<>();
+    int passedCases = 0;
+    int passedWeight = 0;
+    int totalWeight = 0;
+    long totalTime = 0;
+    Long totalCpuTime = null;
+    Long peakMemoryKb = null;
+    String status = "PASS";
+    String message = "정답입니다!";
+
+    for (int i = 0; i < testCases.size(); i++) {
+      TestCase testCase = testCases.get(i);
+      int weight = testCase.getWeight() != null ? testCase.getWeight() : 1;
+      totalWeight += weight;
+
+      if (i >= responses.size()) {
+        continue; // fail-fast 로 실행하지 않은 케이스
+      }
+
+      ExecutionResponse res = responses.get(i);
+      StreamingOutputChecker checker = checkers.get(i);
+      String caseStatus = judge(res, checker, limits);
+      totalTime += res.getExecutionTime();
+      if (res.getCpuTime() != null) {
+        totalCpuTime = (totalCpuTime != null ? totalCpuTime : 0) + res.getCpuTime();
+      }
+      if (res.getPeakMemoryKb() != null) {
+        peakMemoryKb = peakMemoryKb != null ? Math.max(peakMemoryKb, res.getPeakMemoryKb()) : res.getPeakMemoryKb();
+      }
+      results.add(TestCaseResult.builder()
+          .caseNo(i + 1)
+          .status(caseStatus)
+          .weight(weight)
+          .executionTime(res.getExecutionTime())
+          .cpuTime(res.getCpuTime())
+          .peakMemoryKb(res.getPeakMemoryKb())
+          .build());
+
+      if ("PASS".equals(caseStatus)) {
+        passedCases++;
+        passedWeight += weight;
+      } else if ("PASS".equals(status)) {
+        // 처음 실패한 케이스 기준으로 메시지 작성
+        status = caseStatus;
+        message = failureMessage(i + 1, caseStatus, res, checker, limits);
+      }
+    }
+
+    return GradingResult.builder()
+        .status(status)
+        .totalCases(testCases.size())
+        .passedCases(passedCases)
+        .score(totalWeight > 0 ? passedWeight * 100 / totalWeight : 0)
+        .message(message)
+        .executionTime(totalTime)
+        .compileTime(program.getCompileTime())
+        .cpuTime(totalCpuTime)
+        .peakMemoryKb(peakMemoryKb)
+        .cases(results)
+        .build();
+  }
+
+  // 등록된 테스트 케이스가 없으면 문제의 expectedOutput 을 입력 없는 단일 케이스로 사용 (기존 문제 호환)
+  private List<TestCase> loadTestCases(Problem problem) {
+    List<TestCase> testCases = testCaseRepository.findByProblemOrderByOrderNoAscTestCaseIdAsc(problem);
+    if (!testCases.isEmpty()) {
+      return testCases;
+    }
+    String expected = problem.getExpectedOutput();
+    if (expected == null || expected.trim().isEmpty()) {
+      return List.of();
+    }
+    TestCase implicitCase = new TestCase();
+    implicitCase.setProblem(problem);
+    implicitCase.setExpectedOutput(expected);
+    return List.of(implicitCase);
+  }
+
+  private List<ExecutionResponse> runFailFast(CompiledProgram program, List<TestCase> testCases,
+      List<StreamingOutputChecker> checkers, ExecutionLimits limits) {
+    List<ExecutionResponse> responses = new ArrayList<>();
+    for (int i = 0; i < testCases.size(); i++) {
+      ExecutionResponse res = executeCase(program, testCases.get(i), checkers.get(i), limits);
+      responses.add(res);
+      if (!"PASS".equals(judge(res, checkers.get(i), limits))) {
+        break;
+      }
+    }
+    return responses;
+  }
+
+  private List<ExecutionResponse> runParallel(CompiledProgram program, List<TestCase> testCases,
+      List<StreamingOutputChecker> checkers, ExecutionLimits limits) {
+    List<Future<ExecutionResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < testCases.size(); i++) {
+      TestCase testCase = testCases.get(i);
+      StreamingOutputChecker checker = checkers.get(i);
+      futures.add(caseExecutor.submit(() -> executeCase(program, testCase, checker, limits)));
+    }
+
+    List<ExecutionResponse> responses = new ArrayList<>();
+    for (Future<ExecutionResponse> future : futures) {
+      try {
+        responses.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        responses.add(errorResponse("서버 내부 오류: 채점이 중단되었습니다."));
+        break;
+      } catch (ExecutionException e) {
+        log.error("테스트 케이스 실행 실패", e.getCause());
+        responses.add(errorResponse("서버 내부 오류: " + e.getCause().getMessage()));
+      }
+    }
+    return responses;
+  }
+
+  // 케이스 실행 - 출력은 실행 중에 바로 비교 (출력 스트리밍을 지원하지 않는 실행기는 실행 후 전체 출력으로 비교)
+  private ExecutionResponse executeCase(CompiledProgram program, TestCase testCase, StreamingOutputChecker checker,
+      ExecutionLimits limits) {
+    ExecutionResponse res = codeExecutor.execute(program, testCase.getInput(), limits, checker);
+    if (res.getOutputMatched() == null && res.getLimitExceeded() == null) {
+      res.setOutputMatched(checker.check(res.getOutput()));
+    }
+    return res;
+  }
+
+  // 케이스 판정 (PASS, FAIL, ERROR, *_LIMIT_EXCEEDED)
+  private String judge(ExecutionResponse res, StreamingOutputChecker checker, ExecutionLimits limits) {
+    if (res.getLimitExceeded() != null) {
+      return res.getLimitExceeded();
+    }
+    String limitStatus = limits.check(res);
+    if (limitStatus != null) {
+      return limitStatus;
+    }
+    // 틀린 출력에서 강제 종료된 경우 에러 출력이 있어도 오답으로 처리
+    if (checker.isMismatch()) {
+      return "FAIL";
+    }
+    if (res.getError() != null && !res.getError().isEmpty()) {
+      return "ERROR";
+    }
+    return Boolean.TRUE.equals(res.getOutputMatched()) ? "PASS" : "FAIL";
+  }
+
+  private String failureMessage(int caseNo, String caseStatus, ExecutionResponse res, StreamingOutputChecker checker,
+      ExecutionLimits limits) {
+    if ("ERROR".equals(caseStatus)) {
+      return caseNo + "번째 케이스 실행 중 에러: " + res.getError();
+    }
+    if (res.getLimitExceeded() != null) {
+      return caseNo + "번째 케이스에서 " + res.getError();
+    }
+    if (JavaProcessRunner.TIME_LIMIT_EXCEEDED.equals(caseStatus)) {
+      return caseNo + "번째 케이스에서 시간 초과 (제한: " + limits.timeLimitMs() + "ms)";
+    }
+    if (JavaProcessRunner.MEMORY_LIMIT_EXCEEDED.equals(caseStatus)) {
+      return caseNo + "번째 케이스에서 메모리 초과 (제한: " + limits.memoryLimitMb() + "MB)";
+    }
+    return caseNo + "번째 케이스에서 오답입니다.\n" + checker.getMismatch();
+  }
+
+  private boolean isParallel() {
+    return "parallel".equalsIgnoreCase(mode);
+  }
+
+  private static ExecutionResponse errorResponse(String message) {
+    return ExecutionResponse.builder()
+        .output("")
+        .error(message)
+        .executionTime(0L)
+        .build();
+  }
+}
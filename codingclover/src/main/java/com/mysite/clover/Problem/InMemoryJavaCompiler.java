@@ -0,0 +1,192 @@
+package com.mysite.clover.Problem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// javax.tools.JavaCompiler 로 메모리 안에서 컴파일 (javac 프로세스 / 임시 파일 없음)
+// - 컴파일은 전용 스레드 풀에서 실행하고 제한 시간까지만 기다림 (거대한 상수 / 깊은 제네릭 등으로 javac 가 오래 걸리는 코드 대비)
+// - 시간 초과 시 작업 스레드를 interrupt 하지만 javac 가 즉시 멈춘다는 보장은 없음
+//   -> 풀 크기를 제한해서 멈추지 않는 컴파일이 서버 스레드를 계속 늘리지 못하게 함
+@Component
+public class InMemoryJavaCompiler {
+
+  // 기존 실행기와 동일하게 main.java (public class main) 기준으로 컴파일
+  private static final String SOURCE_NAME = "main";
+  private static final List<String> OPTIONS = List.of("-encoding", "UTF-8", "-proc:none", "-nowarn");
+
+  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+  @Value("${judge.compile.timeout-ms:5000}")
+  private long compileTimeoutMs = 5000;
+
+  @Value("${judge.compile.parallelism:4}")
+  private int parallelism = 4;
+
+  private ExecutorService compileExecutor;
+
+  @PostConstruct
+  public void init() {
+    compileExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+      Thread thread = new Thread(r, "judge-compiler");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    compileExecutor.shutdownNow();
+  }
+
+  public CompiledProgram compile(String code) {
+    long startTime = System.currentTimeMillis();
+
+    if (compiler == null) {
+      // JRE 만 설치된 환경에서는 시스템 컴파일러가 없음
+      return CompiledProgram.builder()
+          .compileError("서버 내부 오류: 시스템 Java 컴파일러를 찾을 수 없습니다. (JDK 환경에서 실행해야 합니다)")
+          .build();
+    }
+
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+    // StandardJavaFileManager 는 스레드 안전하지 않으므로 요청마다 새로 생성
+    StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics, Locale.getDefault(),
+        StandardCharsets.UTF_8);
+
+    try (JavaFileManager fileManager = new MemoryFileManager(standardManager, outputs)) {
+
+      JavaFileObject source = new SourceObject(SOURCE_NAME, code);
+      Future<Boolean> task = compileExecutor.submit(() -> compiler
+          .getTask(null, fileManager, diagnostics, OPTIONS, null, List.of(source))
+          .call());
+
+      boolean success;
+      try {
+        success = task.get(compileTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        task.cancel(true);
+        return CompiledProgram.builder()
+            .compileError("컴파일 시간 초과: " + compileTimeoutMs + "ms 안에 컴파일이 끝나지 않았습니다.")
+            .compileTime(System.currentTimeMillis() - startTime)
+            .timedOut(true)
+            .build();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+      }
+
+      if (!success) {
+        return CompiledProgram.builder()
+            .compileError("컴파일 에러:\n" + formatDiagnostics(diagnostics))
+            .compileTime(System.currentTimeMillis() - startTime)
+            .build();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompiledProgram.builder()
+          .compileError("서버 내부 오류: 컴파일 대기 중 중단되었습니다.")
+          .compileTime(System.currentTimeMillis() - startTime)
+          .build();
+    } catch (RejectedExecutionException e) {
+      return CompiledProgram.builder()
+          .compileError("서버 내부 오류: 컴파일 작업을 시작할 수 없습니다.")
+          .compileTime(System.currentTimeMillis() - startTime)
+          .build();
+    } catch (Exception e) {
+      return CompiledProgram.builder()
+          .compileError("서버 내부 오류: " + e.getMessage())
+          .compileTime(System.currentTimeMillis() - startTime)
+          .build();
+    }
+
+    Map<String, byte[]> classes = new HashMap<>();
+    outputs.forEach((name, bytes) -> classes.put(name, bytes.toByteArray()));
+
+    return CompiledProgram.builder()
+        .classes(classes)
+        .compileTime(System.currentTimeMillis() - startTime)
+        .build();
+  }
+
+  // javac 콘솔 출력과 비슷한 형태로 에러 메시지 구성 (main.java:3: error: ...)
+  private String formatDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics) {
+    StringBuilder sb = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+      if (d.getKind() != Diagnostic.Kind.ERROR) {
+        continue;
+      }
+      sb.append(SOURCE_NAME).append(".java:").append(d.getLineNumber()).append(": error: ")
+          .append(d.getMessage(Locale.getDefault())).append('\n');
+    }
+    return sb.toString().trim();
+  }
+
+  // 문자열 소스를 컴파일러에 넘기기 위한 JavaFileObject
+  private static class SourceObject extends SimpleJavaFileObject {
+    private final String code;
+
+    SourceObject(String className, String code) {
+      super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return code;
+    }
+  }
+
+  // 컴파일 결과(.class)를 디스크 대신 메모리에 기록하는 파일 매니저
+  private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+    private final Map<String, ByteArrayOutputStream> outputs;
+
+    MemoryFileManager(StandardJavaFileManager fileManager, Map<String, ByteArrayOutputStream> outputs) {
+      super(fileManager);
+      this.outputs = outputs;
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+        FileObject sibling) {
+      return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+        @Override
+        public OutputStream openOutputStream() {
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          outputs.put(className, out);
+          return out;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.mysite.clover.Problem;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+// 컴파일은 javax.tools 로 서버 JVM 안에서 처리하고, 실행만 별도 프로세스로 띄우는 실행기 (judge.executor=in-process)
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.executor", havingValue = "in-process")
+public class InProcessJavaExecutor implements CodeExecutor {
+
+  private final InMemoryJavaCompiler inMemoryJavaCompiler;
+  private final JavaProcessRunner javaProcessRunner;
+
+  @Override
+  public CompiledProgram compile(String code) {
+    // 메모리 컴파일 (javac 프로세스 / 소스 파일 없음)
+    return inMemoryJavaCompiler.compile(code);
+  }
+
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits) {
+    return execute(program, input, limits, null);
+  }
+
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    // 실행용 클래스 파일만 임시 디렉토리에 풀어서 실행 (java -cp . main)
+    return javaProcessRunner.run(program.getClasses(), input, limits, checker);
+  }
+}
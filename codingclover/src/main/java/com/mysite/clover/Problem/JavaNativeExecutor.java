@@ -1,22 +1,33 @@
 package com.mysite.clover.Problem;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import lombok.RequiredArgsConstructor;
+
+// javac / java 프로세스를 각각 띄워서 실행하는 기본 실행기 (judge.executor=native)
 @Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.executor", havingValue = "native", matchIfMissing = true)
 public class JavaNativeExecutor implements CodeExecutor {
 
+  // 컴파일 에러 메시지 최대 보관 크기
+  private static final int MAX_COMPILE_ERROR_BYTES = 64 * 1024;
+
+  private final JavaProcessRunner javaProcessRunner;
+
   @Override
-  public ExecutionResponse run(ExecutionRequest request) {
+  public CompiledProgram compile(String code) {
     long startTime = System.currentTimeMillis();
     Path tempDir = null;
 
@@ -27,104 +38,77 @@ public class JavaNativeExecutor implements CodeExecutor {
       // 2. 소스 파일(main.java) 생성 (public class main 지원)
       File sourceFile = new File(tempDir.toFile(), "main.java");
       // 여기서 UTF-8로 저장해야 컴파일러가 깨지지 않음
-      Files.write(sourceFile.toPath(), request.getCode().getBytes(StandardCharsets.UTF_8));
+      Files.write(sourceFile.toPath(), code.getBytes(StandardCharsets.UTF_8));
 
       // 3. 컴파일
       ProcessBuilder compileBuilder = new ProcessBuilder("javac", "-encoding", "UTF-8", sourceFile.getAbsolutePath());
       compileBuilder.directory(tempDir.toFile());
+      compileBuilder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
       Process compileProcess = compileBuilder.start();
 
-      boolean compiled = compileProcess.waitFor(5, TimeUnit.SECONDS);
+      // 컴파일 에러는 별도 스레드로 읽음 (에러가 많아 파이프 버퍼가 차도 javac 가 멈추지 않도록)
+      // 너무 긴 에러 메시지는 잘라서 보관 (javac 는 끝까지 실행)
+      BoundedStreamPump errorPump = BoundedStreamPump.start(compileProcess.getErrorStream(),
+          MAX_COMPILE_ERROR_BYTES, () -> {
+          }, "judge-javac-stderr");
 
-      // 컴파일 에러 캡처 (종료 후 읽기)
-      // 주의: 컴파일러 출력이 버퍼를 가득 채우면 waitFor에서 멈출 수 있으나,
-      // javac 에러 메시지는 보통 짧으므로 큰 문제는 안됨.
-      // 완벽히 하려면 별도 스레드로 읽어야 하지만 여기선 순서만 바꿈.
-      String compileError = readStream(compileProcess.getErrorStream());
-
-      if (!compiled || compileProcess.exitValue() != 0) {
-        return ExecutionResponse.builder()
-            .output("")
-            .error("컴파일 에러:\n" + compileError)
-            .executionTime(System.currentTimeMillis() - startTime)
-            .build();
+      boolean compiled = compileProcess.waitFor(5, TimeUnit.SECONDS);
+      if (!compiled) {
+        compileProcess.destroyForcibly();
       }
-
-      // 4. 실행 (java -cp . main)
-      // ProcessBuilder runBuilder = new ProcessBuilder("java", "-cp", ".", "Main");
-      // 윈도우 환경에서 한글 깨짐 방지를 위해 -Dfile.encoding=UTF-8 옵션 추가 고려 가능하나,
-      // 현재 콘솔 출력(MS949)을 읽고 있으므로 주의 필요. 일단 그대로 둠.
-      ProcessBuilder runBuilder = new ProcessBuilder("java", "-cp", ".", "main");
-      runBuilder.directory(tempDir.toFile());
-      Process runProcess = runBuilder.start();
-
-      // [핵심 수정] 입력값(System.in) 처리 - 입력이 없어도 닫아줘야 EOF가 전달됨
-      try (java.io.OutputStream os = runProcess.getOutputStream()) {
-        if (request.getInput() != null && !request.getInput().isEmpty()) {
-          os.write(request.getInput().getBytes(StandardCharsets.UTF_8)); // UTF-8로 입력 전달
-          os.flush();
-        }
-      } catch (IOException e) {
-        // 스트림 쓰기 중 에러는 무시하거나 로그 (프로세스가 이미 종료되었을 수 있음)
-        System.err.println("입력값 전달 중 에러: " + e.getMessage());
+      errorPump.await(JavaProcessRunner.PUMP_DRAIN_MILLIS);
+      String compileError = errorPump.getText(Charset.forName("MS949"));
+
+      if (!compiled) {
+        return CompiledProgram.builder()
+            .compileError("컴파일 시간 초과: 5초 안에 컴파일이 끝나지 않았습니다.\n" + compileError)
+            .compileTime(System.currentTimeMillis() - startTime)
+            .timedOut(true)
+            .build();
       }
-
-      // 실행 결과 캡처
-      // 10초 타임아웃 (무한루프 방지)
-      boolean finished = runProcess.waitFor(10, TimeUnit.SECONDS);
-
-      if (!finished) {
-        runProcess.destroyForcibly(); // 강제 종료 강화
-        return ExecutionResponse.builder()
-            .output("")
-            .error("시간 초과 (10초)")
-            .executionTime(System.currentTimeMillis() - startTime)
+      if (compileProcess.exitValue() != 0) {
+        return CompiledProgram.builder()
+            .compileError("컴파일 에러:\n" + compileError)
+            .compileTime(System.currentTimeMillis() - startTime)
             .build();
       }
 
-      // 이미 종료된 프로세스의 스트림 읽기
-      String output = readStream(runProcess.getInputStream(), "MS949");
-      String error = readStream(runProcess.getErrorStream(), "MS949");
+      // 4. 생성된 클래스 파일을 메모리로 읽어둠 (테스트 케이스마다 재사용)
+      Map<String, byte[]> classes = new HashMap<>();
+      try (Stream<Path> files = Files.list(tempDir)) {
+        for (Path file : files.filter(f -> f.toString().endsWith(".class")).toList()) {
+          String fileName = file.getFileName().toString();
+          classes.put(fileName.substring(0, fileName.length() - ".class".length()), Files.readAllBytes(file));
+        }
+      }
 
-      return ExecutionResponse.builder()
-          .output(output)
-          .error(error)
-          .executionTime(System.currentTimeMillis() - startTime)
+      return CompiledProgram.builder()
+          .classes(classes)
+          .compileTime(System.currentTimeMillis() - startTime)
           .build();
 
     } catch (Exception e) {
-      return ExecutionResponse.builder()
-          .output("")
-          .error("서버 내부 오류: " + e.getMessage())
-          .executionTime(System.currentTimeMillis() - startTime)
+      return CompiledProgram.builder()
+          .compileError("서버 내부 오류: " + e.getMessage())
+          .compileTime(System.currentTimeMillis() - startTime)
           .build();
     } finally {
       // 5. 뒷정리 (임시 파일 삭제)
-      deleteDirectory(tempDir.toFile());
-    }
-  }
-
-  // 인코딩 파라미터 추가
-  private String readStream(java.io.InputStream stream, String encoding) throws IOException {
-    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, encoding))) {
-      return reader.lines().collect(Collectors.joining("\n"));
+      if (tempDir != null) {
+        JavaProcessRunner.deleteDirectory(tempDir.toFile());
+      }
     }
   }
 
-  // 오버로딩 (기존 호환성) - 컴파일 에러는 UTF-8로 읽어야 할 수도 있음 (javac 옵션에 따름)
-  private String readStream(java.io.InputStream stream) throws IOException {
-    return readStream(stream, "MS949");
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits) {
+    return execute(program, input, limits, null);
   }
 
-  private void deleteDirectory(File directory) {
-    if (directory == null || !directory.exists())
-      return;
-    File[] files = directory.listFiles();
-    if (files != null) {
-      for (File file : files) {
-        file.delete();
-      }
-    }
-    directory.delete();
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    // 실행 (java -cp . main)
+    return javaProcessRunner.run(program.getClasses(), input, limits, checker);
   }
 }
@@ -0,0 +1,285 @@
+package com.mysite.clover.Problem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 컴파일된 클래스 파일을 임시 디렉토리에 풀어서 java 프로세스로 실행 (실행기 공통 로직)
+// - 프로세스는 문제 시간 제한 + JVM 기동 여유 시간까지만 기다리고 강제 종료
+// - CPU 시간 / 최대 메모리는 자식 JVM 전체 기준으로 측정되므로 JVM 기동 비용(기준값)을 빼서 기록
+//   기준값: 서버 시작 시 빈 main 을 같은 방식(샌드박스 포함)으로 여러 번 실행해서 잰 최솟값 (측정 전/실패 시 0)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JavaProcessRunner {
+
+  // 기준값 측정용 빈 프로그램
+  private static final String EMPTY_PROGRAM = "public class main { public static void main(String[] args) { } }";
+  private static final int BASELINE_RUNS = 3;
+
+  // 프로세스 종료 후 남은 출력을 읽는 데 기다리는 최대 시간
+  static final long PUMP_DRAIN_MILLIS = 1000;
+
+  // 자식 프로세스 콘솔 출력 인코딩
+  private static final Charset OUTPUT_CHARSET = Charset.forName("MS949");
+
+  // 제한 초과 시 채점 상태
+  static final String OUTPUT_LIMIT_EXCEEDED = "OUTPUT_LIMIT_EXCEEDED";
+  static final String TIME_LIMIT_EXCEEDED = "TIME_LIMIT_EXCEEDED";
+  static final String MEMORY_LIMIT_EXCEEDED = "MEMORY_LIMIT_EXCEEDED";
+
+  // stdout / stderr 각각 최대 보관 크기 (넘으면 프로세스 종료)
+  @Value("${judge.output.max-bytes:1048576}")
+  private int maxOutputBytes = 1024 * 1024;
+
+  // 시간 제한에 더해 기다리는 JVM 기동 여유 시간 (판정은 기준값을 뺀 CPU 시간으로 ExecutionLimits 에서 함)
+  @Value("${judge.run.startup-allowance-ms:2000}")
+  private long startupAllowanceMs = 2000;
+
+  // JVM 기동 기준값 (빈 프로그램 실행 시 CPU 시간 / 최대 메모리)
+  private volatile long baselineCpuMillis;
+  private volatile long baselineMemoryKb;
+
+  private final SandboxLauncher sandboxLauncher;
+
+  // checker 가 있으면 출력을 받는 대로 비교하고, 틀리면 바로 종료 (없으면 null)
+  public ExecutionResponse run(Map<String, byte[]> classes, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    ExecutionResponse response = runRaw(classes, input, limits, checker);
+    if (response.getCpuTime() != null) {
+      response.setCpuTime(Math.max(0, response.getCpuTime() - baselineCpuMillis));
+    }
+    if (response.getPeakMemoryKb() != null) {
+      response.setPeakMemoryKb(Math.max(0, response.getPeakMemoryKb() - baselineMemoryKb));
+    }
+    return response;
+  }
+
+  // JVM 기동 기준값 측정 (빈 프로그램을 여러 번 실행해서 최솟값 사용 - 잡음으로 제출 코드 사용량을 과소 측정하지 않도록)
+  @EventListener(ApplicationReadyEvent.class)
+  public void measureBaseline() {
+    Map<String, byte[]> classes = compileEmptyProgram();
+    if (classes == null) {
+      log.warn("JVM 기동 기준값 측정 생략 (시스템 Java 컴파일러 없음) - CPU 시간 / 메모리에 JVM 기동 비용 포함");
+      return;
+    }
+
+    ExecutionLimits limits = new ExecutionLimits(10_000, 256);
+    long cpu = Long.MAX_VALUE;
+    long memory = Long.MAX_VALUE;
+    for (int i = 0; i < BASELINE_RUNS; i++) {
+      ExecutionResponse res = runRaw(classes, "", limits, null);
+      if (res.getCpuTime() == null || res.getPeakMemoryKb() == null || res.getLimitExceeded() != null) {
+        log.warn("JVM 기동 기준값 측정 실패 - CPU 시간 / 메모리에 JVM 기동 비용 포함 ({})", res.getError());
+        return;
+      }
+      cpu = Math.min(cpu, res.getCpuTime());
+      memory = Math.min(memory, res.getPeakMemoryKb());
+    }
+    baselineCpuMillis = cpu;
+    baselineMemoryKb = memory;
+    log.info("JVM 기동 기준값 (CPU: {}ms, 최대 메모리: {}KB)", cpu, memory);
+  }
+
+  private static Map<String, byte[]> compileEmptyProgram() {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      return null;
+    }
+    Path tempDir = null;
+    try {
+      tempDir = Files.createTempDirectory("java-baseline-");
+      Path source = tempDir.resolve("main.java");
+      Files.writeString(source, EMPTY_PROGRAM);
+      if (compiler.run(null, OutputStream.nullOutputStream(), OutputStream.nullOutputStream(),
+          source.toString()) != 0) {
+        return null;
+      }
+      return Map.of("main", Files.readAllBytes(tempDir.resolve("main.class")));
+    } catch (IOException e) {
+      return null;
+    } finally {
+      if (tempDir != null) {
+        deleteDirectory(tempDir.toFile());
+      }
+    }
+  }
+
+  // 측정값 그대로 반환 (기준값 미적용)
+  private ExecutionResponse runRaw(Map<String, byte[]> classes, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    long startTime = System.currentTimeMillis();
+    Path tempDir = null;
+    SandboxLauncher.SandboxRun sandbox = null;
+
+    try {
+      // 1. 실행용 클래스 파일만 임시 디렉토리에 기록 (각 실행마다 별도 폴더 사용)
+      tempDir = Files.createTempDirectory("java-exec-");
+      for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+        Path classFile = tempDir.resolve(entry.getKey().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, entry.getValue());
+      }
+
+      // 2. 실행 (java -cp . main), 샌드박스 사용 시 자원 제한 적용
+      if (sandboxLauncher.isEnabled()) {
+        sandbox = sandboxLauncher.open(limits);
+      }
+      return run(tempDir, input, sandbox, checker, limits.timeLimitMs() + startupAllowanceMs);
+
+    } catch (Exception e) {
+      return ExecutionResponse.builder()
+          .output("")
+          .error("서버 내부 오류: " + e.getMessage())
+          .executionTime(System.currentTimeMillis() - startTime)
+          .build();
+    } finally {
+      // 3. 뒷정리 (샌드박스 cgroup / 임시 파일 삭제)
+      if (sandbox != null) {
+        sandbox.close();
+      }
+      if (tempDir != null) {
+        deleteDirectory(tempDir.toFile());
+      }
+    }
+  }
+
+  private ExecutionResponse run(Path classDir, String input, SandboxLauncher.SandboxRun sandbox,
+      StreamingOutputChecker checker, long waitMs) throws IOException, InterruptedException {
+    // 윈도우 환경에서 한글 깨짐 방지를 위해 -Dfile.encoding=UTF-8 옵션 추가 고려 가능하나,
+    // 현재 콘솔 출력(MS949)을 읽고 있으므로 주의 필요. 일단 그대로 둠.
+    List<String> command = sandbox != null
+        ? sandbox.command(List.of("-cp", ".", "main"))
+        : List.of("java", "-cp", ".", "main");
+    ProcessBuilder runBuilder = new ProcessBuilder(command);
+    runBuilder.directory(classDir.toFile());
+
+    // 실행 시간은 프로세스 기동 시점부터 측정 (임시 파일 기록 / 컴파일 시간 제외)
+    long startTime = System.currentTimeMillis();
+    Process runProcess = runBuilder.start();
+    ProcessResourceMonitor monitor = ProcessResourceMonitor.start(runProcess);
+
+    // 출력은 실행과 동시에 비워줌 (파이프 버퍼가 차서 멈추는 것 방지), 제한을 넘으면 바로 종료
+    if (checker != null) {
+      checker.setCharset(OUTPUT_CHARSET);
+    }
+    BoundedStreamPump out = BoundedStreamPump.start(runProcess.getInputStream(), maxOutputBytes, checker,
+        runProcess::destroyForcibly, "judge-stdout");
+    BoundedStreamPump err = BoundedStreamPump.start(runProcess.getErrorStream(), maxOutputBytes,
+        runProcess::destroyForcibly, "judge-stderr");
+
+    // 입력값(System.in) 처리 - 입력이 없어도 닫아줘야 EOF가 전달됨
+    try (OutputStream os = runProcess.getOutputStream()) {
+      if (input != null && !input.isEmpty()) {
+        os.write(input.getBytes(StandardCharsets.UTF_8)); // UTF-8로 입력 전달
+        os.flush();
+      }
+    } catch (IOException e) {
+      // 프로세스가 입력을 다 읽기 전에 종료된 경우 등 - 실행 결과로 판단하므로 로그만 남김
+      log.warn("입력값 전달 중 에러", e);
+    }
+
+    // 실행 결과 캡처
+    boolean finished = runProcess.waitFor(waitMs, TimeUnit.MILLISECONDS);
+    long executionTime = System.currentTimeMillis() - startTime;
+    monitor.stop();
+
+    if (!finished) {
+      runProcess.destroyForcibly(); // 강제 종료 강화
+      return ExecutionResponse.builder()
+          .output("")
+          .error("시간 초과 (" + (waitMs - startupAllowanceMs) + "ms)")
+          .limitExceeded(TIME_LIMIT_EXCEEDED)
+          .executionTime(executionTime)
+          .cpuTime(monitor.getCpuMillis())
+          .peakMemoryKb(monitor.getPeakMemoryKb())
+          .build();
+    }
+
+    // 종료 후 파이프에 남은 출력까지 수집
+    out.await(PUMP_DRAIN_MILLIS);
+    err.await(PUMP_DRAIN_MILLIS);
+    ExecutionResponse response = collect(out, err, executionTime);
+    if (checker != null && response.getLimitExceeded() == null) {
+      response.setOutputMatched(checker.finish());
+    }
+    response.setCpuTime(monitor.getCpuMillis());
+    response.setPeakMemoryKb(monitor.getPeakMemoryKb());
+    if (sandbox != null) {
+      applySandboxResult(response, sandbox, runProcess.exitValue());
+    }
+    return response;
+  }
+
+  // 샌드박스 측정값(cgroup)으로 보정하고, 제한 초과로 종료된 경우 해당 상태로 표시
+  private void applySandboxResult(ExecutionResponse response, SandboxLauncher.SandboxRun sandbox, int exitCode) {
+    response.setLimitsEnforced(true);
+    Long cpuMillis = sandbox.getCpuMillis();
+    if (cpuMillis != null) {
+      response.setCpuTime(cpuMillis);
+    }
+    Long peakMemoryKb = sandbox.getPeakMemoryKb();
+    if (peakMemoryKb != null) {
+      response.setPeakMemoryKb(peakMemoryKb);
+    }
+    if (response.getLimitExceeded() == null) {
+      String status = sandbox.inspect(exitCode, response.getError());
+      if (status != null) {
+        response.setLimitExceeded(status);
+        response.setError(sandbox.describe(status));
+      }
+    }
+  }
+
+  // 펌프에 모인 출력으로 실행 결과 구성 (출력 제한 초과 시 잘린 출력 + 별도 상태)
+  private ExecutionResponse collect(BoundedStreamPump out, BoundedStreamPump err, long executionTime) {
+    if (out.isLimitExceeded() || err.isLimitExceeded()) {
+      return ExecutionResponse.builder()
+          .output(out.getText(OUTPUT_CHARSET))
+          .error("출력 초과 (" + maxOutputBytes + "바이트)")
+          .limitExceeded(OUTPUT_LIMIT_EXCEEDED)
+          .executionTime(executionTime)
+          .build();
+    }
+
+    return ExecutionResponse.builder()
+        .output(out.getText(OUTPUT_CHARSET))
+        .error(err.getText(OUTPUT_CHARSET))
+        .executionTime(executionTime)
+        .build();
+  }
+
+  static void deleteDirectory(File directory) {
+    if (directory == null || !directory.exists())
+      return;
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (file.isDirectory()) {
+          deleteDirectory(file);
+        } else {
+          file.delete();
+        }
+      }
+    }
+    directory.delete();
+  }
+}
@@ -0,0 +1,97 @@
+package com.mysite.clover.Problem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.Getter;
+
+// 채점 대기열에 들어간 제출 한 건의 진행 상태 (JudgeQueue 내부에서 관리)
+@Getter
+public class JudgeJob {
+
+  private final Long submissionId; // 비회원 작업은 DB 에 저장하지 않으므로 임의의 음수 ID
+  private final Long problemId;
+  private final String ownerLoginId; // 제출한 회원 로그인 ID (비회원이면 null)
+  private final long enqueuedAt = System.currentTimeMillis();
+  private String status = "PENDING"; // PENDING -> RUNNING -> PASS / FAIL / ERROR
+  private GradingResult result;
+  private long finishedAt;
+
+  // 결과를 기다리는 SSE 구독자
+  private final List<SseEmitter> emitters = new ArrayList<>();
+
+  JudgeJob(Long submissionId, Long problemId, String ownerLoginId) {
+    this.submissionId = submissionId;
+    this.problemId = problemId;
+    this.ownerLoginId = ownerLoginId;
+  }
+
+  // 결과를 Submission 에 저장하는 작업인지 (회원 제출, 비회원 작업 ID 는 음수)
+  public boolean isPersisted() {
+    return submissionId > 0;
+  }
+
+  // 해당 문제의 작업이고, 회원 제출이면 본인인지 (비회원 작업은 추측할 수 없는 ID 로만 접근)
+  public boolean isAccessibleBy(Long problemId, String loginId) {
+    if (!this.problemId.equals(problemId)) {
+      return false;
+    }
+    return ownerLoginId == null || ownerLoginId.equals(loginId);
+  }
+
+  public synchronized boolean isDone() {
+    return result != null;
+  }
+
+  synchronized void markRunning() {
+    status = "RUNNING";
+    new ArrayList<>(emitters).forEach(emitter -> send(emitter, "status", status));
+  }
+
+  // 결과 확정 후 대기 중인 구독자 모두에게 전송
+  synchronized void complete(GradingResult gradingResult) {
+    result = gradingResult;
+    status = gradingResult.getStatus();
+    finishedAt = System.currentTimeMillis();
+    List<SseEmitter> subscribers = new ArrayList<>(emitters);
+    emitters.clear();
+    subscribers.forEach(emitter -> {
+      if (send(emitter, "result", gradingResult)) {
+        emitter.complete();
+      }
+    });
+  }
+
+  // 구독 등록 - 이미 끝난 작업이면 바로 결과를 보내고 종료
+  synchronized void subscribe(SseEmitter emitter) {
+    if (result != null) {
+      if (send(emitter, "result", result)) {
+        emitter.complete();
+      }
+      return;
+    }
+    if (send(emitter, "status", status)) {
+      emitters.add(emitter);
+      emitter.onCompletion(() -> unsubscribe(emitter));
+      emitter.onTimeout(() -> unsubscribe(emitter));
+    }
+  }
+
+  private synchronized void unsubscribe(SseEmitter emitter) {
+    emitters.remove(emitter);
+  }
+
+  private static boolean send(SseEmitter emitter, String name, Object data) {
+    try {
+      emitter.send(SseEmitter.event().name(name).data(data));
+      return true;
+    } catch (IOException | IllegalStateException e) {
+      // 클라이언트가 연결을 끊은 경우
+      emitter.completeWithError(e);
+      return false;
+    }
+  }
+}
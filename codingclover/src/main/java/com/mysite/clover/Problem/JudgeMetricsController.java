@@ -0,0 +1,49 @@
+package com.mysite.clover.Problem;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+// 채점 서버 상태 지표 조회 (관리자용)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/judge")
+public class JudgeMetricsController {
+
+  // 러너 풀은 judge.executor=pooled 일 때만 생성됨
+  private final ObjectProvider<WarmJvmPool> warmJvmPool;
+  private final JudgeQueue judgeQueue;
+  private final CompilationCache compilationCache;
+
+  // 채점 대기열 상태 (대기 중 작업 수, 대기 시간, 워커 사용률)
+  @GetMapping("/queue")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getQueueMetrics() {
+    return ResponseEntity.ok(judgeQueue.getMetrics());
+  }
+
+  // 러너 JVM 풀 상태
+  @GetMapping("/pool")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getPoolMetrics() {
+    WarmJvmPool pool = warmJvmPool.getIfAvailable();
+    if (pool == null) {
+      return ResponseEntity.ok(Map.of("enabled", false));
+    }
+    return ResponseEntity.ok(pool.getMetrics());
+  }
+
+  // 컴파일 결과 캐시 상태 (적중/미스 횟수, 사용 용량)
+  @GetMapping("/compile-cache")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getCompileCacheMetrics() {
+    return ResponseEntity.ok(compilationCache.getMetrics());
+  }
+}
@@ -0,0 +1,207 @@
+package com.mysite.clover.Problem;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mysite.clover.Submission.Submission;
+import com.mysite.clover.Submission.SubmissionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 채점 대기열 - 제출 요청 스레드(Tomcat)는 작업만 넣고 바로 반환, 채점은 전용 워커 스레드에서 처리
+// - 대기열이 가득 차면 즉시 거절 (요청 스레드가 채점을 기다리며 묶이지 않도록)
+// - 진행 상태/결과는 메모리에 잠시 보관하고, 지난 결과는 DB(Submission)에서 조회
+// - 비회원 제출은 DB 에 저장하지 않고 메모리 작업으로만 채점 (보관 시간이 지나면 조회 불가)
+// - 서버 재시작 시 PENDING 으로 남은 제출을 다시 대기열에 넣음 (대기열이 가득 차면 ERROR 처리)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JudgeQueue {
+
+  private final GradingService gradingService;
+  private final SubmissionService submissionService;
+
+  @Value("${judge.queue.workers:4}")
+  private int workers = 4;
+
+  @Value("${judge.queue.capacity:100}")
+  private int capacity = 100;
+
+  // 끝난 작업 결과를 메모리에 남겨두는 시간 (이후엔 DB 조회)
+  @Value("${judge.queue.result-retention-ms:300000}")
+  private long resultRetentionMs = 300000;
+
+  private ThreadPoolExecutor executor;
+  private ScheduledExecutorService cleaner;
+  private final Map<Long, JudgeJob> jobs = new ConcurrentHashMap<>();
+  private final SecureRandom random = new SecureRandom();
+
+  // 지표
+  private final long startedAt = System.currentTimeMillis();
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong totalWaitMillis = new AtomicLong();
+  private final AtomicLong maxWaitMillis = new AtomicLong();
+  private final AtomicLong totalBusyMillis = new AtomicLong();
+  private final AtomicInteger running = new AtomicInteger();
+
+  @PostConstruct
+  public void start() {
+    AtomicInteger threadNo = new AtomicInteger();
+    executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(capacity), r -> {
+          Thread thread = new Thread(r, "judge-worker-" + threadNo.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "judge-queue-cleaner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    cleaner.scheduleWithFixedDelay(this::evictFinished, resultRetentionMs, resultRetentionMs, TimeUnit.MILLISECONDS);
+    log.info("채점 대기열 시작 (workers: {}, capacity: {})", workers, capacity);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    cleaner.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  // 회원 제출 채점 작업 등록 (결과는 Submission 에 저장) - 대기열이 가득 차면 RejectedExecutionException
+  public JudgeJob enqueue(Long submissionId, Problem problem, String code, String ownerLoginId) {
+    return enqueue(new JudgeJob(submissionId, problem.getProblemId(), ownerLoginId), problem, code);
+  }
+
+  // 비회원 채점 작업 등록 (DB 저장 없음) - 작업 ID 는 추측할 수 없는 임의의 음수 (DB 제출 ID 와 겹치지 않음)
+  public JudgeJob enqueueAnonymous(Problem problem, String code) {
+    JudgeJob job;
+    do {
+      job = new JudgeJob(-1 - (random.nextLong() & Long.MAX_VALUE), problem.getProblemId(), null);
+    } while (jobs.containsKey(job.getSubmissionId()));
+    return enqueue(job, problem, code);
+  }
+
+  private JudgeJob enqueue(JudgeJob job, Problem problem, String code) {
+    Long submissionId = job.getSubmissionId();
+    jobs.put(submissionId, job);
+    submitted.incrementAndGet();
+    try {
+      executor.execute(() -> process(job, problem, code));
+      return job;
+    } catch (RejectedExecutionException e) {
+      jobs.remove(submissionId);
+      submitted.decrementAndGet();
+      rejected.incrementAndGet();
+      throw e;
+    }
+  }
+
+  public JudgeJob getJob(Long submissionId) {
+    return jobs.get(submissionId);
+  }
+
+  private void process(JudgeJob job, Problem problem, String code) {
+    long startTime = System.currentTimeMillis();
+    long waitMillis = startTime - job.getEnqueuedAt();
+    totalWaitMillis.addAndGet(waitMillis);
+    maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+    running.incrementAndGet();
+    job.markRunning();
+
+    GradingResult result;
+    try {
+      result = gradingService.grade(problem, code);
+    } catch (Exception e) {
+      log.error("채점 실패 (submissionId: {})", job.getSubmissionId(), e);
+      result = GradingResult.builder()
+          .status("ERROR")
+          .message("서버 내부 오류: " + e.getMessage())
+          .executionTime(0L)
+          .build();
+    } finally {
+      running.decrementAndGet();
+      totalBusyMillis.addAndGet(System.currentTimeMillis() - startTime);
+    }
+
+    // 결과 저장 후 구독자에게 전송 (DB 저장이 실패해도 결과는 전달)
+    if (job.isPersisted()) {
+      try {
+        submissionService.complete(job.getSubmissionId(), result.getStatus(), result.getExecutionTime());
+      } catch (Exception e) {
+        log.error("제출 결과 저장 실패 (submissionId: {})", job.getSubmissionId(), e);
+      }
+    }
+    job.complete(result);
+    completed.incrementAndGet();
+  }
+
+  // 서버 중단으로 채점되지 못한 제출 복구 (PENDING 상태로 남은 제출을 다시 대기열에 넣음)
+  @EventListener(ApplicationReadyEvent.class)
+  public void recoverPending() {
+    int requeued = 0;
+    int failed = 0;
+    for (Submission submission : submissionService.findPending()) {
+      if (jobs.containsKey(submission.getId())) {
+        continue;
+      }
+      try {
+        enqueue(submission.getId(), submission.getProblem(), submission.getCode(),
+            submission.getUsers().getLoginId());
+        requeued++;
+      } catch (RejectedExecutionException e) {
+        submissionService.complete(submission.getId(), "ERROR", 0L);
+        failed++;
+      }
+    }
+    if (requeued > 0 || failed > 0) {
+      log.info("채점 대기 제출 복구 (재등록: {}건, 대기열 초과로 ERROR 처리: {}건)", requeued, failed);
+    }
+  }
+
+  private void evictFinished() {
+    long threshold = System.currentTimeMillis() - resultRetentionMs;
+    jobs.values().removeIf(job -> job.isDone() && job.getFinishedAt() < threshold);
+  }
+
+  // 대기열 상태 지표 (관리자 모니터링용)
+  public Map<String, Object> getMetrics() {
+    long started = submitted.get() - executor.getQueue().size();
+    long uptime = Math.max(1, System.currentTimeMillis() - startedAt);
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("workers", workers);
+    metrics.put("running", running.get());
+    metrics.put("queueDepth", executor.getQueue().size());
+    metrics.put("capacity", capacity);
+    metrics.put("submitted", submitted.get());
+    metrics.put("completed", completed.get());
+    metrics.put("rejected", rejected.get());
+    metrics.put("avgWaitMillis", started > 0 ? totalWaitMillis.get() / started : 0);
+    metrics.put("maxWaitMillis", maxWaitMillis.get());
+    // 워커 사용률 = 현재 실행 중 / 워커 수, 누적 사용률 = 채점에 쓴 시간 / (워커 수 * 가동 시간)
+    metrics.put("utilization", (double) running.get() / workers);
+    metrics.put("avgUtilization", (double) totalBusyMillis.get() / (workers * uptime));
+    metrics.put("trackedJobs", jobs.size());
+    return metrics;
+  }
+}
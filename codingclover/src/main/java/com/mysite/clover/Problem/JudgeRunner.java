@@ -0,0 +1,336 @@
+package com.mysite.clover.Problem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// 워커 JVM 안에서 실행되는 채점 러너 (WarmJvmPool 이 미리 띄워 둠)
+// - 이 클래스 파일만 따로 추출해서 실행하므로 스프링/외부 라이브러리에 의존하면 안 됨
+// - 작업 / 결과는 풀이 연 루프백 소켓으로 주고받음 (표준 출력은 풀에서 버리므로 fd 1 에 직접 쓴 내용은 결과로 취급되지 않음)
+// - 신뢰 경계: 제출 코드가 같은 JVM 에서 실행되므로 리플렉션으로 channel 에 접근해 프레임을 직접 쓰거나 프로토콜을 깨뜨릴 수 있음
+//   -> 결과 프레임에는 러너가 측정한 시간을 담지 않음 (실행 시간 / CPU 시간은 풀에서 OS 기준으로 직접 측정)
+//   -> 상태 / 출력을 위조해도 판정은 출력 비교로만 하므로 직접 출력한 것과 같음, 깨진 프레임은 풀에서 실행 실패로 처리
+//   -> 힙 최대 사용량은 러너가 보고하는 값이라 위조될 수 있음 (절대 상한은 러너 JVM 의 -Xmx / 샌드박스 cgroup)
+// - 풀이 소켓을 닫을 때까지 작업을 차례로 실행 (재사용 횟수는 풀의 judge.pool.max-runs-per-worker, 기본 1회용)
+//   재사용하면 System 속성 / 기본 Locale / static 상태 등 JVM 전역 상태가 다음 제출로 넘어감
+//   제출 코드가 만든 스레드가 남아 있으면 결과에 재사용 불가로 표시 (풀에서 폐기)
+// - 제출 코드의 표준 출력은 일정 크기마다 출력 프레임으로 바로 보냄 (풀에서 받는 대로 기대 출력과 비교)
+public class JudgeRunner {
+
+  static final int READY = 0x4A554447; // 기동 완료 신호
+  static final int FRAME_OUTPUT = 1; // 표준 출력 일부
+  static final int FRAME_RESULT = 2; // 실행 결과 - 상태 / 재사용 가능 여부 / 힙 최대 사용량 / 표준 에러 (마지막 프레임)
+  static final int STATUS_OK = 0; // 정상 종료
+  static final int STATUS_RUNTIME_ERROR = 1; // main 에서 예외 발생
+  static final int STATUS_EXIT = 2; // System.exit 호출
+  static final int STATUS_OUTPUT_LIMIT = 3; // 출력 제한 초과
+  static final int STATUS_OUT_OF_MEMORY = 4; // OutOfMemoryError (러너 JVM 의 -Xmx 초과)
+
+  // 출력 프레임 하나의 최대 크기
+  static final int OUTPUT_CHUNK_BYTES = 8192;
+
+  // 제출 코드 main 스레드 스택 크기 (재귀 문제 대비)
+  private static final long MAIN_STACK_SIZE = 256L * 1024 * 1024;
+
+  private static DataOutputStream channel;
+  private static int maxOutputBytes = Integer.MAX_VALUE; // stdout / stderr 각각 최대 크기 (실행 인자로 전달)
+  private static final PrintStream NULL_STREAM = new PrintStream(OutputStream.nullOutputStream());
+
+  // 현재 실행 중인 작업 (System.exit 시 셧다운 훅에서 결과를 보내기 위해 보관)
+  private static volatile boolean jobRunning;
+  private static volatile ChannelOutputStream currentOut;
+  private static volatile ByteArrayOutputStream currentErr;
+
+  // 작업 전부터 있던 스레드 (작업 후 이 외의 스레드가 살아 있으면 재사용 불가)
+  private static Set<Thread> baseThreads;
+
+  // 실행 인자: 풀 소켓 포트, 출력 최대 크기 / 표준 입력: 접속 토큰 (실행 인자는 다른 프로세스에서도 보이므로)
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = Integer.parseInt(args[0]);
+    maxOutputBytes = Integer.parseInt(args[1]);
+
+    long token;
+    try (DataInputStream stdin = new DataInputStream(new FileInputStream(FileDescriptor.in))) {
+      token = stdin.readLong();
+    }
+
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    socket.setTcpNoDelay(true);
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    channel = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+    // 표준 출력/에러는 작업 중에만 버퍼로 연결
+    System.setOut(NULL_STREAM);
+    System.setErr(NULL_STREAM);
+    Runtime.getRuntime().addShutdownHook(new Thread(JudgeRunner::onExit));
+
+    baseThreads = Set.copyOf(Thread.getAllStackTraces().keySet());
+    channel.writeLong(token);
+    channel.writeInt(READY);
+    channel.flush();
+
+    while (true) {
+      int classCount;
+      try {
+        classCount = in.readInt();
+      } catch (EOFException e) {
+        break; // 풀에서 폐기
+      }
+      Map<String, byte[]> classes = new HashMap<>();
+      for (int i = 0; i < classCount; i++) {
+        String name = in.readUTF();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes.put(name, bytes);
+      }
+      byte[] input = new byte[in.readInt()];
+      in.readFully(input);
+
+      runJob(classes, input);
+    }
+
+    // 제출 코드가 만든 스레드가 남아 있어도 기다리지 않고 종료
+    Runtime.getRuntime().halt(0);
+  }
+
+  private static void runJob(Map<String, byte[]> classes, byte[] input) throws InterruptedException {
+    ChannelOutputStream out = new ChannelOutputStream();
+    ByteArrayOutputStream err = new CappedOutputStream(maxOutputBytes);
+    PrintStream outStream = new PrintStream(out, false, StandardCharsets.UTF_8);
+    PrintStream errStream = new PrintStream(err, false, StandardCharsets.UTF_8);
+
+    System.setIn(new ByteArrayInputStream(input));
+    System.setOut(outStream);
+    System.setErr(errStream);
+    currentOut = out;
+    currentErr = err;
+    resetPeakHeap();
+    jobRunning = true;
+
+    Throwable[] failure = new Throwable[1];
+    Thread main = new Thread(null, () -> {
+      try {
+        Class<?> mainClass = new ProgramClassLoader(classes).loadClass("main");
+        Method method = mainClass.getMethod("main", String[].class);
+        method.invoke(null, (Object) new String[0]);
+      } catch (InvocationTargetException e) {
+        failure[0] = e.getCause();
+      } catch (Throwable t) {
+        failure[0] = t;
+      }
+    }, "main", MAIN_STACK_SIZE);
+    main.start();
+    main.join();
+
+    int status = STATUS_OK;
+    if (failure[0] != null) {
+      status = failure[0] instanceof OutOfMemoryError ? STATUS_OUT_OF_MEMORY : STATUS_RUNTIME_ERROR;
+      errStream.print("Exception in thread \"main\" ");
+      failure[0].printStackTrace(errStream);
+    }
+    outStream.flush();
+    errStream.flush();
+    finish(status, status != STATUS_OUT_OF_MEMORY && !hasLeftoverThreads());
+
+    // 다음 작업 전까지 표준 입출력 분리 (남은 스레드가 있으면 어차피 폐기됨)
+    System.setIn(InputStream.nullInputStream());
+    System.setOut(NULL_STREAM);
+    System.setErr(NULL_STREAM);
+  }
+
+  // 제출 코드가 만든 스레드가 아직 살아 있는지
+  private static boolean hasLeftoverThreads() {
+    Thread self = Thread.currentThread();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread != self && thread.isAlive() && !baseThreads.contains(thread)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // 제출 코드가 System.exit 를 호출한 경우에도 그때까지의 출력을 돌려줌
+  private static void onExit() {
+    System.out.flush();
+    System.err.flush();
+    finish(STATUS_EXIT, false);
+  }
+
+  // 출력 제한을 넘으면 그때까지의 출력을 돌려주고 러너를 바로 종료 (제출 코드를 멈출 방법이 없으므로)
+  private static void onOutputLimit() {
+    finish(STATUS_OUTPUT_LIMIT, false);
+    Runtime.getRuntime().halt(0);
+  }
+
+  // 남은 출력과 결과 프레임 전송 (정상 종료 / System.exit / 출력 초과 중 먼저 도착한 한 번만)
+  // reusable: 이 러너에 다음 작업을 보내도 되는지 (풀에서 재사용 정책과 함께 판단)
+  private static void finish(int status, boolean reusable) {
+    synchronized (JudgeRunner.class) {
+      if (!jobRunning) {
+        return;
+      }
+      jobRunning = false;
+      try {
+        currentOut.flushChunk();
+        writeResult(status, reusable, currentErr);
+      } catch (IOException e) {
+        // 풀 쪽 소켓이 이미 닫힌 경우 (타임아웃 / 오답으로 중단) - 보낼 곳이 없음
+      }
+    }
+  }
+
+  private static void writeResult(int status, boolean reusable, ByteArrayOutputStream err) throws IOException {
+    channel.writeInt(FRAME_RESULT);
+    channel.writeInt(status);
+    channel.writeBoolean(reusable);
+    channel.writeLong(peakHeap());
+    channel.writeInt(err.size());
+    err.writeTo(channel);
+    channel.flush();
+  }
+
+  // 제출 코드의 표준 출력 - OUTPUT_CHUNK_BYTES 만큼 모이면 출력 프레임으로 전송, 최대 크기를 넘으면 onOutputLimit
+  static class ChannelOutputStream extends OutputStream {
+    private final byte[] buffer = new byte[OUTPUT_CHUNK_BYTES];
+    private int count;
+    private long total;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      boolean overflow = false;
+      synchronized (JudgeRunner.class) {
+        if (!jobRunning || currentOut != this) {
+          return; // 끝난 작업의 스트림 (이전 제출이 남긴 스레드)
+        }
+        long room = maxOutputBytes - total;
+        if (len > room) {
+          len = (int) Math.max(room, 0);
+          overflow = true;
+        }
+        total += len;
+        while (len > 0) {
+          int n = Math.min(len, buffer.length - count);
+          System.arraycopy(b, off, buffer, count, n);
+          count += n;
+          off += n;
+          len -= n;
+          if (count == buffer.length) {
+            flushChunk();
+          }
+        }
+      }
+      if (overflow) {
+        onOutputLimit();
+      }
+    }
+
+    // 모인 출력을 출력 프레임으로 전송 (JudgeRunner.class 잠금 안에서 호출)
+    void flushChunk() throws IOException {
+      if (count == 0) {
+        return;
+      }
+      channel.writeInt(FRAME_OUTPUT);
+      channel.writeInt(count);
+      channel.write(buffer, 0, count);
+      channel.flush();
+      count = 0;
+    }
+  }
+
+  // 최대 크기까지만 보관하는 출력 버퍼 (표준 에러용, 넘치면 onOutputLimit)
+  static class CappedOutputStream extends ByteArrayOutputStream {
+    private final int maxBytes;
+
+    CappedOutputStream(int maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void write(int b) {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    // onOutputLimit 은 결과 전송 잠금을 잡으므로 이 버퍼의 잠금 밖에서 호출 (writeResult 와 교착 방지)
+    @Override
+    public void write(byte[] b, int off, int len) {
+      if (!append(b, off, len) && currentErr == this) {
+        onOutputLimit();
+      }
+    }
+
+    private synchronized boolean append(byte[] b, int off, int len) {
+      int room = maxBytes - count;
+      if (len > room) {
+        super.write(b, off, Math.max(room, 0));
+        return false;
+      }
+      super.write(b, off, len);
+      return true;
+    }
+  }
+
+  // 작업 단위로 힙 최대 사용량을 측정하기 위해 작업 시작 전에 초기화
+  private static void resetPeakHeap() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  // 힙 영역별 최대 사용량 합계 (bytes)
+  private static long peakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  // 제출 코드 전용 클래스로더 (부모를 플랫폼 로더로 두어 러너 클래스는 보이지 않게 함)
+  static class ProgramClassLoader extends ClassLoader {
+    private final Map<String, byte[]> classes;
+
+    ProgramClassLoader(Map<String, byte[]> classes) {
+      super(ClassLoader.getPlatformClassLoader());
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      byte[] bytes = classes.get(name);
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package com.mysite.clover.Problem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 미리 띄워 둔 러너 JVM(JudgeRunner) 한 개에 대한 핸들 (WarmJvmPool 내부 전용)
+// - 결과 채널은 루프백 소켓 (러너의 표준 출력/에러는 버림)
+// - 러너에는 표준 입력으로 임의 토큰을 넘기고, 접속 후 같은 토큰을 보낸 연결만 사용
+// - 실행 시간 / CPU 시간은 러너가 보고한 값이 아니라 여기서 직접 측정 (제출 코드가 결과 프레임을 위조할 수 있으므로)
+class JudgeWorker {
+
+  // 오답으로 중단한 경우 (러너는 결과를 보내기 전에 폐기)
+  static final int STATUS_WRONG_OUTPUT = -1;
+
+  // 러너 JVM 기동 후 소켓 접속까지 기다리는 최대 시간
+  private static final int CONNECT_TIMEOUT_MS = 10_000;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final Process process;
+  private final Socket socket;
+  private final DataOutputStream toRunner;
+  private final DataInputStream fromRunner;
+  private final int maxOutputBytes;
+  private final SandboxLauncher.SandboxRun sandbox; // 샌드박스 미사용 시 null
+  private int runs; // 이 러너에서 실행한 작업 수
+  private final AtomicBoolean destroyed = new AtomicBoolean();
+
+  private JudgeWorker(Process process, Socket socket, int maxOutputBytes, SandboxLauncher.SandboxRun sandbox)
+      throws IOException {
+    this.process = process;
+    this.socket = socket;
+    this.toRunner = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    this.fromRunner = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.maxOutputBytes = maxOutputBytes;
+    this.sandbox = sandbox;
+  }
+
+  // 러너 JVM 기동 후 준비 신호를 받을 때까지 대기 (여기까지 끝나야 "warm" 상태)
+  // sandbox 가 있으면 command 는 sandbox.command 로 만든 명령이어야 하며, 러너 폐기 시 함께 정리
+  static JudgeWorker start(List<String> command, int maxOutputBytes, SandboxLauncher.SandboxRun sandbox)
+      throws IOException {
+    long token = RANDOM.nextLong();
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      server.setSoTimeout(CONNECT_TIMEOUT_MS);
+
+      List<String> args = new ArrayList<>(command);
+      args.add(String.valueOf(server.getLocalPort()));
+      args.add(String.valueOf(maxOutputBytes));
+      ProcessBuilder builder = new ProcessBuilder(args);
+      builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+      builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+      Process process;
+      try {
+        process = builder.start();
+      } catch (IOException e) {
+        if (sandbox != null) {
+          sandbox.close();
+        }
+        throw e;
+      }
+
+      JudgeWorker worker = null;
+      try {
+        try (DataOutputStream stdin = new DataOutputStream(process.getOutputStream())) {
+          stdin.writeLong(token);
+        }
+        Socket socket = server.accept();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(CONNECT_TIMEOUT_MS);
+        worker = new JudgeWorker(process, socket, maxOutputBytes, sandbox);
+
+        if (worker.fromRunner.readLong() != token || worker.fromRunner.readInt() != JudgeRunner.READY) {
+          throw new IOException("러너 JVM 기동 신호가 올바르지 않습니다.");
+        }
+        socket.setSoTimeout(0); // 실행 시간은 풀의 watchdog 이 감시
+        return worker;
+      } catch (IOException e) {
+        if (worker != null) {
+          worker.destroy();
+        } else {
+          process.destroyForcibly();
+          if (sandbox != null) {
+            process.onExit().thenRun(sandbox::close);
+          }
+        }
+        throw e;
+      }
+    }
+  }
+
+  // 바이트코드 + 입력값 전달 후 실행 결과 수신 (타임아웃은 풀에서 프로세스를 죽여서 처리)
+  // checker 가 있으면 출력 프레임을 받는 대로 비교하고, 틀리면 결과를 기다리지 않고 반환
+  Result execute(Map<String, byte[]> classes, String input, StreamingOutputChecker checker) throws IOException {
+    runs++;
+    long cpuStart = processCpuNanos();
+    long startTime = System.nanoTime();
+
+    toRunner.writeInt(classes.size());
+    for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+      toRunner.writeUTF(entry.getKey());
+      toRunner.writeInt(entry.getValue().length);
+      toRunner.write(entry.getValue());
+    }
+    byte[] inputBytes = input != null ? input.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    toRunner.writeInt(inputBytes.length);
+    toRunner.write(inputBytes);
+    toRunner.flush();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    while (true) {
+      int frame = fromRunner.readInt();
+      if (frame == JudgeRunner.FRAME_OUTPUT) {
+        byte[] chunk = readBytes(JudgeRunner.OUTPUT_CHUNK_BYTES);
+        if (output.size() + chunk.length > maxOutputBytes) {
+          throw new IOException("러너 출력이 최대 크기를 넘었습니다.");
+        }
+        output.write(chunk);
+        if (checker != null && !checker.feed(chunk, 0, chunk.length)) {
+          return new Result(STATUS_WRONG_OUTPUT, false, (System.nanoTime() - startTime) / 1_000_000,
+              cpuMillisSince(cpuStart), null, output.toString(StandardCharsets.UTF_8), "");
+        }
+      } else if (frame == JudgeRunner.FRAME_RESULT) {
+        int status = fromRunner.readInt();
+        boolean reusable = fromRunner.readBoolean();
+        long peakHeapBytes = fromRunner.readLong();
+        String error = new String(readBytes(maxOutputBytes), StandardCharsets.UTF_8);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        return new Result(status, reusable, elapsedMillis, cpuMillisSince(cpuStart), Math.max(peakHeapBytes, 0) / 1024,
+            output.toString(StandardCharsets.UTF_8), error);
+      } else {
+        throw new IOException("알 수 없는 러너 프레임: " + frame);
+      }
+    }
+  }
+
+  // 러너 프로세스 누적 CPU 시간 (OS 기준, ns) - 측정 불가 시 -1
+  private long processCpuNanos() {
+    return process.info().totalCpuDuration().map(Duration::toNanos).orElse(-1L);
+  }
+
+  // 작업 시작 이후 러너 프로세스가 쓴 CPU 시간 (JIT / GC 스레드 포함) - 측정 불가 시 null
+  private Long cpuMillisSince(long cpuStart) {
+    long cpuEnd = processCpuNanos();
+    return cpuStart >= 0 && cpuEnd >= cpuStart ? (cpuEnd - cpuStart) / 1_000_000 : null;
+  }
+
+  private byte[] readBytes(int maxBytes) throws IOException {
+    int length = fromRunner.readInt();
+    if (length < 0 || length > maxBytes) {
+      throw new IOException("러너 프레임 크기가 올바르지 않습니다: " + length);
+    }
+    byte[] bytes = new byte[length];
+    fromRunner.readFully(bytes);
+    return bytes;
+  }
+
+  int runs() {
+    return runs;
+  }
+
+  boolean isAlive() {
+    return process.isAlive();
+  }
+
+  SandboxLauncher.SandboxRun sandbox() {
+    return sandbox;
+  }
+
+  // 러너 종료 코드 (종료될 때까지 잠시 대기, 아직 살아 있으면 null)
+  Integer awaitExitCode(long timeoutMs) {
+    try {
+      return process.waitFor(timeoutMs, TimeUnit.MILLISECONDS) ? process.exitValue() : null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  // 여러 번 호출해도 됨 (타임아웃 watchdog 과 풀의 폐기가 겹칠 수 있음), 샌드박스 cgroup 은 프로세스 종료 후 삭제
+  void destroy() {
+    if (!destroyed.compareAndSet(false, true)) {
+      return;
+    }
+    process.destroyForcibly();
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // 이미 닫힌 경우
+    }
+    if (sandbox != null) {
+      process.onExit().thenRun(sandbox::close);
+    }
+  }
+
+  // reusable 은 러너가 보고한 재사용 가능 여부 (제출 코드가 만든 스레드가 남아 있지 않음)
+  // elapsedMillis / cpuMillis 는 풀에서 측정한 값, peakMemoryKb 는 러너가 보고한 작업 중 힙 최대 사용량 (위조 가능)
+  record Result(int status, boolean reusable, long elapsedMillis, Long cpuMillis, Long peakMemoryKb, String output,
+      String error) {
+  }
+}
@@ -0,0 +1,34 @@
+package com.mysite.clover.Problem;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+// 메모리 컴파일 후 미리 띄워 둔 러너 JVM 에서 실행하는 실행기 (judge.executor=pooled)
+// JVM 기동 비용 없이 바이트코드만 전달해서 실행 (러너 재사용 정책 / 샌드박스 / 문제별 시간 제한 / 출력 비교는 WarmJvmPool)
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.executor", havingValue = "pooled")
+public class PooledJavaExecutor implements CodeExecutor {
+
+  private final InMemoryJavaCompiler inMemoryJavaCompiler;
+  private final WarmJvmPool warmJvmPool;
+
+  @Override
+  public CompiledProgram compile(String code) {
+    return inMemoryJavaCompiler.compile(code);
+  }
+
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits) {
+    return execute(program, input, limits, null);
+  }
+
+  @Override
+  public ExecutionResponse execute(CompiledProgram program, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    // 러너 JVM 은 문제를 모르는 상태로 미리 뜨므로 메모리 상한은 풀 단위 (judge.pool.memory-mb), 문제별 메모리는 힙 최대 사용량으로 검사
+    return warmJvmPool.execute(program.getClasses(), input, limits, checker);
+  }
+}
@@ -39,6 +39,22 @@ public class Problem {
   @Column(columnDefinition = "TEXT")
   private String expectedOutput;
 
+  // 실행 시간 제한 (ms, CPU 시간 기준) - 없으면 서버 기본값
+  @Column(name = "time_limit_ms")
+  private Long timeLimitMs;
+
+  // 메모리 제한 (MB) - 없으면 서버 기본값
+  @Column(name = "memory_limit_mb")
+  private Integer memoryLimitMb;
+
+  // 출력 비교 방식 - 없으면 LINE_TRIMMED
+  @Enumerated(EnumType.STRING)
+  @Column(name = "checker_mode", length = 20)
+  private CheckerMode checkerMode;
+
+  // FLOAT_EPSILON 비교 시 허용 오차 - 없으면 1e-6
+  private Double epsilon;
+
   @Column(name = "created_at", nullable = false, updatable = false, insertable = false, columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP")
   private java.time.LocalDateTime createdAt;
 }
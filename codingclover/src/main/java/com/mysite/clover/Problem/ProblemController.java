@@ -1,12 +1,18 @@
 package com.mysite.clover.Problem;
 
+import java.io.IOException;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +21,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mysite.clover.Submission.Submission;
+import com.mysite.clover.Users.Users;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +35,13 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 public class ProblemController {
 
+  // SSE 연결 유지 시간 (채점 대기 + 실행 시간보다 넉넉하게)
+  private static final long SSE_TIMEOUT_MS = 120_000;
+
   private final ProblemRepository problemRepository;
-  private final CodeExecutor codeExecutor;
+  private final GradingService gradingService;
+  private final TestCaseRepository testCaseRepository;
+  private final JudgeQueue judgeQueue;
   private final com.mysite.clover.Submission.SubmissionService submissionService;
   private final com.mysite.clover.Users.UsersRepository usersRepository;
 
@@ -59,6 +74,10 @@ public class ProblemController {
       problem.setDifficulty(problemDetails.getDifficulty());
       problem.setBaseCode(problemDetails.getBaseCode());
       problem.setExpectedOutput(problemDetails.getExpectedOutput());
+      problem.setTimeLimitMs(problemDetails.getTimeLimitMs());
+      problem.setMemoryLimitMb(problemDetails.getMemoryLimitMb());
+      problem.setCheckerMode(problemDetails.getCheckerMode());
+      problem.setEpsilon(problemDetails.getEpsilon());
       return ResponseEntity.ok(problemRepository.save(problem));
     }).orElse(ResponseEntity.notFound().build());
   }
@@ -66,79 +85,189 @@ public class ProblemController {
   // 문제 삭제
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> delete(@PathVariable("id") Long id) {
-    if (problemRepository.existsById(id)) {
-      problemRepository.deleteById(id);
-      return ResponseEntity.ok().build();
-    }
-    return ResponseEntity.notFound().build();
+    return problemRepository.findById(id).map(problem -> {
+      // 테스트 케이스 먼저 삭제 (FK)
+      testCaseRepository.deleteByProblem(problem);
+      problemRepository.delete(problem);
+      return ResponseEntity.ok().<Void>build();
+    }).orElse(ResponseEntity.notFound().build());
   }
 
   // 코드 실행 (단순 실행)
   @PostMapping("/{id}/run")
   public ResponseEntity<ExecutionResponse> runCode(@PathVariable("id") Long id,
       @RequestBody ExecutionRequest request) {
-    ExecutionResponse response = codeExecutor.run(request);
+    Problem problem = problemRepository.findById(id).orElseThrow(() -> new RuntimeException("문제를 찾을 수 없습니다."));
+    ExecutionResponse response = gradingService.run(problem, request);
     return ResponseEntity.ok(response);
   }
 
-  // 코드 제출 및 채점
+  // 코드 제출 - 채점 대기열에 넣고 제출 ID 를 바로 반환 (결과는 상태 조회 / SSE 로 전달)
+  // 제출자는 로그인 세션 기준 (비회원은 제출 이력 저장 없이 채점만)
   @PostMapping("/{id}/submit")
-  public ResponseEntity<GradingResult> submitCode(@PathVariable("id") Long id,
-      @RequestBody ExecutionRequest request) {
+  public ResponseEntity<Map<String, Object>> submitCode(@PathVariable("id") Long id,
+      @RequestBody ExecutionRequest request, Principal principal) {
     // 1. 문제 조회
     Problem problem = problemRepository.findById(id).orElseThrow(() -> new RuntimeException("문제를 찾을 수 없습니다."));
 
-    long totalTime = 0;
-    String status = "FAIL";
-    int totalCases = 1;
-    int passedCases = 0;
-    String message = "";
-
-    // 2. 코드 실행
-    ExecutionResponse res = codeExecutor.run(request);
-    totalTime = res.getExecutionTime();
+    // 2. 제출자 확인
+    Users user = principal != null ? usersRepository.findByLoginId(principal.getName()).orElse(null) : null;
 
-    // 3. 상태 결정 (PASS, FAIL, ERROR)
-    if (res.getError() != null && !res.getError().isEmpty()) {
-      status = "ERROR";
-      message = "실행 중 에러: " + res.getError();
+    Long submissionId;
+    if (user == null) {
+      // 3-1. 비회원 - 메모리 작업으로만 채점 (가득 차면 즉시 거절)
+      try {
+        submissionId = judgeQueue.enqueueAnonymous(problem, request.getCode()).getSubmissionId();
+      } catch (RejectedExecutionException e) {
+        return queueFull();
+      }
     } else {
-      String actual = res.getOutput() != null ? res.getOutput().trim() : "";
-      String expected = problem.getExpectedOutput() != null ? problem.getExpectedOutput().trim() : "";
+      // 3-2. 회원 - 채점 대기 상태로 제출 이력 저장 후 대기열 등록 (가득 차면 즉시 거절)
+      Submission submission = submissionService.create(user, problem, request.getCode(), "PENDING", null);
+      log.info("Submission queued. User ID: {}, Submission ID: {}", user.getUserId(), submission.getId());
+      try {
+        judgeQueue.enqueue(submission.getId(), problem, request.getCode(), user.getLoginId());
+      } catch (RejectedExecutionException e) {
+        submissionService.complete(submission.getId(), "ERROR", 0L);
+        return queueFull();
+      }
+      submissionId = submission.getId();
+    }
 
-      if (!expected.isEmpty() && actual.equals(expected)) {
-        status = "PASS";
-        passedCases = 1;
-        message = "정답입니다!";
-      } else {
-        status = "FAIL";
-        message = "오답입니다.\n[예상]\n" + expected + "\n[실행결과]\n" + actual;
+    Map<String, Object> body = new HashMap<>();
+    body.put("submissionId", submissionId);
+    body.put("status", "PENDING");
+    return ResponseEntity.accepted().body(body);
+  }
+
+  private static ResponseEntity<Map<String, Object>> queueFull() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(Map.of("message", "채점 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+  }
+
+  // 제출 채점 상태 조회 (폴링용) - 본인 제출만 (다른 사람 제출이면 404)
+  @GetMapping("/{id}/submissions/{submissionId}")
+  public ResponseEntity<Map<String, Object>> getSubmissionStatus(@PathVariable("id") Long id,
+      @PathVariable("submissionId") Long submissionId, Principal principal) {
+    String loginId = principal != null ? principal.getName() : null;
+    Map<String, Object> body = new HashMap<>();
+    body.put("submissionId", submissionId);
+
+    // 대기열에 남아 있는 작업이면 메모리에서 바로 응답
+    JudgeJob job = judgeQueue.getJob(submissionId);
+    if (job != null) {
+      if (!job.isAccessibleBy(id, loginId)) {
+        return ResponseEntity.notFound().build();
       }
+      body.put("status", job.getStatus());
+      body.put("result", job.getResult());
+      return ResponseEntity.ok(body);
     }
 
-    // 4. 제출 이력 저장 (회원일 경우에만)
-    if (request.getUserId() != null) {
-      log.info("Saving submission for User ID: {}, Status: {}", request.getUserId(), status);
-      final long finalTotalTime = totalTime;
-      final String finalStatus = status;
-      try {
-        usersRepository.findById(request.getUserId()).ifPresent(user -> {
-          submissionService.create(user, problem, request.getCode(),
-              finalStatus, finalTotalTime);
-          log.info("Submission saved successfully.");
-        });
-      } catch (Exception e) {
-        log.error("제출 이력 저장 실패", e);
+    // 지난 제출은 DB 조회
+    return submissionService.findById(submissionId)
+        .filter(submission -> isOwnSubmission(submission, id, loginId))
+        .map(submission -> {
+          body.put("status", submission.getStatus());
+          body.put("result", toGradingResult(submission));
+          return ResponseEntity.ok(body);
+        })
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  // 제출 채점 결과 구독 (SSE) - "status" 이벤트로 진행 상태, "result" 이벤트로 최종 GradingResult 전송
+  @GetMapping(value = "/{id}/submissions/{submissionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamSubmission(@PathVariable("id") Long id,
+      @PathVariable("submissionId") Long submissionId, Principal principal) {
+    String loginId = principal != null ? principal.getName() : null;
+
+    JudgeJob job = judgeQueue.getJob(submissionId);
+    if (job != null) {
+      if (!job.isAccessibleBy(id, loginId)) {
+        return ResponseEntity.notFound().build();
       }
+      SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+      job.subscribe(emitter);
+      return ResponseEntity.ok(emitter);
     }
 
-    return ResponseEntity.ok(GradingResult.builder()
-        .status(status)
-        .totalCases(totalCases)
-        .passedCases(passedCases)
-        .message(message)
-        .executionTime(totalTime)
-        .build());
+    // 이미 끝나서 메모리에서 내려간 제출은 DB 결과를 한 번 보내고 종료
+    Submission submission = submissionService.findById(submissionId)
+        .filter(s -> isOwnSubmission(s, id, loginId))
+        .orElse(null);
+    if (submission == null) {
+      return ResponseEntity.notFound().build();
+    }
+    SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+    try {
+      GradingResult result = toGradingResult(submission);
+      if (result != null) {
+        emitter.send(SseEmitter.event().name("result").data(result));
+      } else {
+        emitter.send(SseEmitter.event().name("status").data(submission.getStatus()));
+      }
+      emitter.complete();
+    } catch (IOException e) {
+      emitter.completeWithError(e);
+    }
+    return ResponseEntity.ok(emitter);
+  }
+
+  // 해당 문제에 로그인한 사용자 본인이 낸 제출인지
+  private static boolean isOwnSubmission(Submission submission, Long problemId, String loginId) {
+    return loginId != null
+        && submission.getProblem().getProblemId().equals(problemId)
+        && loginId.equals(submission.getUsers().getLoginId());
+  }
+
+  // DB 에 저장된 제출 결과 (케이스별 결과는 저장하지 않으므로 상태/시간만)
+  private GradingResult toGradingResult(Submission submission) {
+    if ("PENDING".equals(submission.getStatus())) {
+      return null;
+    }
+    return GradingResult.builder()
+        .status(submission.getStatus())
+        .executionTime(submission.getExecutionTime())
+        .build();
+  }
+
+  // 테스트 케이스 목록 조회 (관리자/강사 용, 숨김 입력/정답이 포함되므로 수강생에게는 노출하지 않음)
+  @GetMapping("/{id}/testcases")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+  public ResponseEntity<List<TestCase>> getTestCases(@PathVariable("id") Long id) {
+    return problemRepository.findById(id)
+        .map(problem -> ResponseEntity.ok(testCaseRepository.findByProblemOrderByOrderNoAscTestCaseIdAsc(problem)))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  // 테스트 케이스 등록 (관리자/강사 용)
+  @PostMapping("/{id}/testcases")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+  public ResponseEntity<TestCase> addTestCase(@PathVariable("id") Long id, @RequestBody TestCase testCase) {
+    return problemRepository.findById(id).map(problem -> {
+      testCase.setTestCaseId(null);
+      testCase.setProblem(problem);
+      if (testCase.getWeight() == null || testCase.getWeight() < 1) {
+        testCase.setWeight(1);
+      }
+      if (testCase.getOrderNo() == null) {
+        testCase.setOrderNo(0);
+      }
+      return ResponseEntity.ok(testCaseRepository.save(testCase));
+    }).orElse(ResponseEntity.notFound().build());
+  }
+
+  // 테스트 케이스 삭제 (관리자/강사 용)
+  @DeleteMapping("/{id}/testcases/{caseId}")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+  public ResponseEntity<Void> deleteTestCase(@PathVariable("id") Long id, @PathVariable("caseId") Long caseId) {
+    return testCaseRepository.findById(caseId)
+        .filter(testCase -> testCase.getProblem().getProblemId().equals(id))
+        .map(testCase -> {
+          testCaseRepository.delete(testCase);
+          return ResponseEntity.ok().<Void>build();
+        })
+        .orElse(ResponseEntity.notFound().build());
   }
 
   // 특정 문제의 제출 기록 전체 조회 (관리자용)
@@ -0,0 +1,86 @@
+package com.mysite.clover.Problem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// 실행 중인 자식 프로세스의 CPU 시간 / 최대 메모리(RSS) 측정
+// - 종료된 프로세스는 /proc 정보가 사라지므로 실행 중에 주기적으로 읽어서 마지막 값을 사용
+// - CPU 시간: ProcessHandle (리눅스에서는 /proc/<pid>/stat 의 utime + stime)
+// - 최대 메모리: /proc/<pid>/status 의 VmHWM (리눅스 전용, 그 외 OS 에서는 null)
+// - 자식 JVM 기동에 쓴 CPU / 메모리도 포함됨 (JavaProcessRunner 에서 기동 기준값을 빼서 기록)
+class ProcessResourceMonitor {
+
+  private static final long SAMPLE_INTERVAL_MS = 10;
+
+  private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "judge-resource-sampler");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final ProcessHandle process;
+  private final Path statusFile;
+  private final ScheduledFuture<?> task;
+  private volatile Long cpuMillis;
+  private volatile Long peakMemoryKb;
+
+  private ProcessResourceMonitor(Process process) {
+    this.process = process.toHandle();
+    this.statusFile = Path.of("/proc", String.valueOf(process.pid()), "status");
+    sample();
+    this.task = SAMPLER.scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  static ProcessResourceMonitor start(Process process) {
+    return new ProcessResourceMonitor(process);
+  }
+
+  // 측정 종료 (프로세스 종료 후 호출)
+  void stop() {
+    task.cancel(false);
+  }
+
+  private void sample() {
+    if (!process.isAlive()) {
+      return;
+    }
+    process.info().totalCpuDuration().map(Duration::toMillis).ifPresent(cpu -> cpuMillis = cpu);
+
+    Long hwm = readPeakRss();
+    if (hwm != null) {
+      peakMemoryKb = hwm;
+    }
+  }
+
+  private Long readPeakRss() {
+    if (!Files.isReadable(statusFile)) {
+      return null;
+    }
+    try {
+      for (String line : Files.readAllLines(statusFile)) {
+        // 예: "VmHWM:     52344 kB"
+        if (line.startsWith("VmHWM:")) {
+          return Long.parseLong(line.substring("VmHWM:".length()).replace("kB", "").trim());
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      // 측정 중 프로세스가 종료된 경우
+    }
+    return null;
+  }
+
+  Long getCpuMillis() {
+    return cpuMillis;
+  }
+
+  Long getPeakMemoryKb() {
+    return peakMemoryKb;
+  }
+}
@@ -0,0 +1,223 @@
+package com.mysite.clover.Problem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+// 제출 코드 실행 프로세스에 자원 제한을 거는 샌드박스 (judge.sandbox.enabled=true, 리눅스 전용)
+// - cgroup v2: 실행마다 하위 그룹을 만들어 memory.max / pids.max / cpu.max 적용
+// - rlimit: ulimit -f 로 파일 크기 제한
+// - JVM 힙(-Xmx)은 문제별 메모리 제한으로 설정
+// cgroup 루트(judge.sandbox.cgroup-root)는 서버 계정에 위임(쓰기 권한)되어 있어야 하며,
+// 사용할 수 없으면 rlimit / -Xmx 만 적용
+@Slf4j
+@Component
+public class SandboxLauncher {
+
+  // 샌드박스 설정(셸 단계) 실패 시 종료 코드
+  static final int SETUP_FAILED_EXIT = 125;
+  // SIGXFSZ (파일 크기 제한 초과) 로 종료된 경우의 종료 코드 (128 + 25)
+  private static final int FILE_SIZE_EXIT = 153;
+
+  // cgroup 에 넣은 뒤 rlimit 적용 후 java 로 교체 (인자는 위치 인자로 넘겨서 따옴표 처리 문제를 피함)
+  private static final String LAUNCH_SCRIPT = "if [ -n \"$1\" ]; then echo $$ > \"$1/cgroup.procs\" || exit "
+      + SETUP_FAILED_EXIT + "; fi; ulimit -f \"$2\" || exit " + SETUP_FAILED_EXIT + "; shift 2; exec \"$@\"";
+
+  static final String PROCESS_LIMIT_EXCEEDED = "PROCESS_LIMIT_EXCEEDED";
+  static final String FILE_SIZE_LIMIT_EXCEEDED = "FILE_SIZE_LIMIT_EXCEEDED";
+
+  @Value("${judge.sandbox.enabled:false}")
+  private boolean enabled = false;
+
+  @Value("${judge.sandbox.cgroup-root:/sys/fs/cgroup/judge}")
+  private String cgroupRoot = "/sys/fs/cgroup/judge";
+
+  // 프로세스/스레드 수 제한 (JVM 자체 스레드 포함)
+  @Value("${judge.sandbox.max-pids:64}")
+  private int maxPids = 64;
+
+  // CPU 사용률 상한 (100 = 코어 1개)
+  @Value("${judge.sandbox.cpu-quota-percent:100}")
+  private int cpuQuotaPercent = 100;
+
+  // 생성 가능한 파일 최대 크기
+  @Value("${judge.sandbox.max-file-size-kb:10240}")
+  private long maxFileSizeKb = 10240;
+
+  // cgroup 메모리 한도 = 힙(-Xmx) + JVM 자체 사용량(메타스페이스, 스레드 스택 등)
+  @Value("${judge.sandbox.jvm-overhead-mb:128}")
+  private int jvmOverheadMb = 128;
+
+  private boolean cgroupAvailable;
+
+  @PostConstruct
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    Path root = Path.of(cgroupRoot);
+    cgroupAvailable = Files.isDirectory(root) && Files.isWritable(root.resolve("cgroup.subtree_control"));
+    if (cgroupAvailable) {
+      try {
+        // 하위 그룹에서 memory / pids / cpu 컨트롤러를 쓸 수 있도록 활성화
+        Files.writeString(root.resolve("cgroup.subtree_control"), "+memory +pids +cpu");
+      } catch (IOException e) {
+        cgroupAvailable = false;
+      }
+    }
+    if (!cgroupAvailable) {
+      log.warn("cgroup v2 를 사용할 수 없어 rlimit / -Xmx 제한만 적용합니다. (cgroup-root: {})", cgroupRoot);
+    }
+    log.info("실행 샌드박스 사용 (cgroup: {}, maxPids: {}, cpuQuota: {}%, maxFileSizeKb: {})", cgroupAvailable, maxPids,
+        cpuQuotaPercent, maxFileSizeKb);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // 실행 한 번에 대한 샌드박스 준비 (cgroup 생성 및 제한 설정)
+  public SandboxRun open(ExecutionLimits limits) throws IOException {
+    Path cgroup = null;
+    if (cgroupAvailable) {
+      cgroup = Path.of(cgroupRoot, "run-" + UUID.randomUUID());
+      Files.createDirectory(cgroup);
+      try {
+        long memoryBytes = (long) (limits.memoryLimitMb() + jvmOverheadMb) * 1024 * 1024;
+        Files.writeString(cgroup.resolve("memory.max"), String.valueOf(memoryBytes));
+        Files.writeString(cgroup.resolve("memory.swap.max"), "0");
+        Files.writeString(cgroup.resolve("pids.max"), String.valueOf(maxPids));
+        Files.writeString(cgroup.resolve("cpu.max"), (cpuQuotaPercent * 1000) + " 100000");
+      } catch (IOException e) {
+        Files.deleteIfExists(cgroup);
+        throw e;
+      }
+    }
+    return new SandboxRun(cgroup, limits);
+  }
+
+  // 실행 한 번 동안의 샌드박스 (사용 후 close 로 cgroup 삭제)
+  public class SandboxRun implements AutoCloseable {
+
+    private final Path cgroup;
+    private final ExecutionLimits limits;
+
+    private SandboxRun(Path cgroup, ExecutionLimits limits) {
+      this.cgroup = cgroup;
+      this.limits = limits;
+    }
+
+    // sh -c LAUNCH_SCRIPT sh <cgroup> <파일 크기 블록> java -Xmx.. <args>
+    public List<String> command(List<String> javaArgs) {
+      List<String> cmd = new ArrayList<>();
+      cmd.add("/bin/sh");
+      cmd.add("-c");
+      cmd.add(LAUNCH_SCRIPT);
+      cmd.add("sh");
+      cmd.add(cgroup != null ? cgroup.toString() : "");
+      cmd.add(String.valueOf(maxFileSizeKb * 2)); // ulimit -f 단위: 512바이트 블록 (POSIX sh)
+      cmd.add("java");
+      cmd.add("-Xmx" + limits.memoryLimitMb() + "m");
+      cmd.add("-XX:+UseSerialGC");
+      cmd.add("-XX:ActiveProcessorCount=" + Math.max(1, cpuQuotaPercent / 100));
+      cmd.addAll(javaArgs);
+      return cmd;
+    }
+
+    // 종료 후 제한 초과 여부 판정 (초과 시 채점 상태, 아니면 null)
+    public String inspect(int exitCode, String error) {
+      if (exitCode == SETUP_FAILED_EXIT) {
+        throw new IllegalStateException("샌드박스 설정에 실패했습니다.");
+      }
+      if (readEvent("memory.events", "oom_kill") > 0
+          || (error != null && error.contains("java.lang.OutOfMemoryError"))) {
+        return JavaProcessRunner.MEMORY_LIMIT_EXCEEDED;
+      }
+      if (readEvent("pids.events", "max") > 0
+          || (error != null && error.contains("unable to create native thread"))) {
+        return PROCESS_LIMIT_EXCEEDED;
+      }
+      if (exitCode == FILE_SIZE_EXIT || (error != null && error.contains("File too large"))) {
+        return FILE_SIZE_LIMIT_EXCEEDED;
+      }
+      return null;
+    }
+
+    // 제한 초과 시 학생에게 보여줄 메시지
+    public String describe(String status) {
+      return switch (status) {
+        case JavaProcessRunner.MEMORY_LIMIT_EXCEEDED -> "메모리 초과 (제한: " + limits.memoryLimitMb() + "MB)";
+        case PROCESS_LIMIT_EXCEEDED -> "프로세스/스레드 수 초과 (제한: " + maxPids + "개)";
+        case FILE_SIZE_LIMIT_EXCEEDED -> "파일 크기 초과 (제한: " + maxFileSizeKb + "KB)";
+        default -> status;
+      };
+    }
+
+    // cgroup 기준 CPU 시간 (ms) - 자식 프로세스/스레드 전체, 측정 불가 시 null
+    public Long getCpuMillis() {
+      long usec = readEvent("cpu.stat", "usage_usec");
+      return usec >= 0 ? usec / 1000 : null;
+    }
+
+    // cgroup 기준 최대 메모리 사용량 (KB) - memory.peak 미지원 커널이면 null
+    public Long getPeakMemoryKb() {
+      if (cgroup == null) {
+        return null;
+      }
+      try {
+        return Long.parseLong(Files.readString(cgroup.resolve("memory.peak")).trim()) / 1024;
+      } catch (IOException | NumberFormatException e) {
+        return null;
+      }
+    }
+
+    // "key value" 형식 파일에서 값 읽기 (없으면 -1)
+    private long readEvent(String file, String key) {
+      if (cgroup == null) {
+        return -1;
+      }
+      try {
+        for (String line : Files.readAllLines(cgroup.resolve(file))) {
+          String[] parts = line.trim().split("\\s+");
+          if (parts.length == 2 && parts[0].equals(key)) {
+            return Long.parseLong(parts[1]);
+          }
+        }
+      } catch (IOException | NumberFormatException e) {
+        // 컨트롤러가 비활성화된 경우
+      }
+      return -1;
+    }
+
+    // cgroup 삭제 (프로세스가 완전히 종료된 뒤에만 삭제 가능하므로 잠시 재시도)
+    @Override
+    public void close() {
+      if (cgroup == null) {
+        return;
+      }
+      for (int i = 0; i < 10; i++) {
+        try {
+          Files.deleteIfExists(cgroup);
+          return;
+        } catch (IOException e) {
+          try {
+            Thread.sleep(50);
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+      }
+      log.warn("샌드박스 cgroup 삭제 실패: {}", cgroup);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.mysite.clover.Problem;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// 실행 중인 프로그램의 출력을 받는 대로 기대 출력과 비교하는 채점기
+// - 출력 전체를 문자열로 모으지 않고 줄 단위로 바로 비교
+// - 처음 틀린 지점에서 feed 가 false 를 반환하므로 실행기는 프로세스를 바로 종료할 수 있음
+// - 줄바꿈(0x0A)은 MS949 / UTF-8 멀티바이트 문자 안에 나오지 않으므로 줄 단위로 잘라서 디코딩
+public class StreamingOutputChecker {
+
+  // 실수 비교 기본 오차
+  public static final double DEFAULT_EPSILON = 1e-6;
+
+  private final CheckerMode mode;
+  private final double epsilon;
+  private final List<String> expected; // 줄 모드: 기대 출력 줄, 토큰 모드: 기대 출력 토큰
+  private Charset charset = StandardCharsets.UTF_8;
+
+  private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+  private int position; // 다음에 비교할 기대 줄/토큰 위치
+  private int lineNo; // 지금까지 받은 실제 출력 줄 수
+  private String mismatch; // 처음 틀린 지점 설명 (아직 틀리지 않았으면 null)
+
+  private StreamingOutputChecker(CheckerMode mode, double epsilon, String expectedOutput) {
+    this.mode = mode;
+    this.epsilon = epsilon;
+    String text = expectedOutput != null ? expectedOutput : "";
+    this.expected = isTokenMode() ? tokens(text) : lines(text);
+  }
+
+  // 문제 설정 기준으로 채점기 생성 (설정이 없으면 LINE_TRIMMED)
+  public static StreamingOutputChecker of(Problem problem, String expectedOutput) {
+    CheckerMode mode = problem.getCheckerMode() != null ? problem.getCheckerMode() : CheckerMode.LINE_TRIMMED;
+    double epsilon = problem.getEpsilon() != null ? problem.getEpsilon() : DEFAULT_EPSILON;
+    return new StreamingOutputChecker(mode, epsilon, expectedOutput);
+  }
+
+  public static StreamingOutputChecker of(CheckerMode mode, double epsilon, String expectedOutput) {
+    return new StreamingOutputChecker(mode, epsilon, expectedOutput);
+  }
+
+  // 실행기의 출력 인코딩 (기본 UTF-8)
+  void setCharset(Charset charset) {
+    this.charset = charset;
+  }
+
+  // 출력 일부를 받아서 비교 - 이미 틀렸으면 false
+  public synchronized boolean feed(byte[] bytes, int offset, int length) {
+    for (int i = offset; i < offset + length && mismatch == null; i++) {
+      if (bytes[i] == '\n') {
+        acceptLine(lineBuffer.toString(charset));
+        lineBuffer.reset();
+      } else {
+        lineBuffer.write(bytes[i]);
+      }
+    }
+    return mismatch == null;
+  }
+
+  // 출력이 끝난 뒤 최종 판정 (남은 기대 출력이 있으면 오답)
+  public synchronized boolean finish() {
+    if (mismatch == null && lineBuffer.size() > 0) {
+      acceptLine(lineBuffer.toString(charset));
+      lineBuffer.reset();
+    }
+    if (mismatch == null) {
+      checkRemaining();
+    }
+    return mismatch == null;
+  }
+
+  // 이미 모인 출력 전체를 한 번에 비교 (출력을 스트리밍하지 않는 실행기용)
+  public boolean check(String output) {
+    byte[] bytes = (output != null ? output : "").getBytes(charset);
+    feed(bytes, 0, bytes.length);
+    return finish();
+  }
+
+  public synchronized boolean isMismatch() {
+    return mismatch != null;
+  }
+
+  public synchronized String getMismatch() {
+    return mismatch;
+  }
+
+  private void acceptLine(String line) {
+    lineNo++;
+    if (line.endsWith("\r")) {
+      line = line.substring(0, line.length() - 1); // 윈도우 줄바꿈
+    }
+
+    switch (mode) {
+      case EXACT -> compareLine(line, line);
+      case LINE_TRIMMED -> compareLine(line.stripTrailing(), line);
+      case TOKEN, FLOAT_EPSILON -> {
+        for (String token : line.trim().split("\\s+")) {
+          if (!token.isEmpty() && !compareToken(token)) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void compareLine(String actual, String raw) {
+    if (position >= expected.size()) {
+      // LINE_TRIMMED 는 끝에 붙은 빈 줄 허용
+      if (mode == CheckerMode.LINE_TRIMMED && actual.isEmpty()) {
+        return;
+      }
+      mismatch = lineNo + "번째 줄: 예상보다 출력이 깁니다.\n[실행결과] " + raw;
+      return;
+    }
+    String expectedLine = expected.get(position++);
+    if (mode == CheckerMode.LINE_TRIMMED) {
+      expectedLine = expectedLine.stripTrailing();
+    }
+    if (!actual.equals(expectedLine)) {
+      mismatch = lineNo + "번째 줄이 다릅니다.\n[예상] " + expectedLine + "\n[실행결과] " + raw;
+    }
+  }
+
+  private boolean compareToken(String actual) {
+    if (position >= expected.size()) {
+      mismatch = lineNo + "번째 줄: 예상보다 출력이 깁니다. (" + actual + ")";
+      return false;
+    }
+    String expectedToken = expected.get(position++);
+    boolean same = mode == CheckerMode.FLOAT_EPSILON
+        ? numbersClose(actual, expectedToken)
+        : actual.equals(expectedToken);
+    if (!same) {
+      mismatch = position + "번째 값이 다릅니다. (" + lineNo + "번째 줄)\n[예상] " + expectedToken + "\n[실행결과] " + actual;
+    }
+    return same;
+  }
+
+  // 둘 다 숫자면 절대/상대 오차 이내인지, 아니면 문자열 비교
+  private boolean numbersClose(String actual, String expectedToken) {
+    if (actual.equals(expectedToken)) {
+      return true;
+    }
+    try {
+      double a = Double.parseDouble(actual);
+      double e = Double.parseDouble(expectedToken);
+      double diff = Math.abs(a - e);
+      return diff <= epsilon || diff <= epsilon * Math.abs(e);
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private void checkRemaining() {
+    for (int i = position; i < expected.size(); i++) {
+      // LINE_TRIMMED 는 기대 출력 끝의 빈 줄 무시
+      if (mode == CheckerMode.LINE_TRIMMED && expected.get(i).isBlank()) {
+        continue;
+      }
+      mismatch = "출력이 예상보다 짧습니다.\n[예상] " + expected.get(i);
+      return;
+    }
+  }
+
+  private boolean isTokenMode() {
+    return mode == CheckerMode.TOKEN || mode == CheckerMode.FLOAT_EPSILON;
+  }
+
+  // 마지막 줄바꿈 뒤의 빈 줄은 줄로 치지 않음 (실제 출력 처리와 동일)
+  private static List<String> lines(String text) {
+    List<String> result = new ArrayList<>();
+    for (String line : text.split("\n", -1)) {
+      result.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+    }
+    if (!result.isEmpty() && result.get(result.size() - 1).isEmpty()) {
+      result.remove(result.size() - 1);
+    }
+    return result;
+  }
+
+  private static List<String> tokens(String text) {
+    List<String> result = new ArrayList<>();
+    for (String token : text.trim().split("\\s+")) {
+      if (!token.isEmpty()) {
+        result.add(token);
+      }
+    }
+    return result;
+  }
+}
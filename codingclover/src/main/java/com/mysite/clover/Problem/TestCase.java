@@ -0,0 +1,48 @@
+package com.mysite.clover.Problem;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// 문제별 채점용 테스트 케이스 (입력값 / 기대 출력 / 배점)
+@Getter
+@Setter
+@Entity
+@Table(name = "test_case")
+public class TestCase {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "test_case_id")
+  private Long testCaseId;
+
+  @JsonIgnore
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "problem_id", nullable = false)
+  private Problem problem;
+
+  // 실행 시 입력값 (System.in)
+  @Column(columnDefinition = "TEXT")
+  private String input;
+
+  @Column(name = "expected_output", columnDefinition = "TEXT", nullable = false)
+  private String expectedOutput;
+
+  // 배점 (점수 계산용)
+  @Column(nullable = false)
+  private Integer weight = 1;
+
+  // 실행 순서
+  @Column(name = "order_no", nullable = false)
+  private Integer orderNo = 0;
+}
@@ -0,0 +1,16 @@
+package com.mysite.clover.Problem;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
+
+  // 문제의 테스트 케이스를 실행 순서대로 조회
+  List<TestCase> findByProblemOrderByOrderNoAscTestCaseIdAsc(Problem problem);
+
+  // 문제 삭제 시 관련 테스트 케이스 삭제
+  @Transactional
+  void deleteByProblem(Problem problem);
+}
@@ -0,0 +1,16 @@
+package com.mysite.clover.Problem;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 테스트 케이스 하나의 채점 결과
+@Getter
+@Builder
+public class TestCaseResult {
+  private int caseNo; // 케이스 번호 (1부터)
+  private String status; // PASS, FAIL, ERROR, *_LIMIT_EXCEEDED
+  private int weight; // 배점
+  private long executionTime; // 케이스 실행 시간 (ms)
+  private Long cpuTime; // 케이스 CPU 시간 (ms)
+  private Long peakMemoryKb; // 케이스 최대 메모리 사용량 (KB)
+}
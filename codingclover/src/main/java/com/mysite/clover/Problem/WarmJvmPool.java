@@ -0,0 +1,363 @@
+package com.mysite.clover.Problem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 미리 띄워 둔 러너 JVM 풀 (judge.executor=pooled)
+// - 요청마다 JVM 을 새로 띄우지 않고, 대기 중인 러너에 바이트코드와 입력값만 전달
+// - 러너 재사용 정책: judge.pool.max-runs-per-worker 번까지 재사용 (기본 1 = 1회용)
+//   시간 초과 / 오답 중단 / 출력·메모리 초과 / System.exit / 제출 코드 스레드가 남은 경우 / 샌드박스 제한 초과는 횟수와 상관없이 폐기
+//   폐기한 러너는 백그라운드에서 새로 기동 (JVM 기동 비용은 요청 경로 밖에서 처리)
+// - judge.sandbox.enabled=true 면 러너도 SandboxLauncher 로 기동 (러너별 cgroup / rlimit, 메모리 상한은 judge.pool.memory-mb)
+// - 제출 코드가 러너와 같은 JVM 에서 실행되므로 결과 프레임 위조 / (재사용 시) 다음 제출 간섭이 가능 - 신뢰할 수 없는 코드용이 아님
+// - 문제별 시간 제한(+ 기동 여유 시간)이 지나면 러너를 죽여서 시간 초과 처리
+// - 실행 시간 / CPU 시간은 JudgeWorker 가 OS 기준으로 측정 (러너가 보고한 값은 제출 코드가 위조할 수 있으므로 쓰지 않음)
+// - 메모리는 러너가 보고한 작업 중 힙 최대 사용량으로 ExecutionLimits 에서 검사 (위조 가능 - 절대 상한은 러너 -Xmx / cgroup)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.executor", havingValue = "pooled")
+public class WarmJvmPool {
+
+  // 러너 JVM 에 복사할 클래스 파일 (JudgeRunner 와 내부 클래스)
+  private static final List<String> RUNNER_CLASSES = List.of(
+      "JudgeRunner.class",
+      "JudgeRunner$ProgramClassLoader.class",
+      "JudgeRunner$ChannelOutputStream.class",
+      "JudgeRunner$CappedOutputStream.class");
+
+  // 기동 실패 시 재시도 간격
+  private static final long RESPAWN_DELAY_MS = 1000;
+
+  // 러너가 죽은 뒤 샌드박스 판정을 위해 종료 코드를 기다리는 시간
+  private static final long EXIT_WAIT_MS = 200;
+
+  private final SandboxLauncher sandboxLauncher;
+
+  @Value("${judge.pool.size:2}")
+  private int poolSize = 2;
+
+  @Value("${judge.pool.queue-depth:32}")
+  private int queueDepth = 32;
+
+  // 대기 중인 러너를 기다리는 최대 시간
+  @Value("${judge.pool.acquire-timeout-ms:10000}")
+  private long acquireTimeoutMs = 10000;
+
+  // 시간 제한에 더해 주는 여유 시간 (클래스 로딩 / 바이트코드 전송, 판정은 CPU 시간 기준으로 ExecutionLimits 에서 함)
+  @Value("${judge.pool.time-allowance-ms:1000}")
+  private long timeAllowanceMs = 1000;
+
+  // 러너 하나로 실행할 최대 작업 수 (1 = 1회용, 늘리면 JVM 전역 상태가 다음 제출로 넘어갈 수 있음)
+  @Value("${judge.pool.max-runs-per-worker:1}")
+  private int maxRunsPerWorker = 1;
+
+  // 러너 JVM 힙 상한 (-Xmx, 샌드박스 사용 시 cgroup 메모리 한도 기준) - 문제별 메모리 제한 중 가장 큰 값 이상으로
+  @Value("${judge.pool.memory-mb:256}")
+  private int memoryMb = 256;
+
+  @Value("${judge.pool.jvm-options:-XX:+UseSerialGC -XX:TieredStopAtLevel=1}")
+  private String jvmOptions = "-XX:+UseSerialGC -XX:TieredStopAtLevel=1";
+
+  @Value("${judge.output.max-bytes:1048576}")
+  private int maxOutputBytes = 1024 * 1024;
+
+  private final BlockingQueue<JudgeWorker> idleWorkers = new LinkedBlockingQueue<>();
+  private Semaphore admission; // 실행 중 + 대기 중 요청 수 제한
+  private ExecutorService spawner; // 러너 기동 전용 (요청 스레드가 JVM 기동을 기다리지 않도록, 풀 크기만큼 동시 기동)
+  private ScheduledExecutorService watchdog; // 실행 타임아웃 감시
+  private Path runnerHome;
+  private List<String> runnerArgs; // JVM 옵션(-Xmx 제외) + 클래스패스 + 러너 클래스
+
+  // 지표
+  private final AtomicLong totalRuns = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong recycled = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong spawnFailures = new AtomicLong();
+  private final AtomicLong totalWaitMillis = new AtomicLong();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicInteger busy = new AtomicInteger();
+
+  @PostConstruct
+  public void start() throws IOException {
+    runnerHome = extractRunner();
+    runnerArgs = buildRunnerArgs();
+    admission = new Semaphore(poolSize + queueDepth);
+    spawner = Executors.newFixedThreadPool(poolSize, r -> daemon(r, "judge-pool-spawner"));
+    watchdog = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "judge-pool-watchdog"));
+
+    for (int i = 0; i < poolSize; i++) {
+      spawnAsync();
+    }
+    log.info("러너 JVM 풀 시작 (size: {}, queueDepth: {}, maxRunsPerWorker: {}, sandbox: {})", poolSize, queueDepth,
+        maxRunsPerWorker, sandboxLauncher.isEnabled());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    spawner.shutdownNow();
+    watchdog.shutdownNow();
+    JudgeWorker worker;
+    while ((worker = idleWorkers.poll()) != null) {
+      worker.destroy();
+    }
+    JavaProcessRunner.deleteDirectory(runnerHome.toFile());
+  }
+
+  // 컴파일된 바이트코드를 대기 중인 러너에서 실행 (checker 가 있으면 출력을 받는 대로 비교, 없으면 null)
+  public ExecutionResponse execute(Map<String, byte[]> classes, String input, ExecutionLimits limits,
+      StreamingOutputChecker checker) {
+    if (!admission.tryAcquire()) {
+      rejected.incrementAndGet();
+      return errorResponse("채점 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", 0);
+    }
+
+    JudgeWorker worker = null;
+    try {
+      long waitStart = System.currentTimeMillis();
+      waiting.incrementAndGet();
+      try {
+        worker = idleWorkers.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+      } finally {
+        waiting.decrementAndGet();
+        totalWaitMillis.addAndGet(System.currentTimeMillis() - waitStart);
+      }
+
+      if (worker == null) {
+        return errorResponse("사용 가능한 러너가 없습니다. 잠시 후 다시 시도해주세요.", 0);
+      }
+
+      busy.incrementAndGet();
+      try {
+        return runOn(worker, classes, input, limits, checker);
+      } finally {
+        busy.decrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return errorResponse("서버 내부 오류: 실행이 중단되었습니다.", 0);
+    } finally {
+      admission.release();
+    }
+  }
+
+  private ExecutionResponse runOn(JudgeWorker worker, Map<String, byte[]> classes, String input,
+      ExecutionLimits limits, StreamingOutputChecker checker) {
+    totalRuns.incrementAndGet();
+    if (checker != null) {
+      checker.setCharset(StandardCharsets.UTF_8);
+    }
+
+    // 타임아웃 시 러너 프로세스를 죽이면 execute 의 blocking read 가 EOF 로 풀림
+    long wallLimitMs = limits.timeLimitMs() + timeAllowanceMs;
+    long startTime = System.currentTimeMillis();
+    AtomicBoolean timedOut = new AtomicBoolean(false);
+    ScheduledFuture<?> killer = watchdog.schedule(() -> {
+      timedOut.set(true);
+      worker.destroy();
+    }, wallLimitMs, TimeUnit.MILLISECONDS);
+
+    boolean reusable = false;
+    try {
+      JudgeWorker.Result result = worker.execute(classes, input, checker);
+      reusable = result.reusable();
+      ExecutionResponse response = ExecutionResponse.builder()
+          .output(result.output())
+          .error(result.error())
+          .executionTime(result.elapsedMillis())
+          .cpuTime(result.cpuMillis())
+          .peakMemoryKb(result.peakMemoryKb())
+          .build();
+
+      switch (result.status()) {
+        case JudgeWorker.STATUS_WRONG_OUTPUT -> response.setOutputMatched(false);
+        case JudgeRunner.STATUS_OUTPUT_LIMIT -> {
+          response.setError("출력 초과 (" + maxOutputBytes + "바이트)");
+          response.setLimitExceeded(JavaProcessRunner.OUTPUT_LIMIT_EXCEEDED);
+        }
+        case JudgeRunner.STATUS_OUT_OF_MEMORY -> {
+          response.setError("메모리 초과 (" + limits.memoryLimitMb() + "MB)");
+          response.setLimitExceeded(JavaProcessRunner.MEMORY_LIMIT_EXCEEDED);
+        }
+        case JudgeRunner.STATUS_OK, JudgeRunner.STATUS_RUNTIME_ERROR -> {
+          if (checker != null) {
+            response.setOutputMatched(checker.finish());
+          }
+        }
+        default -> {
+          reusable = false; // System.exit - 러너가 종료 중
+          if (checker != null) {
+            response.setOutputMatched(checker.finish());
+          }
+        }
+      }
+      if (worker.sandbox() != null && applySandboxResult(response, worker, 0)) {
+        reusable = false;
+      }
+      return response;
+    } catch (IOException e) {
+      if (timedOut.get()) {
+        timeouts.incrementAndGet();
+        ExecutionResponse response = errorResponse("시간 초과 (" + limits.timeLimitMs() + "ms)",
+            System.currentTimeMillis() - startTime);
+        response.setLimitExceeded(JavaProcessRunner.TIME_LIMIT_EXCEEDED);
+        return response;
+      }
+      // 제출 코드가 러너를 종료시켰거나 결과 프레임을 깨뜨린 경우 포함 - 실행 실패로 처리
+      ExecutionResponse response = errorResponse("런타임 에러: 러너 JVM 이 비정상 종료되었거나 응답이 올바르지 않습니다.",
+          System.currentTimeMillis() - startTime);
+      if (worker.sandbox() != null) {
+        Integer exitCode = worker.awaitExitCode(EXIT_WAIT_MS);
+        // 러너가 이미 접속한 뒤이므로 샌드박스 설정 실패 코드는 제출 코드의 System.exit 값
+        applySandboxResult(response, worker,
+            exitCode == null || exitCode == SandboxLauncher.SETUP_FAILED_EXIT ? 0 : exitCode);
+      }
+      return response;
+    } finally {
+      // watchdog 이 이미 실행됐으면(러너를 죽이는 중일 수 있음) 재사용하지 않음
+      boolean killerCancelled = killer.cancel(false);
+      recycle(worker, reusable && killerCancelled && !timedOut.get());
+    }
+  }
+
+  // 샌드박스 제한 초과(cgroup OOM / 프로세스 수 / 파일 크기) 반영 - 초과했으면 true
+  private boolean applySandboxResult(ExecutionResponse response, JudgeWorker worker, int exitCode) {
+    SandboxLauncher.SandboxRun sandbox = worker.sandbox();
+    String status = sandbox.inspect(exitCode, response.getError());
+    if (status == null) {
+      return false;
+    }
+    response.setLimitExceeded(status);
+    response.setError(sandbox.describe(status));
+    return true;
+  }
+
+  // 재사용 정책에 맞으면 대기열로 돌려보내고, 아니면 폐기 후 새로 기동
+  private void recycle(JudgeWorker worker, boolean reusable) {
+    if (reusable && worker.runs() < maxRunsPerWorker && worker.isAlive()) {
+      idleWorkers.offer(worker);
+      return;
+    }
+    worker.destroy();
+    recycled.incrementAndGet();
+    spawnAsync();
+  }
+
+  private void spawnAsync() {
+    spawner.execute(() -> {
+      try {
+        idleWorkers.offer(startWorker());
+      } catch (IOException e) {
+        spawnFailures.incrementAndGet();
+        log.error("러너 JVM 기동 실패 - {}ms 후 재시도", RESPAWN_DELAY_MS, e);
+        watchdog.schedule(this::spawnAsync, RESPAWN_DELAY_MS, TimeUnit.MILLISECONDS);
+      }
+    });
+  }
+
+  // 풀 상태 지표 (관리자 모니터링용)
+  public Map<String, Object> getMetrics() {
+    long runs = totalRuns.get();
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("poolSize", poolSize);
+    metrics.put("idle", idleWorkers.size());
+    metrics.put("busy", busy.get());
+    metrics.put("waiting", waiting.get());
+    metrics.put("queueDepth", queueDepth);
+    metrics.put("totalRuns", runs);
+    metrics.put("timeouts", timeouts.get());
+    metrics.put("recycled", recycled.get());
+    metrics.put("rejected", rejected.get());
+    metrics.put("spawnFailures", spawnFailures.get());
+    metrics.put("avgWaitMillis", runs > 0 ? totalWaitMillis.get() / runs : 0);
+    return metrics;
+  }
+
+  // 러너 클래스 파일을 임시 디렉토리로 복사 (스프링 부트 jar 안의 클래스는 -cp 로 바로 못 씀)
+  private Path extractRunner() throws IOException {
+    Path home = Files.createTempDirectory("judge-runner-");
+    Path packageDir = home.resolve(JudgeRunner.class.getPackageName().replace('.', '/'));
+    Files.createDirectories(packageDir);
+
+    for (String name : RUNNER_CLASSES) {
+      try (InputStream in = JudgeRunner.class.getResourceAsStream(name)) {
+        if (in == null) {
+          throw new IOException("러너 클래스 파일을 찾을 수 없습니다: " + name);
+        }
+        Files.copy(in, packageDir.resolve(name));
+      }
+    }
+    return home;
+  }
+
+  // 러너 하나 기동 (샌드박스 사용 시 러너마다 cgroup 을 만들고, 러너 폐기 시 삭제)
+  private JudgeWorker startWorker() throws IOException {
+    if (!sandboxLauncher.isEnabled()) {
+      // 서버와 같은 JDK 로 러너 실행 (러너 클래스 파일 버전 호환)
+      List<String> cmd = new ArrayList<>();
+      cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+      cmd.add("-Xmx" + memoryMb + "m");
+      cmd.addAll(runnerArgs);
+      return JudgeWorker.start(cmd, maxOutputBytes, null);
+    }
+    // 러너는 실행할 문제를 모르는 상태로 미리 뜨므로 풀 단위 메모리 상한으로 샌드박스 설정 (시간은 watchdog 이 감시)
+    SandboxLauncher.SandboxRun sandbox = sandboxLauncher.open(new ExecutionLimits(timeAllowanceMs, memoryMb));
+    return JudgeWorker.start(sandbox.command(runnerArgs), maxOutputBytes, sandbox);
+  }
+
+  // 러너 실행 인자 (소켓 포트 / 출력 최대 크기는 JudgeWorker.start 에서 추가)
+  private List<String> buildRunnerArgs() {
+    List<String> args = new ArrayList<>();
+    for (String option : jvmOptions.trim().split("\\s+")) {
+      if (!option.isEmpty() && !option.startsWith("-Xmx")) { // 힙 상한은 memory-mb 로만
+        args.add(option);
+      }
+    }
+    args.add("-cp");
+    args.add(runnerHome.toString());
+    args.add(JudgeRunner.class.getName());
+    return args;
+  }
+
+  private static Thread daemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static ExecutionResponse errorResponse(String message, long executionTime) {
+    return ExecutionResponse.builder()
+        .output("")
+        .error(message)
+        .executionTime(executionTime)
+        .build();
+  }
+}
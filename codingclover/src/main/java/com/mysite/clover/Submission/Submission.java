@@ -49,7 +49,7 @@ public class Submission {
     this.sourceCode = code;
   }
 
-  // PASS, FAIL, ERROR
+  // PENDING (채점 대기), PASS, FAIL, ERROR, *_LIMIT_EXCEEDED
   @Column(nullable = false)
   private String status;
 
@@ -13,4 +13,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
   List<Submission> findByProblem(Problem problem);
 
   List<Submission> findByUsersAndProblem(Users users, Problem problem);
+
+  List<Submission> findByStatusOrderByIdAsc(String status);
 }
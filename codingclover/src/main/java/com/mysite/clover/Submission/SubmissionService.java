@@ -1,6 +1,7 @@
 package com.mysite.clover.Submission;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +30,24 @@ public class SubmissionService {
     return submissionRepository.save(submission);
   }
 
+  // 채점이 끝난 제출의 상태/실행 시간 반영 (PENDING -> PASS, FAIL, ERROR)
+  @Transactional
+  public void complete(Long submissionId, String status, Long executionTime) {
+    submissionRepository.findById(submissionId).ifPresent(submission -> {
+      submission.setStatus(status);
+      submission.setExecutionTime(executionTime);
+    });
+  }
+
+  // 채점 대기 상태로 남아 있는 제출 (서버 재시작 시 대기열 복구용)
+  public List<Submission> findPending() {
+    return submissionRepository.findByStatusOrderByIdAsc("PENDING");
+  }
+
+  public Optional<Submission> findById(Long submissionId) {
+    return submissionRepository.findById(submissionId);
+  }
+
   public List<Submission> findByProblem(Problem problem) {
     // 리포지토리를 호출하여 실제 DB 데이터를 가져오도록 구현
     return submissionRepository.findByProblem(problem);
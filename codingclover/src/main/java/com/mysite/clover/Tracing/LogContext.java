@@ -0,0 +1,54 @@
+package com.mysite.clover.Tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+/**
+ * 로그 공통 필드 (MDC) 설정 범위
+ * - try-with-resources 로 열고 닫으면 이전 값으로 복원 (중첩 호출돼도 바깥 값이 지워지지 않음)
+ * - 로그 패턴의 %X{userId} / %X{orderId} / %X{paymentId} 로 출력
+ */
+public final class LogContext implements AutoCloseable {
+
+    public static final String USER_ID = "userId";
+    public static final String ORDER_ID = "orderId";
+    public static final String PAYMENT_ID = "paymentId";
+
+    // 키별 열기 전 값 (null 이면 원래 없던 키)
+    private final Map<String, String> previous = new LinkedHashMap<>();
+
+    private LogContext() {
+    }
+
+    public static LogContext open() {
+        return new LogContext();
+    }
+
+    /**
+     * MDC 값 설정 (null 이면 해당 키 제거)
+     */
+    public LogContext put(String key, Object value) {
+        if (!previous.containsKey(key)) {
+            previous.put(key, MDC.get(key));
+        }
+        if (value == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        previous.forEach((key, value) -> {
+            if (value == null) {
+                MDC.remove(key);
+            } else {
+                MDC.put(key, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.mysite.clover.Tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 구간(span)별 소요 시간 측정
+ * - 이름별 호출/실패 횟수, 평균/최대 시간 집계 (관리자 지표: /api/admin/tracing/spans)
+ * - 구간마다 DEBUG 로그, slow-threshold 를 넘으면 WARN 로그 (MDC 의 userId/orderId/paymentId 가 같이 찍힘)
+ */
+@Slf4j
+@Component
+public class SpanRecorder {
+
+    private final Map<String, SpanStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${tracing.slow-span-ms:1000}")
+    private long slowSpanMs = 1000;
+
+    /**
+     * 구간 실행 + 시간 측정 (결과 반환)
+     */
+    public <T> T call(String name, Supplier<T> body) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = body.get();
+            failed = false;
+            return result;
+        } finally {
+            record(name, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * 구간 실행 + 시간 측정
+     */
+    public void run(String name, Runnable body) {
+        call(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private void record(String name, long elapsedNanos, boolean failed) {
+        stats.computeIfAbsent(name, key -> new SpanStats()).add(elapsedNanos, failed);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowSpanMs) {
+            log.warn("느린 구간 {} {}ms{}", name, elapsedMs, failed ? " (실패)" : "");
+        } else {
+            log.debug("구간 {} {}ms{}", name, elapsedMs, failed ? " (실패)" : "");
+        }
+    }
+
+    /**
+     * 구간별 지표 (이름순)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        stats.forEach((name, span) -> metrics.put(name, span.snapshot()));
+        return metrics;
+    }
+
+    private static class SpanStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long elapsedNanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long calls = count.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", calls);
+            snapshot.put("failures", failures.sum());
+            snapshot.put("avgMillis", calls > 0 ? totalNanos.sum() / calls / 1_000_000.0 : 0.0);
+            snapshot.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            snapshot.put("totalMillis", totalNanos.sum() / 1_000_000);
+            return snapshot;
+        }
+    }
+}
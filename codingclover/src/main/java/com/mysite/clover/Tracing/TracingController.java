@@ -0,0 +1,29 @@
+package com.mysite.clover.Tracing;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 구간별 소요 시간 지표 조회 (관리자용)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/tracing")
+public class TracingController {
+
+    private final SpanRecorder spanRecorder;
+
+    // 구간별 호출/실패 횟수, 평균/최대 시간 (예: payment.toss-confirm, wallet.debit, notification.user)
+    @GetMapping("/spans")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSpans() {
+        return ResponseEntity.ok(spanRecorder.getMetrics());
+    }
+}
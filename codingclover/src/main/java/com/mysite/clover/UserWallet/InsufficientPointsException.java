@@ -0,0 +1,26 @@
+package com.mysite.clover.UserWallet;
+
+/**
+ * 포인트 잔액 부족 (조건부 차감 UPDATE 가 0건일 때)
+ */
+public class InsufficientPointsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int balance;
+    private final int requested;
+
+    public InsufficientPointsException(int balance, int requested) {
+        super("포인트가 부족합니다. 현재 잔액: " + balance + "P, 필요 금액: " + requested + "P");
+        this.balance = balance;
+        this.requested = requested;
+    }
+
+    public int getBalance() {
+        return balance;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+}
@@ -3,6 +3,7 @@ package com.mysite.clover.UserWallet;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -34,4 +35,19 @@ public interface UserWalletRepository extends JpaRepository<UserWallet, Long> {
     @Modifying
     @Query("UPDATE UserWallet w SET w.balance = w.balance - :amount WHERE w.userId = :userId AND w.balance >= :amount")
     int decreaseBalance(Long userId, Integer amount);
+
+    /**
+     * 포인트 차감 (잔액이 충분할 때만) - 차감 후 잔액을 LAST_INSERT_ID 에 담아 둠
+     * 같은 커넥션에서 lastDebitBalance() 로 테이블을 다시 읽지 않고 잔액 확인
+     */
+    @Modifying
+    @Query(value = "UPDATE user_wallet SET balance = LAST_INSERT_ID(balance - :amount), updated_at = NOW() " +
+            "WHERE user_id = :userId AND balance >= :amount", nativeQuery = true)
+    int debitBalance(@Param("userId") Long userId, @Param("amount") Integer amount);
+
+    /**
+     * 직전 debitBalance 의 차감 후 잔액 (같은 트랜잭션 안에서만 호출)
+     */
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastDebitBalance();
 }
\ No newline at end of file
@@ -67,28 +67,26 @@ public class UserWalletService {
     }
 
     /**
-     * 포인트 사용
+     * 포인트 차감 - 조건부 UPDATE 한 번으로 잔액 확인과 차감을 같이 처리 (동시 결제 시에도 음수 잔액 없음)
+     * @return 차감 후 잔액
+     * @throws InsufficientPointsException 잔액 부족 (지갑이 없으면 잔액 0)
      */
     @Transactional
-    public UserWallet usePoints(Long userId, Integer amount) {
+    public int debit(Long userId, Integer amount) {
         if (amount <= 0) {
             throw new RuntimeException("사용 금액은 0보다 커야 합니다");
         }
 
-        // 잔액 확인
-        Integer currentBalance = getBalance(userId);
-        if (currentBalance < amount) {
-            throw new RuntimeException("포인트가 부족합니다. 현재 잔액: " + currentBalance + ", 사용 요청: " + amount);
-        }
-
-        int updatedRows = userWalletRepository.decreaseBalance(userId, amount);
+        int updatedRows = userWalletRepository.debitBalance(userId, amount);
         if (updatedRows == 0) {
-            throw new RuntimeException("포인트 사용에 실패했습니다. 잔액을 확인해주세요");
+            // 실패한 경우에만 현재 잔액 조회 (에러 메시지용)
+            int currentBalance = userWalletRepository.findByUserId(userId)
+                .map(UserWallet::getBalance)
+                .orElse(0);
+            throw new InsufficientPointsException(currentBalance, amount);
         }
 
-        // 업데이트된 지갑 정보 반환
-        return userWalletRepository.findByUserId(userId)
-            .orElseThrow(() -> new RuntimeException("지갑 정보를 찾을 수 없습니다"));
+        return (int) userWalletRepository.lastDebitBalance();
     }
 
     /**
@@ -92,12 +92,12 @@ public class WalletController {
             Long paymentId = request.get("paymentId") != null ? 
                 Long.parseLong(request.get("paymentId").toString()) : null;
 
-            UserWallet wallet = walletIntegrationService.usePoints(userId, amount, paymentId);
+            int balance = walletIntegrationService.usePoints(userId, amount, paymentId);
             
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "포인트가 성공적으로 사용되었습니다.",
-                    "currentBalance", wallet.getBalance(),
+                    "currentBalance", balance,
                     "usedAmount", amount
             ));
         } catch (RuntimeException e) {
@@ -28,17 +28,19 @@ public class WalletIntegrationService {
     }
 
     /**
-     * 포인트 사용 (잔액 업데이트 + 히스토리 기록)
+     * 포인트 사용 (잔액 차감 + 히스토리 기록, 같은 트랜잭션)
+     * @return 차감 후 잔액
+     * @throws InsufficientPointsException 잔액 부족
      */
     @Transactional
-    public UserWallet usePoints(Long userId, Integer amount, Long paymentId) {
-        // 1. 잔액 업데이트
-        UserWallet wallet = userWalletService.usePoints(userId, amount);
+    public int usePoints(Long userId, Integer amount, Long paymentId) {
+        // 1. 잔액 차감 (조건부 UPDATE 한 번)
+        int balance = userWalletService.debit(userId, amount);
         
         // 2. 히스토리 기록
         walletHistoryService.recordUse(userId, amount, paymentId);
         
-        return wallet;
+        return balance;
     }
 
     /**
@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -17,7 +18,12 @@ import org.hibernate.annotations.CreationTimestamp;
 @Getter
 @Setter
 @Entity
-@Table(name = "wallet_history")
+@Table(name = "wallet_history", indexes = {
+        // 사용자별 스냅샷 이후 히스토리 합산용
+        @Index(name = "idx_wallet_history_user", columnList = "user_id, wallet_history_id"),
+        // 스냅샷 범위 계산용
+        @Index(name = "idx_wallet_history_created_at", columnList = "created_at")
+})
 public class WalletHistory {
 
     @Id
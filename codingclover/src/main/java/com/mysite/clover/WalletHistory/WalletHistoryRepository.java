@@ -3,6 +3,8 @@ package com.mysite.clover.WalletHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,5 +35,12 @@ public interface WalletHistoryRepository extends JpaRepository<WalletHistory, Lo
      * 특정 기간 동안의 히스토리 조회
      */
     List<WalletHistory> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * 특정 히스토리 ID 이후 변동액 합계 (스냅샷 이후 잔액 계산용)
+     */
+    @Query("SELECT COALESCE(SUM(h.changeAmount), 0) FROM WalletHistory h " +
+            "WHERE h.userId = :userId AND h.walletHistoryId > :afterHistoryId")
+    long sumChangeAmountAfter(@Param("userId") Long userId, @Param("afterHistoryId") Long afterHistoryId);
     
 }
\ No newline at end of file
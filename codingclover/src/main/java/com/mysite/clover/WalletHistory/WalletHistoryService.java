@@ -15,52 +15,54 @@ import java.util.List;
 public class WalletHistoryService {
 
     private final WalletHistoryRepository walletHistoryRepository;
+    private final WalletLedgerWriter walletLedgerWriter;
 
     /**
      * 지갑 히스토리 기록 생성
+     * 트랜잭션 커밋 직전에 다른 히스토리와 함께 일괄 INSERT 됨 (같은 트랜잭션 안에서는 조회되지 않음)
      */
     @Transactional
-    public WalletHistory createHistory(Long userId, Integer changeAmount, WalletChangeReason reason, Long paymentId) {
+    public void createHistory(Long userId, Integer changeAmount, WalletChangeReason reason, Long paymentId) {
         WalletHistory history = new WalletHistory();
         history.setUserId(userId);
         history.setChangeAmount(changeAmount);
         history.setReason(reason);
         history.setPaymentId(paymentId);
         
-        return walletHistoryRepository.save(history);
+        walletLedgerWriter.append(history);
     }
 
     /**
      * 충전 히스토리 기록
      */
     @Transactional
-    public WalletHistory recordCharge(Long userId, Integer amount, Long paymentId) {
-        return createHistory(userId, amount, WalletChangeReason.CHARGE, paymentId);
+    public void recordCharge(Long userId, Integer amount, Long paymentId) {
+        createHistory(userId, amount, WalletChangeReason.CHARGE, paymentId);
     }
 
     /**
      * 사용 히스토리 기록
      */
     @Transactional
-    public WalletHistory recordUse(Long userId, Integer amount, Long paymentId) {
-        return createHistory(userId, -amount, WalletChangeReason.USE, paymentId);
+    public void recordUse(Long userId, Integer amount, Long paymentId) {
+        createHistory(userId, -amount, WalletChangeReason.USE, paymentId);
     }
 
     /**
      * 환불 히스토리 기록
      */
     @Transactional
-    public WalletHistory recordRefund(Long userId, Integer amount, Long paymentId) {
-        return createHistory(userId, amount, WalletChangeReason.REFUND, paymentId);
+    public void recordRefund(Long userId, Integer amount, Long paymentId) {
+        createHistory(userId, amount, WalletChangeReason.REFUND, paymentId);
     }
 
     /**
      * 관리자 조정 히스토리 기록
      */
     @Transactional
-    public WalletHistory recordAdminAdjustment(Long userId, Integer amount, String memo) {
+    public void recordAdminAdjustment(Long userId, Integer amount, String memo) {
         // 관리자 조정 시에는 paymentId 대신 메모를 별도로 관리할 수 있음
-        return createHistory(userId, amount, WalletChangeReason.ADMIN, null);
+        createHistory(userId, amount, WalletChangeReason.ADMIN, null);
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.mysite.clover.WalletHistory;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 지갑 원장 관리 (관리자용) - 스냅샷 생성, 잔액 검증
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/wallet/ledger")
+public class WalletLedgerController {
+
+    private final WalletLedgerService walletLedgerService;
+    private final WalletReconciliationJob walletReconciliationJob;
+
+    // 원장 기준 잔액 (최근 스냅샷 + 이후 히스토리)
+    @GetMapping("/balance/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getLedgerBalance(@PathVariable("userId") Long userId) {
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "ledgerBalance", walletLedgerService.rebuildBalance(userId)));
+    }
+
+    // 스냅샷 즉시 생성 (원래는 주기 실행)
+    @PostMapping("/snapshots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> createSnapshots() {
+        return ResponseEntity.ok(Map.of("created", walletLedgerService.createSnapshots()));
+    }
+
+    // 잔액 검증 즉시 실행 (완료될 때까지 대기 후 보고서 반환)
+    @PostMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> runReconciliation() {
+        return ResponseEntity.ok(walletReconciliationJob.run());
+    }
+
+    // 마지막 잔액 검증 결과 (불일치 목록, 처리량)
+    @GetMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getReconciliationReport() {
+        return ResponseEntity.ok(walletReconciliationJob.getLastReport());
+    }
+}
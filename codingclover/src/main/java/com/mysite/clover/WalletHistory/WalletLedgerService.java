@@ -0,0 +1,91 @@
+package com.mysite.clover.WalletHistory;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지갑 원장 (wallet_history + wallet_snapshot)
+ * - 사용자별로 히스토리가 N건 쌓였거나 마지막 스냅샷이 하루 지났으면 스냅샷 추가
+ * - 잔액 재계산은 최근 스냅샷 + 이후 히스토리만 합산 (전체 히스토리 스캔 없음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalletLedgerService {
+
+    // 사용자별 최근 스냅샷 (없으면 잔액 0, lastHistoryId 0 으로 취급)
+    static final String LATEST_SNAPSHOT_SQL = "SELECT s.user_id, s.balance, s.last_history_id, s.created_at "
+            + "FROM wallet_snapshot s JOIN (SELECT user_id, MAX(snapshot_id) AS snapshot_id "
+            + "FROM wallet_snapshot GROUP BY user_id) latest ON latest.snapshot_id = s.snapshot_id";
+
+    // 스냅샷 이후 히스토리를 사용자별로 합산해서 새 스냅샷으로 추가 (INSERT ... SELECT 한 번)
+    private static final String CREATE_SNAPSHOTS_SQL = "INSERT INTO wallet_snapshot "
+            + "(user_id, balance, last_history_id, created_at) "
+            + "SELECT h.user_id, COALESCE(MAX(s.balance), 0) + SUM(h.change_amount), MAX(h.wallet_history_id), ? "
+            + "FROM wallet_history h LEFT JOIN (" + LATEST_SNAPSHOT_SQL + ") s ON s.user_id = h.user_id "
+            + "WHERE h.wallet_history_id > COALESCE(s.last_history_id, 0) AND h.wallet_history_id <= ? "
+            + "GROUP BY h.user_id "
+            + "HAVING COUNT(*) >= ? OR COALESCE(MAX(s.created_at), MIN(h.created_at)) < ?";
+
+    // 이 시각 이후 기록된 첫 히스토리 바로 앞까지만 스냅샷에 포함 (없으면 전체)
+    private static final String SETTLED_BOUNDARY_SQL = "SELECT COALESCE("
+            + "(SELECT MIN(wallet_history_id) - 1 FROM wallet_history WHERE created_at >= ?), "
+            + "(SELECT MAX(wallet_history_id) FROM wallet_history), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletSnapshotRepository walletSnapshotRepository;
+    private final WalletHistoryRepository walletHistoryRepository;
+
+    // 히스토리가 이만큼 쌓이면 다음 실행 때 스냅샷 생성
+    @Value("${wallet.snapshot.every-entries:100}")
+    private int everyEntries = 100;
+
+    // 마지막 스냅샷(없으면 가장 오래된 미반영 히스토리) 이후 이 시간이 지났으면 건수와 상관없이 스냅샷 생성
+    @Value("${wallet.snapshot.max-age-hours:24}")
+    private long maxAgeHours = 24;
+
+    // 커밋 순서가 ID 순서와 다를 수 있으므로 최근 히스토리는 다음 실행으로 미룸 (스냅샷 이후 빠지는 행 방지)
+    @Value("${wallet.snapshot.settle-seconds:300}")
+    private long settleSeconds = 300;
+
+    /**
+     * 스냅샷 생성 (주기 실행)
+     * @return 생성된 스냅샷 수
+     */
+    @Scheduled(cron = "${wallet.snapshot.cron:0 0 * * * *}")
+    @Transactional
+    public int createSnapshots() {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp settledBefore = Timestamp.valueOf(now.minusSeconds(settleSeconds));
+        Timestamp staleBefore = Timestamp.valueOf(now.minusHours(maxAgeHours));
+
+        Long boundaryId = jdbcTemplate.queryForObject(SETTLED_BOUNDARY_SQL, Long.class, settledBefore);
+
+        int created = jdbcTemplate.update(CREATE_SNAPSHOTS_SQL,
+                Timestamp.valueOf(now), boundaryId, everyEntries, staleBefore);
+
+        log.info("지갑 스냅샷 생성 완료 (사용자: {}, 소요: {}ms)", created, System.currentTimeMillis() - startTime);
+        return created;
+    }
+
+    /**
+     * 원장 기준 잔액 (최근 스냅샷 + 이후 히스토리)
+     */
+    @Transactional(readOnly = true)
+    public int rebuildBalance(Long userId) {
+        WalletSnapshot snapshot = walletSnapshotRepository.findTopByUserIdOrderBySnapshotIdDesc(userId).orElse(null);
+        int base = snapshot != null ? snapshot.getBalance() : 0;
+        long afterHistoryId = snapshot != null ? snapshot.getLastHistoryId() : 0L;
+        return (int) (base + walletHistoryRepository.sumChangeAmountAfter(userId, afterHistoryId));
+    }
+}
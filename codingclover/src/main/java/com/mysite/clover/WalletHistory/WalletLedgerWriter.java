@@ -0,0 +1,100 @@
+package com.mysite.clover.WalletHistory;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 지갑 히스토리 일괄 기록기 (write-behind)
+ * - 트랜잭션 안에서 쌓인 히스토리를 커밋 직전에 JDBC batch 로 한 번에 INSERT
+ *   (IDENTITY 키라 Hibernate 는 batch INSERT 를 못 하므로 JdbcTemplate 사용)
+ * - 커밋 직전(같은 트랜잭션)에 기록하므로 커밋되면 히스토리도 반드시 남고, 롤백되면 같이 버려짐
+ * - 트랜잭션 밖에서 호출하면 바로 INSERT
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletLedgerWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO wallet_history "
+            + "(user_id, change_amount, reason, payment_id, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 한 번에 보낼 최대 건수 (넘으면 커밋 전이라도 중간에 한 번 보냄)
+    @Value("${wallet.ledger.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * 히스토리 한 건 추가 (트랜잭션 중이면 커밋 직전까지 모아둠)
+     */
+    public void append(WalletHistory history) {
+        if (history.getCreatedAt() == null) {
+            history.setCreatedAt(LocalDateTime.now());
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush(List.of(history));
+            return;
+        }
+
+        List<WalletHistory> buffer = currentBuffer();
+        buffer.add(history);
+        if (buffer.size() >= batchSize) {
+            flush(buffer);
+            buffer.clear();
+        }
+    }
+
+    // 현재 트랜잭션의 버퍼 (처음 호출 시 생성 + 커밋 직전 기록 등록)
+    @SuppressWarnings("unchecked")
+    private List<WalletHistory> currentBuffer() {
+        List<WalletHistory> buffer = (List<WalletHistory>) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        List<WalletHistory> newBuffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newBuffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // 여기서 실패하면 트랜잭션 전체가 롤백됨 (잔액만 바뀌고 히스토리가 빠지는 일 없음)
+                flush(newBuffer);
+                newBuffer.clear();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WalletLedgerWriter.this);
+            }
+        });
+        return newBuffer;
+    }
+
+    private void flush(List<WalletHistory> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, history) -> {
+            ps.setLong(1, history.getUserId());
+            ps.setInt(2, history.getChangeAmount());
+            ps.setString(3, history.getReason().name());
+            if (history.getPaymentId() != null) {
+                ps.setLong(4, history.getPaymentId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, Timestamp.valueOf(history.getCreatedAt()));
+        });
+    }
+}
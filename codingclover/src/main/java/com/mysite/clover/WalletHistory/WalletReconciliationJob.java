@@ -0,0 +1,184 @@
+package com.mysite.clover.WalletHistory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지갑 잔액 검증 작업 (user_wallet.balance == 최근 스냅샷 + 이후 wallet_history 합계)
+ * - 지갑을 user_id 순으로 chunk 단위로 나눠 여러 스레드에서 동시에 검증
+ * - 잔액과 원장을 한 SELECT 로 같이 읽어서 검증 중 결제가 일어나도 오탐 없음
+ * - 결과(불일치 목록, 처리량)는 마지막 실행분만 보관
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletReconciliationJob {
+
+    // 보고서에 담는 불일치 최대 건수 (전체 건수는 driftCount 로 따로 집계)
+    private static final int MAX_REPORTED_DRIFTS = 100;
+
+    // chunk 경계용 user_id 목록 (인덱스만 읽음)
+    private static final String WALLET_IDS_SQL = "SELECT user_id FROM user_wallet WHERE user_id > ? "
+            + "ORDER BY user_id LIMIT ?";
+
+    // chunk 범위 사용자별 최근 스냅샷 (idx_wallet_snapshot_user 의 user_id 범위만 읽음 - 전체 스냅샷을 매 chunk 마다 집계하지 않도록)
+    private static final String CHUNK_LATEST_SNAPSHOT_SQL = "SELECT s.user_id, s.balance, s.last_history_id "
+            + "FROM wallet_snapshot s JOIN (SELECT user_id, MAX(snapshot_id) AS snapshot_id "
+            + "FROM wallet_snapshot WHERE user_id BETWEEN ? AND ? GROUP BY user_id) latest "
+            + "ON latest.snapshot_id = s.snapshot_id";
+
+    // chunk 범위의 지갑 잔액 + 원장 잔액 + 스냅샷 이후 히스토리 건수
+    private static final String CHUNK_SQL = "SELECT w.user_id, w.balance, "
+            + "COALESCE(s.balance, 0) + COALESCE(SUM(h.change_amount), 0) AS ledger_balance, "
+            + "COUNT(h.wallet_history_id) AS tail_entries "
+            + "FROM user_wallet w "
+            + "LEFT JOIN (" + CHUNK_LATEST_SNAPSHOT_SQL + ") s ON s.user_id = w.user_id "
+            + "LEFT JOIN wallet_history h ON h.user_id = w.user_id "
+            + "AND h.wallet_history_id > COALESCE(s.last_history_id, 0) "
+            + "WHERE w.user_id BETWEEN ? AND ? "
+            + "GROUP BY w.user_id, w.balance, s.balance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wallet.reconciliation.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${wallet.reconciliation.parallelism:4}")
+    private int parallelism = 4;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastReport = Map.of("status", "NEVER_RUN");
+
+    /**
+     * 전체 지갑 검증 (주기 실행, 이미 실행 중이면 건너뜀)
+     */
+    @Scheduled(cron = "${wallet.reconciliation.cron:0 30 4 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    /**
+     * 전체 지갑 검증
+     * @return 실행 결과 보고서 (이미 실행 중이면 status=ALREADY_RUNNING)
+     */
+    public Map<String, Object> run() {
+        if (!running.compareAndSet(false, true)) {
+            return Map.of("status", "ALREADY_RUNNING");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "wallet-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long startTime = System.currentTimeMillis();
+            AtomicLong wallets = new AtomicLong();
+            AtomicLong ledgerEntries = new AtomicLong();
+            AtomicLong driftCount = new AtomicLong();
+            List<Map<String, Object>> drifts = Collections.synchronizedList(new ArrayList<>());
+
+            // 1. user_id 를 chunk 단위로 끊어서 검증 작업 제출
+            List<Future<?>> futures = new ArrayList<>();
+            long lastUserId = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(WALLET_IDS_SQL, Long.class, lastUserId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long fromUserId = ids.get(0);
+                long toUserId = ids.get(ids.size() - 1);
+                futures.add(pool.submit(
+                        () -> checkChunk(fromUserId, toUserId, wallets, ledgerEntries, driftCount, drifts)));
+                lastUserId = toUserId;
+            }
+
+            // 2. 전체 chunk 완료 대기 (실패한 chunk 수 집계)
+            int failedChunks = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    failedChunks++;
+                    log.error("지갑 검증 chunk 실패", e);
+                }
+            }
+
+            long elapsedMillis = System.currentTimeMillis() - startTime;
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("status", failedChunks == 0 ? "COMPLETED" : "COMPLETED_WITH_ERRORS");
+            report.put("startedAt", startedAt);
+            report.put("elapsedMillis", elapsedMillis);
+            report.put("chunks", futures.size());
+            report.put("failedChunks", failedChunks);
+            report.put("wallets", wallets.get());
+            report.put("ledgerEntries", ledgerEntries.get());
+            report.put("walletsPerSecond", elapsedMillis > 0 ? wallets.get() * 1000 / elapsedMillis : wallets.get());
+            report.put("ledgerEntriesPerSecond",
+                    elapsedMillis > 0 ? ledgerEntries.get() * 1000 / elapsedMillis : ledgerEntries.get());
+            report.put("driftCount", driftCount.get());
+            report.put("drifts", List.copyOf(drifts));
+            lastReport = report;
+
+            log.info("지갑 검증 완료 (지갑: {}, 원장: {}건, 불일치: {}, 소요: {}ms)", wallets.get(), ledgerEntries.get(),
+                    driftCount.get(), elapsedMillis);
+            return report;
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    // chunk 하나 검증 - 지갑 잔액과 원장 잔액이 다르면 불일치로 기록
+    private void checkChunk(long fromUserId, long toUserId, AtomicLong wallets, AtomicLong ledgerEntries,
+            AtomicLong driftCount, List<Map<String, Object>> drifts) {
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            long userId = rs.getLong("user_id");
+            long walletBalance = rs.getLong("balance");
+            long ledgerBalance = rs.getLong("ledger_balance");
+
+            wallets.incrementAndGet();
+            ledgerEntries.addAndGet(rs.getLong("tail_entries"));
+
+            if (walletBalance != ledgerBalance) {
+                driftCount.incrementAndGet();
+                log.warn("지갑 잔액 불일치 (userId: {}, 지갑: {}, 원장: {})", userId, walletBalance, ledgerBalance);
+                synchronized (drifts) {
+                    if (drifts.size() < MAX_REPORTED_DRIFTS) {
+                        Map<String, Object> drift = new LinkedHashMap<>();
+                        drift.put("userId", userId);
+                        drift.put("walletBalance", walletBalance);
+                        drift.put("ledgerBalance", ledgerBalance);
+                        drift.put("difference", walletBalance - ledgerBalance);
+                        drifts.add(drift);
+                    }
+                }
+            }
+        }, fromUserId, toUserId, fromUserId, toUserId);
+    }
+
+    /**
+     * 마지막 실행 결과
+     */
+    public Map<String, Object> getLastReport() {
+        return running.get() ? Map.of("status", "RUNNING") : lastReport;
+    }
+}
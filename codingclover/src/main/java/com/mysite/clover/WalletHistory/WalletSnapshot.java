@@ -0,0 +1,43 @@
+package com.mysite.clover.WalletHistory;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 지갑 잔액 스냅샷 (추가만 하고 수정하지 않음)
+ * lastHistoryId 까지의 히스토리를 모두 더한 잔액 - 이후 잔액은 스냅샷 + 이후 히스토리로 계산
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "wallet_snapshot", indexes = {
+        @Index(name = "idx_wallet_snapshot_user", columnList = "user_id, snapshot_id")
+})
+public class WalletSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "balance", nullable = false)
+    private Integer balance;
+
+    @Column(name = "last_history_id", nullable = false)
+    private Long lastHistoryId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.mysite.clover.WalletHistory;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+
+    /**
+     * 사용자의 가장 최근 스냅샷
+     */
+    Optional<WalletSnapshot> findTopByUserIdOrderBySnapshotIdDesc(Long userId);
+}
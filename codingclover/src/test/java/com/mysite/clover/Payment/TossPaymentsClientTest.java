@@ -0,0 +1,99 @@
+package com.mysite.clover.Payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TossPaymentsClientTest {
+
+    private TossStubServer stub;
+    private TossPaymentsClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new TossStubServer();
+        client = newClient(2, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        stub.close();
+    }
+
+    private TossPaymentsClient newClient(int maxRetries, int circuitFailureThreshold) {
+        TossPaymentsClient tossPaymentsClient = new TossPaymentsClient();
+        ReflectionTestUtils.setField(tossPaymentsClient, "secretKey", "test_sk");
+        ReflectionTestUtils.setField(tossPaymentsClient, "confirmUrl", stub.confirmUrl());
+        ReflectionTestUtils.setField(tossPaymentsClient, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(tossPaymentsClient, "responseTimeoutMs", 500L);
+        ReflectionTestUtils.setField(tossPaymentsClient, "maxRetries", maxRetries);
+        ReflectionTestUtils.setField(tossPaymentsClient, "retryBackoffMs", 10L);
+        ReflectionTestUtils.setField(tossPaymentsClient, "circuitFailureThreshold", circuitFailureThreshold);
+        ReflectionTestUtils.setField(tossPaymentsClient, "circuitOpenMs", 60000L);
+        tossPaymentsClient.init();
+        return tossPaymentsClient;
+    }
+
+    @Test
+    void confirmSendsAuthAndIdempotencyKey() {
+        client.confirm("pk_1", "order_1", 1000);
+
+        assertThat(stub.requests()).hasSize(1);
+        TossStubServer.ReceivedRequest request = stub.requests().get(0);
+        assertThat(request.authorization()).startsWith("Basic ");
+        assertThat(request.idempotencyKey()).isEqualTo("order_1");
+        assertThat(request.body()).contains("\"orderId\":\"order_1\"").contains("\"amount\":1000");
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() {
+        stub.respond(500, "{\"code\":\"FAILED_INTERNAL_SYSTEM_PROCESSING\"}")
+                .respond(503, "{}");
+
+        client.confirm("pk_1", "order_1", 1000);
+
+        assertThat(stub.requests()).hasSize(3);
+        assertThat(client.getMetrics()).containsEntry("state", "CLOSED");
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        stub.respond(400, "{\"code\":\"INVALID_REQUEST\"}");
+
+        assertThatThrownBy(() -> client.confirm("pk_1", "order_1", 1000))
+                .isInstanceOf(TossPaymentException.class)
+                .satisfies(e -> assertThat(((TossPaymentException) e).getStatus()).isEqualTo(400));
+
+        assertThat(stub.requests()).hasSize(1);
+        assertThat(client.getMetrics()).containsEntry("state", "CLOSED").containsEntry("failures", 0L);
+    }
+
+    @Test
+    void timesOutSlowResponses() {
+        stub.respondSlowly(2000).respondSlowly(2000).respondSlowly(2000);
+
+        assertThatThrownBy(() -> client.confirm("pk_1", "order_1", 1000))
+                .isInstanceOf(TossPaymentException.class)
+                .satisfies(e -> assertThat(((TossPaymentException) e).getStatus()).isZero());
+    }
+
+    @Test
+    void opensCircuitAfterConsecutiveFailures() {
+        client.shutdown();
+        client = newClient(0, 2);
+        stub.respond(503, "{}").respond(503, "{}");
+
+        assertThatThrownBy(() -> client.confirm("pk_1", "order_1", 1000)).isInstanceOf(TossPaymentException.class);
+        assertThatThrownBy(() -> client.confirm("pk_2", "order_2", 1000)).isInstanceOf(TossPaymentException.class);
+
+        // 서킷이 열린 뒤에는 스텁까지 요청이 가지 않음
+        assertThatThrownBy(() -> client.confirm("pk_3", "order_3", 1000)).isInstanceOf(TossPaymentException.class);
+        assertThat(stub.requests()).hasSize(2);
+        assertThat(client.getMetrics()).containsEntry("state", "OPEN").containsEntry("rejected", 1L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.mysite.clover.Payment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 테스트용 토스페이먼츠 결제 승인 API 스텁 (JDK 내장 HttpServer, 임의 포트)
+ * - 응답을 순서대로 등록해 두면 요청마다 하나씩 꺼내서 응답 (다 쓰면 200)
+ * - 받은 요청(헤더, 본문)을 기록해서 테스트에서 확인
+ */
+class TossStubServer implements AutoCloseable {
+
+    record StubResponse(int status, String body, long delayMillis) {
+    }
+
+    record ReceivedRequest(String authorization, String idempotencyKey, String body) {
+    }
+
+    private final HttpServer server;
+    private final Queue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+    private final List<ReceivedRequest> requests = new CopyOnWriteArrayList<>();
+
+    TossStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/payments/confirm", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    String confirmUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/payments/confirm";
+    }
+
+    TossStubServer respond(int status, String body) {
+        responses.add(new StubResponse(status, body, 0));
+        return this;
+    }
+
+    TossStubServer respondSlowly(long delayMillis) {
+        responses.add(new StubResponse(200, "{}", delayMillis));
+        return this;
+    }
+
+    List<ReceivedRequest> requests() {
+        return requests;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            requests.add(new ReceivedRequest(
+                    exchange.getRequestHeaders().getFirst("Authorization"),
+                    exchange.getRequestHeaders().getFirst("Idempotency-Key"),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+
+        StubResponse response = responses.poll();
+        if (response == null) {
+            response = new StubResponse(200, "{\"status\":\"DONE\"}", 0);
+        }
+        if (response.delayMillis() > 0) {
+            try {
+                Thread.sleep(response.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}